@@ -1,8 +1,10 @@
 package growth.game;
 
 import growth.main.Window;
-import growth.render.texture.Texture;
+import growth.render.texture.TextureAtlas;
+import growth.render.texture.TextureRegion;
 import growth.render.texture.TextureRenderer;
+import growth.util.Profiler;
 import growth.util.math.Vec2;
 
 /**
@@ -26,18 +28,18 @@ public class Hud {
     private int currentHealth;
 
     /**
-     * Heart's textures.
-     * These variables contain the texture for the 3 types of heart.
+     * Heart's regions.
+     * These variables contain the region of the atlas for the 3 types of heart.
      */
-    private Texture t_heart;
-    private Texture t_halfHeart;
-    private Texture t_deadHeart;
+    private TextureRegion t_heart;
+    private TextureRegion t_halfHeart;
+    private TextureRegion t_deadHeart;
 
     /**
      * Heart id.
      * This table contains the type of each heart displayed.
      */
-    private Texture[]heartType;
+    private TextureRegion[]heartType;
 
     /**
      * Heart position.
@@ -87,10 +89,10 @@ public class Hud {
     private float sinCounter;
 
     /**
-     * Texture of the acorn counter.
-     * This variable contains the texture use to display the acorn's counter.
+     * Region of the acorn counter.
+     * This variable contains the region of the atlas use to display the acorn's counter.
      */
-    private Texture acorn;
+    private TextureRegion acorn;
 
     /**
      * Texture of the acorn position.
@@ -125,36 +127,61 @@ public class Hud {
         sinCounter = 0;
 
         // Set the textures
-        t_heart = new Texture("/textures/game/hud/Heart.png");
-        t_halfHeart = new Texture("/textures/game/hud/Heart-half.png");
-        t_deadHeart = new Texture("/textures/game/hud/Heart-dead.png");
-        acorn = new Texture("/textures/game/hud/Acorn-f.png");
+        t_heart = TextureAtlas.acquire("/textures/game/hud/Heart.png");
+        t_halfHeart = TextureAtlas.acquire("/textures/game/hud/Heart-half.png");
+        t_deadHeart = TextureAtlas.acquire("/textures/game/hud/Heart-dead.png");
+        acorn = TextureAtlas.acquire("/textures/game/hud/Acorn-f.png");
     }
 
     /**
      * Update the Hud.
      */
     public void update(){
-        Vec2 oldSize = heartSizeDisplayed[currentHeartUse].copy();
+        long start = Profiler.begin(Profiler.HUD);
+        Vec2 size = heartSizeDisplayed[currentHeartUse];
+        Vec2 pos = heartPosDisplayed[currentHeartUse];
+        float oldSizeX = size.getX();
+        float oldSizeY = size.getY();
 
-        heartSizeDisplayed[currentHeartUse].equal(heartSizeT.multiply((float)Math.sin(sinCounter)*0.07f+1.15f,true));
+        float scale = (float)Math.sin(sinCounter)*0.07f+1.15f;
+        size.setPosition(heartSizeT.getX() * scale, heartSizeT.getY() * scale);
 
-        heartPosDisplayed[currentHeartUse].remove(heartSizeDisplayed[currentHeartUse].remove(oldSize, true).multiply(0.5f,true));
+        // Keep the heart centered
+        pos.setPosition(pos.getX() - (size.getX() - oldSizeX) * 0.5f, pos.getY() - (size.getY() - oldSizeY) * 0.5f);
 
         sinCounter+= Math.PI*2/120;
         if(sinCounter > Math.PI*2)sinCounter = 0;
+        Profiler.end(Profiler.HUD, start);
     }
 
     /**
-     * Display the Hud.
+     * Copy the hearts in a render snapshot.
+     *
+     * @param snapshot The snapshot.
      */
-    public void display(){
+    public void snapshot(RenderSnapshot snapshot){
         for(int i = 0; i < numHeart; i++) {
-            heartType[i].bind();
-            TextureRenderer.imageC(heartPosDisplayed[i], heartSizeDisplayed[i]);
+            snapshot.addHeart(heartPosDisplayed[i].getX(), heartPosDisplayed[i].getY(),
+                    heartSizeDisplayed[i].getX(), heartSizeDisplayed[i].getY(), heartType[i]);
+        }
+    }
+
+    /**
+     * Display the Hud of a render snapshot.
+     *
+     * @param snapshot The snapshot of the tick drawn.
+     */
+    public void display(RenderSnapshot snapshot){
+        long start = Profiler.begin(Profiler.HUD);
+        for(int i = 0; i < snapshot.getHearts(); i++) {
+            TextureRegion heart = snapshot.getHeartRegion(i);
+            heart.bind();
+            TextureRenderer.imageC(snapshot.getHeartX(i), snapshot.getHeartY(i), snapshot.getHeartSizeX(i), snapshot.getHeartSizeY(i),
+                    heart.getFrom().getX(), heart.getFrom().getY(), heart.getTo().getX(), heart.getTo().getY());
         }
         acorn.bind();
-        TextureRenderer.imageC(acornPos, acornSize,0.9f);
+        TextureRenderer.imageC(acornPos, acornSize, acorn.getFrom(), acorn.getTo(), 0.9f);
+        Profiler.end(Profiler.HUD, start);
     }
 
     /**
@@ -232,7 +259,7 @@ public class Hud {
         spaceBetweenTwoHeart = heartSizeT.getX()*1.4f;
 
         this.maxHealth = newMaxHealth;
-        heartType = new Texture[(int) Math.ceil((double) newMaxHealth / 2)];
+        heartType = new TextureRegion[(int) Math.ceil((double) newMaxHealth / 2)];
         heartPosDisplayed = new Vec2[(int) Math.ceil((double) newMaxHealth / 2)];
         heartSizeDisplayed = new Vec2[(int) Math.ceil((double) newMaxHealth / 2)];
 
@@ -244,9 +271,9 @@ public class Hud {
      * Unload the texture.
      */
     public void unload(){
-        t_heart.unload();
-        t_halfHeart.unload();
-        t_deadHeart.unload();
-        acorn.unload();
+        TextureAtlas.release(t_heart);
+        TextureAtlas.release(t_halfHeart);
+        TextureAtlas.release(t_deadHeart);
+        TextureAtlas.release(acorn);
     }
 }
@@ -0,0 +1,406 @@
+package growth.game;
+
+import growth.game.tilemap.Map;
+import growth.render.texture.TextureRegion;
+
+import java.util.Arrays;
+
+/**
+ * Render snapshot class.
+ * This class stores the state of the game needed to draw a frame : the screen state, the camera, the map,
+ * the sprites of the entities and the hearts of the hud. It is written by the simulation at the end of a tick
+ * and read by the render, so the frame can be drawn while the simulation runs the next tick.
+ *
+ * A snapshot isn't changed while it is read, the arrays are reused and only grow.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class RenderSnapshot {
+
+    /**
+     * Time.
+     * This variable contains the time in nanoseconds when the snapshot has been taken.
+     */
+    private long time;
+
+    /**
+     * Screen state.
+     * This variable contains the state of the game screen.
+     */
+    private int screenState;
+
+    /**
+     * Transition counter.
+     * This variable contains the number of ticks since the beginning of the transition between two maps.
+     */
+    private int transitionCounter;
+
+    /**
+     * Camera.
+     * These variables contain the position of the camera at the beginning and at the end of the tick.
+     */
+    private int cameraPrevX, cameraPrevY, cameraX, cameraY;
+
+    /**
+     * Map.
+     * This variable contains the current map, a map isn't changed after its loading.
+     */
+    private Map map;
+
+    /**
+     * Layer.
+     * This variable contains the layer of the player.
+     */
+    private int layer;
+
+    /**
+     * Sprites number.
+     * This variable contains the number of sprites of the entities.
+     */
+    private int sprites;
+
+    /**
+     * Sprites positions.
+     * These variables contain the position of the center of each sprite at the beginning and at the end of the tick.
+     */
+    private float[] spritePrevX, spritePrevY, spriteX, spriteY;
+
+    /**
+     * Sprites sizes.
+     * These variables contain the size of each sprite.
+     */
+    private int[] spriteSizeX, spriteSizeY;
+
+    /**
+     * Sprites regions.
+     * This variable contains the region of the current animation frame of each sprite.
+     */
+    private TextureRegion[] spriteRegions;
+
+    /**
+     * Sprites flips.
+     * This variable contains true for each sprite drawn mirrored horizontally.
+     */
+    private boolean[] spriteFlips;
+
+    /**
+     * Hearts number.
+     * This variable contains the number of hearts of the hud.
+     */
+    private int hearts;
+
+    /**
+     * Hearts.
+     * These variables contain the position, the size and the region of each heart.
+     */
+    private float[] heartX, heartY, heartSizeX, heartSizeY;
+    private TextureRegion[] heartRegions;
+
+    /**
+     * Render snapshot class constructor.
+     */
+    public RenderSnapshot() {
+        spritePrevX = new float[16];
+        spritePrevY = new float[16];
+        spriteX = new float[16];
+        spriteY = new float[16];
+        spriteSizeX = new int[16];
+        spriteSizeY = new int[16];
+        spriteRegions = new TextureRegion[16];
+        spriteFlips = new boolean[16];
+
+        heartX = new float[8];
+        heartY = new float[8];
+        heartSizeX = new float[8];
+        heartSizeY = new float[8];
+        heartRegions = new TextureRegion[8];
+    }
+
+    /**
+     * Begin a new snapshot, the sprites and the hearts are removed.
+     *
+     * @param newScreenState The state of the game screen.
+     * @param newTransitionCounter The number of ticks since the beginning of the transition.
+     */
+    public void begin(int newScreenState, int newTransitionCounter) {
+        time = System.nanoTime();
+        screenState = newScreenState;
+        transitionCounter = newTransitionCounter;
+        Arrays.fill(spriteRegions, 0, sprites, null);
+        Arrays.fill(heartRegions, 0, hearts, null);
+        sprites = 0;
+        hearts = 0;
+    }
+
+    /**
+     * Set the camera.
+     *
+     * @param prevX The position x at the beginning of the tick.
+     * @param prevY The position y at the beginning of the tick.
+     * @param x The position x at the end of the tick.
+     * @param y The position y at the end of the tick.
+     */
+    public void setCamera(int prevX, int prevY, int x, int y) {
+        cameraPrevX = prevX;
+        cameraPrevY = prevY;
+        cameraX = x;
+        cameraY = y;
+    }
+
+    /**
+     * Set the map.
+     *
+     * @param newMap The current map.
+     * @param newLayer The layer of the player.
+     */
+    public void setMap(Map newMap, int newLayer) {
+        map = newMap;
+        layer = newLayer;
+    }
+
+    /**
+     * Add the sprite of an entity.
+     *
+     * @param prevX The position x of the center at the beginning of the tick.
+     * @param prevY The position y of the center at the beginning of the tick.
+     * @param x The position x of the center at the end of the tick.
+     * @param y The position y of the center at the end of the tick.
+     * @param sizeX The width.
+     * @param sizeY The height.
+     * @param region The region of the animation frame.
+     * @param flip If the sprite is mirrored horizontally.
+     */
+    public void addSprite(float prevX, float prevY, float x, float y, int sizeX, int sizeY, TextureRegion region, boolean flip) {
+        if (sprites == spriteRegions.length) {
+            int capacity = sprites * 2;
+            spritePrevX = Arrays.copyOf(spritePrevX, capacity);
+            spritePrevY = Arrays.copyOf(spritePrevY, capacity);
+            spriteX = Arrays.copyOf(spriteX, capacity);
+            spriteY = Arrays.copyOf(spriteY, capacity);
+            spriteSizeX = Arrays.copyOf(spriteSizeX, capacity);
+            spriteSizeY = Arrays.copyOf(spriteSizeY, capacity);
+            spriteRegions = Arrays.copyOf(spriteRegions, capacity);
+            spriteFlips = Arrays.copyOf(spriteFlips, capacity);
+        }
+        spritePrevX[sprites] = prevX;
+        spritePrevY[sprites] = prevY;
+        spriteX[sprites] = x;
+        spriteY[sprites] = y;
+        spriteSizeX[sprites] = sizeX;
+        spriteSizeY[sprites] = sizeY;
+        spriteRegions[sprites] = region;
+        spriteFlips[sprites] = flip;
+        sprites++;
+    }
+
+    /**
+     * Add a heart of the hud.
+     *
+     * @param x The position x.
+     * @param y The position y.
+     * @param sizeX The width.
+     * @param sizeY The height.
+     * @param region The region of the heart.
+     */
+    public void addHeart(float x, float y, float sizeX, float sizeY, TextureRegion region) {
+        if (hearts == heartRegions.length) {
+            int capacity = hearts * 2;
+            heartX = Arrays.copyOf(heartX, capacity);
+            heartY = Arrays.copyOf(heartY, capacity);
+            heartSizeX = Arrays.copyOf(heartSizeX, capacity);
+            heartSizeY = Arrays.copyOf(heartSizeY, capacity);
+            heartRegions = Arrays.copyOf(heartRegions, capacity);
+        }
+        heartX[hearts] = x;
+        heartY[hearts] = y;
+        heartSizeX[hearts] = sizeX;
+        heartSizeY[hearts] = sizeY;
+        heartRegions[hearts] = region;
+        hearts++;
+    }
+
+    /**
+     * Get the part of a tick elapsed since the snapshot has been taken.
+     *
+     * @param now The current time in nanoseconds.
+     * @param tickTime The time of a tick in nanoseconds.
+     *
+     * @return The part of the tick, from 0 to 1.
+     */
+    public float getInterpolation(long now, long tickTime) {
+        return Math.max(0, Math.min(1, (float) (now - time) / tickTime));
+    }
+
+    /**
+     * Get the time when the snapshot has been taken.
+     *
+     * @return time
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Get the state of the game screen.
+     *
+     * @return screenState
+     */
+    public int getScreenState() {
+        return screenState;
+    }
+
+    /**
+     * Get the number of ticks since the beginning of the transition.
+     *
+     * @return transitionCounter
+     */
+    public int getTransitionCounter() {
+        return transitionCounter;
+    }
+
+    /**
+     * Get the position x of the camera between the beginning and the end of the tick.
+     *
+     * @param alpha The part of the tick, from 0 to 1.
+     *
+     * @return The position x.
+     */
+    public float getCameraX(float alpha) {
+        return cameraPrevX * (1 - alpha) + cameraX * alpha;
+    }
+
+    /**
+     * Get the position y of the camera between the beginning and the end of the tick.
+     *
+     * @param alpha The part of the tick, from 0 to 1.
+     *
+     * @return The position y.
+     */
+    public float getCameraY(float alpha) {
+        return cameraPrevY * (1 - alpha) + cameraY * alpha;
+    }
+
+    /**
+     * Get the current map.
+     *
+     * @return map
+     */
+    public Map getMap() {
+        return map;
+    }
+
+    /**
+     * Get the layer of the player.
+     *
+     * @return layer
+     */
+    public int getLayer() {
+        return layer;
+    }
+
+    /**
+     * Get the number of sprites.
+     *
+     * @return sprites
+     */
+    public int getSprites() {
+        return sprites;
+    }
+
+    /**
+     * Get the position x of the center of a sprite between the beginning and the end of the tick.
+     *
+     * @param i The index of the sprite.
+     * @param alpha The part of the tick, from 0 to 1.
+     *
+     * @return The position x.
+     */
+    public float getSpriteX(int i, float alpha) {
+        return spritePrevX[i] * (1 - alpha) + spriteX[i] * alpha;
+    }
+
+    /**
+     * Get the position y of the center of a sprite between the beginning and the end of the tick.
+     *
+     * @param i The index of the sprite.
+     * @param alpha The part of the tick, from 0 to 1.
+     *
+     * @return The position y.
+     */
+    public float getSpriteY(int i, float alpha) {
+        return spritePrevY[i] * (1 - alpha) + spriteY[i] * alpha;
+    }
+
+    /**
+     * Get the width of a sprite.
+     */
+    public int getSpriteSizeX(int i) {
+        return spriteSizeX[i];
+    }
+
+    /**
+     * Get the height of a sprite.
+     */
+    public int getSpriteSizeY(int i) {
+        return spriteSizeY[i];
+    }
+
+    /**
+     * Get the region of a sprite.
+     */
+    public TextureRegion getSpriteRegion(int i) {
+        return spriteRegions[i];
+    }
+
+    /**
+     * Return if a sprite is mirrored horizontally.
+     */
+    public boolean isSpriteFlipped(int i) {
+        return spriteFlips[i];
+    }
+
+    /**
+     * Get the number of hearts.
+     *
+     * @return hearts
+     */
+    public int getHearts() {
+        return hearts;
+    }
+
+    /**
+     * Get the position x of a heart.
+     */
+    public float getHeartX(int i) {
+        return heartX[i];
+    }
+
+    /**
+     * Get the position y of a heart.
+     */
+    public float getHeartY(int i) {
+        return heartY[i];
+    }
+
+    /**
+     * Get the width of a heart.
+     */
+    public float getHeartSizeX(int i) {
+        return heartSizeX[i];
+    }
+
+    /**
+     * Get the height of a heart.
+     */
+    public float getHeartSizeY(int i) {
+        return heartSizeY[i];
+    }
+
+    /**
+     * Get the region of a heart.
+     */
+    public TextureRegion getHeartRegion(int i) {
+        return heartRegions[i];
+    }
+}
@@ -1,10 +1,21 @@
 package growth.game.entity;
 
+import growth.game.RenderSnapshot;
 import growth.game.entity.type.Entity;
 import growth.game.entity.type.MovingEntity;
+import growth.main.Growth;
+import growth.render.Render;
+import growth.render.texture.TextureRegion;
+import growth.render.texture.TextureRenderer;
 import growth.screen.GameManager;
+import growth.screen.screens.GameScreen;
+import growth.util.Profiler;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Entity manager class.
@@ -16,127 +27,669 @@ import java.util.ArrayList;
 public class EntityManager {
 
     /**
-     * Array list of entities.
-     * This array list contains the entities of the game.
+     * No entity.
+     * This variable contains a handle never given to an entity.
      */
-    private ArrayList<Entity> entity;
+    public static final int NONE = 0;
+
+    /**
+     * Slot bits.
+     * These variables contain the number of bits of the slot in a handle, the rest is the generation of the slot.
+     */
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+
+    /**
+     * Entities.
+     * This array contains the entities of the game, packed at the beginning in the order of the update.
+     */
+    private Entity[] entity;
+
+    /**
+     * Entities number.
+     * This variable contains the number of entities of the game.
+     */
+    private int count;
+
+    /**
+     * Entity slots.
+     * This array contains the slot of each entity.
+     */
+    private int[] entitySlot;
+
+    /**
+     * Slots.
+     * This array contains the index of the entity of each slot, or the next free slot if the slot is free.
+     */
+    private int[] slots;
+
+    /**
+     * Generations.
+     * This array contains the generation of each slot, increased when its entity is removed to invalidate the old handles.
+     */
+    private int[] generations;
+
+    /**
+     * Free slots.
+     * These variables contain the first free slot and the number of slots ever used.
+     */
+    private int freeSlot, slotCount;
+
+    /**
+     * Entities to remove.
+     * These variables contain the handles of the entities removed during the update and their number.
+     */
+    private int[] toRemove;
+    private int removeCount;
+
+    /**
+     * Spatial hash.
+     * This variable contains the grid of the entities, to find the entities near a position.
+     */
+    private final SpatialHash spatialHash;
+
+    /**
+     * Batch size.
+     * This variable contains the number of entities updated by a task of the parallel update.
+     */
+    public static final int BATCH = 64;
+
+    /**
+     * Spins.
+     * This variable contains the number of checks of the workers before the updating thread parks.
+     */
+    private static final int SPINS = 1000;
+
+    /**
+     * Statistics delay.
+     * This variable contains the number of ticks between two prints of the timings.
+     */
+    public static final int STATS_TICKS = 600;
+
+    /**
+     * Parallel state.
+     * This variable is true if the entities are updated on the workers.
+     */
+    private boolean parallel;
+
+    /**
+     * Workers.
+     * This variable contains the pool of threads updating the entities, created when the parallel update is enabled.
+     */
+    private ForkJoinPool workers;
+
+    /**
+     * Update tasks.
+     * This array contains the task of each batch of the parallel update, kept from a tick to the next.
+     * The first batch is updated by the updating thread, it has no task.
+     */
+    private UpdateTask[] tasks = new UpdateTask[1];
+
+    /**
+     * Batches number.
+     * This variable contains the number of batches of the current parallel update.
+     */
+    private int batches;
+
+    /**
+     * Pending tasks.
+     * This variable contains the number of tasks of the current parallel update not finished yet.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Updating thread.
+     * This variable contains the thread waiting for the tasks of the current parallel update.
+     */
+    private volatile Thread updater;
+
+    /**
+     * Local phase.
+     * This variable is true while the entities update their own state, the spatial queries are forbidden.
+     */
+    private boolean localPhase;
+
+    /**
+     * Task failure.
+     * This variable contains the first exception thrown by a task of the current parallel update.
+     */
+    private volatile RuntimeException failure;
+
+    /**
+     * Timings.
+     * These variables contain the time in nanoseconds spent since the last print in each phase of the update.
+     */
+    private long localTime, commitTime, hashTime;
+
+    /**
+     * Ticks.
+     * This variable contains the number of ticks since the last print of the timings.
+     */
+    private int ticks;
 
     /**
      * Entity manager class constructor.
      * Instance the class and set the new array list.
      */
     public EntityManager(){
-        entity = new ArrayList<>();
-        toRemove = new ArrayList<>();
+        entity = new Entity[64];
+        entitySlot = new int[64];
+        slots = new int[64];
+        generations = new int[64];
+        freeSlot = -1;
+        toRemove = new int[64];
+        spatialHash = new SpatialHash(GameScreen.tileSize);
+        setParallel(Growth.parallel);
     }
 
-    private ArrayList<Entity> toRemove;
+    /**
+     * Begin a new tick, the current position of the entities becomes their previous position.
+     */
+    public void beginTick(){
+        for(int i = 0; i < count; i++){
+            entity[i].savePosition();
+        }
+    }
 
     /**
      * Update entities on screen.
+     * Each entity first updates its own state, on the workers in parallel mode, then commits its effects
+     * on the game in the order of the list, so both modes give the same result.
      */
     public void update(){
-        for(Entity entities : entity){
-            entities.update();
+        long profile = Profiler.begin(Profiler.ENTITIES);
+        long start = System.nanoTime();
+        localPhase = true;
+        try {
+            if(parallel && count > BATCH){
+                prepareTasks();
+                updater = Thread.currentThread();
+                pending.set(batches - 1);
+                for(int i = 1; i < batches; i++){
+                    workers.execute(tasks[i]);
+                }
+                // This thread updates the first batch while the workers update the others
+                try {
+                    updateBatch(0);
+                } finally {
+                    awaitTasks();
+                }
+            } else {
+                updateBatch(0, count);
+            }
+        } finally {
+            localPhase = false;
+        }
+
+        long local = System.nanoTime();
+        for(int i = 0; i < count; i++){
+            entity[i].commit();
+        }
+
+        long commit = System.nanoTime();
+        for(int i = 0; i < count; i++){
+            spatialHash.update(entity[i]);
+        }
+
+        long end = System.nanoTime();
+        localTime += local - start;
+        commitTime += commit - local;
+        hashTime += end - commit;
+        Profiler.end(Profiler.ENTITIES, profile);
+
+        if(++ticks == STATS_TICKS){
+            if(Growth.admin) System.out.println(getStats());
+            ticks = 0;
+            localTime = commitTime = hashTime = 0;
         }
     }
 
+    /**
+     * Enable or disable the parallel update of the entities.
+     *
+     * @param state True to update the entities on the workers.
+     */
+    public void setParallel(boolean state){
+        if(state && workers == null) workers = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        if(!state && workers != null){
+            workers.shutdown();
+            workers = null;
+        }
+        parallel = state;
+        ticks = 0;
+        localTime = commitTime = hashTime = 0;
+    }
+
+    /**
+     * Return if the entities are updated in parallel.
+     *
+     * @return parallel
+     */
+    public boolean isParallel(){
+        return parallel;
+    }
+
+    /**
+     * Get the average time of each phase of the update since the last print.
+     *
+     * @return The statistics as text.
+     */
+    public String getStats(){
+        int tickCount = Math.max(1, ticks);
+        return "Entities : " + count + (parallel ? " parallel on " + workers.getParallelism() + " workers" : " sequential")
+                + ", update : " + localTime / tickCount / 1000 + " us, commit : " + commitTime / tickCount / 1000
+                + " us, spatial hash : " + hashTime / tickCount / 1000 + " us";
+    }
+
+    /**
+     * Remove the entities marked during the update.
+     */
     public void dispose(){
-        for(Entity entities: toRemove){
-            entity.remove(entities);
+        for(int i = 0; i < removeCount; i++){
+            delete(toRemove[i]);
         }
+        removeCount = 0;
+    }
+
+    /**
+     * Remove an entity now, the last entity takes its place and its slot becomes free.
+     *
+     * @param handle The handle of the entity.
+     */
+    private void delete(int handle){
+        int index = indexOf(handle);
+        if(index < 0) return;
 
-        toRemove = new ArrayList<>();
+        Entity removed = entity[index];
+        spatialHash.remove(removed);
+
+        int last = --count;
+        if(index != last){
+            entity[index] = entity[last];
+            entitySlot[index] = entitySlot[last];
+            slots[entitySlot[index]] = index;
+        }
+        entity[last] = null;
+
+        int slot = handle & SLOT_MASK;
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        if(generations[slot] == 0) generations[slot] = 1;
+        slots[slot] = freeSlot;
+        freeSlot = slot;
+        removed.setHandle(NONE);
+        if(removed.getPool() != null) removed.getPool().recycle(removed);
     }
 
     /**
-     * Display entities on the screen.
+     * Get the index of the entity of a handle.
+     *
+     * @param handle The handle.
+     *
+     * @return The index, or -1 if the handle isn't valid anymore.
      */
-    public void display(){
-        for (Entity anEntity : entity) {
-            anEntity.display();
+    private int indexOf(int handle){
+        int slot = handle & SLOT_MASK;
+        if(handle <= 0 || slot >= slotCount || generations[slot] != handle >>> SLOT_BITS) return -1;
+        return slots[slot];
+    }
+
+    /**
+     * Copy the sprites of the entities in a render snapshot, in the order of the list.
+     *
+     * @param snapshot The snapshot.
+     */
+    public void snapshot(RenderSnapshot snapshot){
+        for(int i = 0; i < count; i++){
+            entity[i].snapshot(snapshot);
+        }
+    }
+
+    /**
+     * Display the sprites of a render snapshot on the screen, between the beginning and the end of the tick.
+     *
+     * @param snapshot The snapshot of the tick drawn.
+     */
+    public void display(RenderSnapshot snapshot){
+        float alpha = Render.getInterpolation();
+        for(int i = 0; i < snapshot.getSprites(); i++){
+            TextureRegion region = snapshot.getSpriteRegion(i);
+            int sizeX = snapshot.getSpriteSizeX(i);
+            int sizeY = snapshot.getSpriteSizeY(i);
+            float x = snapshot.getSpriteX(i, alpha) - sizeX / 2;
+            float y = snapshot.getSpriteY(i, alpha) - sizeY / 2;
+            region.bind();
+            if (snapshot.isSpriteFlipped(i)) {
+                TextureRenderer.image(x + sizeX, y, -sizeX, sizeY,
+                        region.getFrom().getX(), region.getFrom().getY(), region.getTo().getX(), region.getTo().getY());
+            } else {
+                TextureRenderer.image(x, y, sizeX * 1f, sizeY * 1f,
+                        region.getFrom().getX(), region.getFrom().getY(), region.getTo().getX(), region.getTo().getY());
+            }
         }
     }
 
     /**
-     * Add an entity to the Array list.
+     * Add an entity.
      *
      * @param newEntity The new entity to add.
+     *
+     * @return The handle of the entity, valid until its removal.
      */
-    public void addEntity(Entity newEntity){
-        entity.add(newEntity);
+    public int addEntity(Entity newEntity){
+        // The tile size is only known once the game screen is created
+        if(spatialHash.getSize() == 0) spatialHash.setCellSize(GameScreen.tileSize);
+
+        if(count == entity.length){
+            entity = Arrays.copyOf(entity, count * 2);
+            entitySlot = Arrays.copyOf(entitySlot, count * 2);
+        }
+
+        int slot;
+        if(freeSlot >= 0){
+            slot = freeSlot;
+            freeSlot = slots[slot];
+        } else {
+            if(slotCount == slots.length){
+                slots = Arrays.copyOf(slots, slotCount * 2);
+                generations = Arrays.copyOf(generations, slotCount * 2);
+            }
+            slot = slotCount++;
+            generations[slot] = 1;
+        }
+
+        slots[slot] = count;
+        entitySlot[count] = slot;
+        entity[count++] = newEntity;
+
+        int handle = (generations[slot] << SLOT_BITS) | slot;
+        newEntity.setHandle(handle);
+        newEntity.savePosition();
+        spatialHash.insert(newEntity);
+        return handle;
     }
 
     /**
-     * Remove an entity from the Array list.
+     * Add an entity taken from a pool, reset before its reuse.
+     * The entity goes back to its pool when it is removed.
+     *
+     * @param pool The pool of the entity.
+     *
+     * @return The handle of the entity, valid until its removal.
+     */
+    public int spawn(EntityPool<?> pool){
+        Entity newEntity = pool.obtain();
+        newEntity.reset();
+        return addEntity(newEntity);
+    }
+
+    /**
+     * Remove an entity at the end of the update.
+     *
+     * @param entity The entity to remove.
      */
     public void removeEntity(Entity entity){
-        toRemove.add(entity);
+        removeEntity(entity.getHandle());
+    }
+
+    /**
+     * Remove an entity at the end of the update.
+     *
+     * @param handle The handle of the entity to remove.
+     */
+    public void removeEntity(int handle){
+        if(indexOf(handle) < 0) return;
+        if(removeCount == toRemove.length) toRemove = Arrays.copyOf(toRemove, removeCount * 2);
+        toRemove[removeCount++] = handle;
     }
 
     /**
      * Remove all of the entity.
      */
     public void removeAll(){
-        System.out.println("Clear " + entity.size() + " entities.");
-        for(int i = 0; i < entity.size(); i++){
-            entity.get(0).unload();
-            entity.remove(0);
+        System.out.println("Clear " + count + " entities.");
+        for(int i = 0; i < count; i++){
+            entity[i].unload();
+        }
+
+        while(count > 0){
+            delete(entity[count - 1].getHandle());
         }
-        entity = new ArrayList<>();
+        removeCount = 0;
     }
 
     /**
      * Set the position of an entity
      * @param x New position x.
      * @param y New position y.
-     * @param id The id of the entity.
+     * @param handle The handle of the entity.
      */
-    public void setPosition(float x, float y, int id){
-        entity.get(id).setPosition(x,y);
+    public void setPosition(float x, float y, int handle){
+        get(handle).setPosition(x,y);
     }
 
     /**
      * Focus the camera to a new entity.
-     * @param id The id of the entity.
+     * @param handle The handle of the entity.
      */
-    public void setCamera(int id){
-        GameManager.CAMERA.setEntityToCamera((MovingEntity)entity.get(id));
+    public void setCamera(int handle){
+        GameManager.CAMERA.setEntityToCamera((MovingEntity)get(handle));
     }
 
     /**
      * Set the speed of an entity.
      * @param x New position x.
      * @param y New position Y.
-     * @param id The id of the entity.
+     * @param handle The handle of the entity.
+     */
+    public void setSpeed(float x, float y, int handle){
+        ((MovingEntity)get(handle)).setSpeed(x,y);
+    }
+
+    /**
+     * Check that a spatial query is called from a commit or out of the update.
+     * The queries share the stamps of the spatial hash, they would race on the workers of the local update.
+     */
+    private void checkQuery(){
+        if(localPhase) throw new IllegalStateException("Spatial query during the local update of the entities, query in commit()");
+    }
+
+    /**
+     * Find the entities overlapping a rectangle, from a commit or out of the update.
+     *
+     * @param left The left side of the rectangle.
+     * @param top The top side of the rectangle.
+     * @param right The right side of the rectangle.
+     * @param bottom The bottom side of the rectangle.
+     * @param result The buffer receiving the entities.
+     *
+     * @return The number of entities found.
+     */
+    public int queryRect(float left, float top, float right, float bottom, Entity[] result){
+        checkQuery();
+        return spatialHash.queryRect(left, top, right, bottom, result);
+    }
+
+    /**
+     * Find the entities near a point, from a commit or out of the update.
+     *
+     * @param x The position x of the point.
+     * @param y The position y of the point.
+     * @param radius The radius around the point.
+     * @param result The buffer receiving the entities.
+     *
+     * @return The number of entities found.
+     */
+    public int queryRadius(float x, float y, float radius, Entity[] result){
+        checkQuery();
+        return spatialHash.queryRadius(x, y, radius, result);
+    }
+
+    /**
+     * Find the entities overlapping an entity, from a commit or out of the update.
+     *
+     * @param entity The entity.
+     * @param result The buffer receiving the entities.
+     *
+     * @return The number of entities found.
      */
-    public void setSpeed(float x, float y, int id){
-        ((MovingEntity)entity.get(id)).setSpeed(x,y);
+    public int queryOverlaps(Entity entity, Entity[] result){
+        checkQuery();
+        return spatialHash.queryOverlaps(entity, result);
+    }
+
+    /**
+     * Get the spatial hash of the entities.
+     *
+     * @return spatialHash
+     */
+    public SpatialHash getSpatialHash(){
+        return spatialHash;
     }
 
     /**
      * Get an entity.
-     * @param id The id of the entity.
+     * @param handle The handle of the entity.
+     * @return The entity, or null if it has been removed.
+     */
+    public Entity getEntity(int handle){
+        int index = indexOf(handle);
+        return (index < 0) ? null : entity[index];
+    }
+
+    /**
+     * Get an entity which must exist.
+     * @param handle The handle of the entity.
+     */
+    private Entity get(int handle){
+        int index = indexOf(handle);
+        if(index < 0) throw new IllegalArgumentException("Invalid entity handle " + handle);
+        return entity[index];
+    }
+
+    /**
+     * Return if the entity of a handle hasn't been removed.
+     * @param handle The handle of the entity.
+     * @return True if the handle is valid.
      */
-    public Entity getEntity(int id){
-        return entity.get(id);
+    public boolean isValid(int handle){
+        return indexOf(handle) >= 0;
+    }
+
+    /**
+     * Get the number of entities.
+     * @return count
+     */
+    public int getCount(){
+        return count;
     }
 
     /**
      * Get the position x of an entity.
-     * @param id The id of the entity.
+     * @param handle The handle of the entity.
      * @return posX
      */
-    public int getPosX(int id){
-        return (entity.get(id)).getPosX();
+    public int getPosX(int handle){
+        return get(handle).getPosX();
     }
 
     /**
      * Get the position y of an entity.
-     * @param id The id of the entity.
+     * @param handle The handle of the entity.
      * @return posY
      */
-    public int getPosY(int id){
-        return (entity.get(id)).getPosY();
+    public int getPosY(int handle){
+        return get(handle).getPosY();
+    }
+
+    /**
+     * Update the entities of a batch of the list.
+     *
+     * @param start The first entity of the batch.
+     */
+    private void updateBatch(int start){
+        updateBatch(start, Math.min(start + BATCH, count));
+    }
+
+    /**
+     * Update the own state of a range of entities.
+     *
+     * @param start The first entity.
+     * @param end The entity after the last.
+     */
+    private void updateBatch(int start, int end){
+        for(int i = start; i < end; i++){
+            entity[i].updateLocal();
+        }
+    }
+
+    /**
+     * Wait for the tasks of the parallel update, spinning a little then parked until the last task unparks this thread.
+     * Neither the spin nor the park allocate, unlike the join of a task by a thread outside of the pool.
+     */
+    private void awaitTasks(){
+        for(int i = 0; i < SPINS && pending.get() > 0; i++){
+            // The tasks of a small list end during the spin
+        }
+        while(pending.get() > 0){
+            LockSupport.park(this);
+        }
+        // A task unparks this thread just before its end, it mustn't be reinitialized until then
+        for(int i = 1; i < batches; i++){
+            while(!tasks[i].isDone()){
+                Thread.yield();
+            }
+        }
+
+        RuntimeException thrown = failure;
+        if(thrown != null){
+            failure = null;
+            throw thrown;
+        }
+    }
+
+    /**
+     * Prepare the tasks of the parallel update, one by batch of the list after the first.
+     * The tasks are only created when the list grows, then reinitialized at each tick.
+     */
+    private void prepareTasks(){
+        batches = (count + BATCH - 1) / BATCH;
+        if(batches > tasks.length){
+            int created = tasks.length;
+            tasks = Arrays.copyOf(tasks, batches);
+            for(int i = created; i < batches; i++){
+                tasks[i] = new UpdateTask(i * BATCH);
+            }
+        }
+        for(int i = 1; i < batches; i++){
+            tasks[i].reinitialize();
+        }
+    }
+
+    /**
+     * Update task class.
+     * This class updates the entities of a batch of the list on a worker, the last task to end unparks the updating thread.
+     */
+    @SuppressWarnings("serial")
+    private class UpdateTask extends RecursiveAction {
+
+        /**
+         * The first entity of the batch.
+         */
+        private final int start;
+
+        private UpdateTask(int start){
+            this.start = start;
+        }
+
+        protected void compute(){
+            try {
+                updateBatch(start);
+            } catch(RuntimeException e){
+                if(failure == null) failure = e;
+            } finally {
+                if(pending.decrementAndGet() == 0) LockSupport.unpark(updater);
+            }
+        }
     }
 }
@@ -0,0 +1,152 @@
+package growth.game.entity;
+
+import growth.game.entity.type.Entity;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Entity pool class.
+ * This class keeps the removed entities of one type to reuse them, instead of creating new entities
+ * and loading their textures again. An entity taken from the pool is reset by the entity manager,
+ * and goes back to the pool when the entity manager removes it.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class EntityPool<T extends Entity> {
+
+    /**
+     * Factory.
+     * This variable contains the function creating a new entity when the pool is empty.
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * Free entities.
+     * This variable contains the entities ready to be reused.
+     */
+    private final ArrayList<T> free;
+
+    /**
+     * Statistics.
+     * These variables contain the number of entities in use, the highest number in use and the number of entities created.
+     */
+    private int live, highWater, created;
+
+    /**
+     * Entity pool class constructor.
+     *
+     * @param factory The function creating a new entity.
+     * @param prewarm The number of entities created now.
+     */
+    public EntityPool(Supplier<T> factory, int prewarm) {
+        this.factory = factory;
+        free = new ArrayList<>(Math.max(prewarm, 16));
+        prewarm(prewarm);
+    }
+
+    /**
+     * Create entities ahead of their use, until the pool has enough free entities.
+     *
+     * @param number The number of free entities wanted.
+     */
+    public void prewarm(int number) {
+        while (free.size() < number) {
+            free.add(create());
+        }
+    }
+
+    /**
+     * Take an entity from the pool, a new entity is created if the pool is empty.
+     *
+     * @return The entity, not reset.
+     */
+    public T obtain() {
+        T entity = free.isEmpty() ? create() : free.remove(free.size() - 1);
+        live++;
+        if (live > highWater) highWater = live;
+        return entity;
+    }
+
+    /**
+     * Give back an entity to the pool.
+     *
+     * @param entity The entity of this pool.
+     */
+    @SuppressWarnings("unchecked")
+    public void recycle(Entity entity) {
+        if (entity.getPool() != this) {
+            System.err.println("[Error] EntityPool::recycle() The entity doesn't belong to this pool");
+            return;
+        }
+        live--;
+        free.add((T) entity);
+    }
+
+    /**
+     * Create a new entity of the pool.
+     */
+    private T create() {
+        T entity = factory.get();
+        entity.setPool(this);
+        created++;
+        return entity;
+    }
+
+    /**
+     * Release the free entities and their textures.
+     */
+    public void clear() {
+        for (T entity : free) {
+            entity.setPool(null);
+            entity.unload();
+        }
+        free.clear();
+    }
+
+    /**
+     * Get the number of entities in use.
+     *
+     * @return live
+     */
+    public int getLive() {
+        return live;
+    }
+
+    /**
+     * Get the number of free entities.
+     *
+     * @return The size of the free list.
+     */
+    public int getFree() {
+        return free.size();
+    }
+
+    /**
+     * Get the highest number of entities in use at the same time.
+     *
+     * @return highWater
+     */
+    public int getHighWater() {
+        return highWater;
+    }
+
+    /**
+     * Get the number of entities created by the pool.
+     *
+     * @return created
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * Get the statistics of the pool.
+     *
+     * @return The statistics as text.
+     */
+    public String getStats() {
+        return "Pool : " + live + " live, " + free.size() + " free, high water : " + highWater + ", created : " + created;
+    }
+}
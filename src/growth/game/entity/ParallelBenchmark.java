@@ -0,0 +1,195 @@
+package growth.game.entity;
+
+import growth.game.entity.module.entity.Entity_Fall;
+import growth.game.entity.type.Entity;
+import growth.game.entity.type.MovingEntity;
+import growth.game.tilemap.TileMap;
+import growth.main.Config;
+import growth.main.Window;
+import growth.render.NullRenderBackend;
+import growth.render.Render;
+import growth.screen.GameManager;
+import growth.screen.screens.GameScreen;
+
+import java.util.Random;
+
+/**
+ * Parallel benchmark class.
+ * This class compares the sequential and the parallel update of the entities on the first map of the game.
+ * Two entity managers receive the same entities, falling and moving sideways, which go back to the top of the map
+ * at regular intervals so they don't rest on the ground. Both managers run the same ticks and the state of their
+ * entities is hashed after each tick : the time by tick and the first tick where the hashes differ are printed.
+ *
+ * Arguments : "-entities number" (5000 by default), "-ticks number" (2000 by default).
+ * The resources must be in the class path. The run exits with the code 1 if the two updates differ.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class ParallelBenchmark {
+
+    /**
+     * Reset interval.
+     * This variable contains the number of ticks between two returns of the entities to the top of the map.
+     */
+    private static final int RESET_TICKS = 200;
+
+    /**
+     * Rounds.
+     * This variable contains the number of times each update is measured, the first rounds warm up the JIT.
+     */
+    private static final int ROUNDS = 3;
+
+    /**
+     * Compare the sequential and the parallel update.
+     */
+    public static void main(String[] args) {
+        int entities = 5000;
+        int ticks = 2000;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-entities") && i + 1 < args.length) entities = Integer.parseInt(args[++i]);
+            if (args[i].equals("-ticks") && i + 1 < args.length) ticks = Integer.parseInt(args[++i]);
+        }
+
+        Render.setBackend(new NullRenderBackend());
+        Window.config = new Config();
+        Window.width = Config.getWindowWidth();
+        Window.height = Config.getWindowHeight();
+        Window.gameManager = new GameManager(Config.getInputs());
+        Window.gameManager.setScreen(GameManager.GAMESCREEN);
+        TileMap tileMap = GameScreen.tileMap;
+
+        EntityManager sequential = new EntityManager();
+        sequential.setParallel(false);
+        EntityManager parallel = new EntityManager();
+        parallel.setParallel(true);
+
+        Moving[] sequentialEntities = new Moving[entities];
+        Moving[] parallelEntities = new Moving[entities];
+        Random random = new Random(2);
+        for (int i = 0; i < entities; i++) {
+            float x = Moving.BOX + random.nextFloat() * (tileMap.getSizeX() - Moving.BOX * 2);
+            float y = Moving.BOX + random.nextFloat() * (tileMap.getSizeY() / 2f);
+            float speedX = (random.nextFloat() - 0.5f) * 16f;
+            sequentialEntities[i] = new Moving(tileMap, x, y, speedX);
+            parallelEntities[i] = new Moving(tileMap, x, y, speedX);
+            sequential.addEntity(sequentialEntities[i]);
+            parallel.addEntity(parallelEntities[i]);
+        }
+
+        System.out.println("Parallel benchmark : " + entities + " entities on a " + tileMap.getNumCols() + "x"
+                + tileMap.getNumRows() + " map, " + ticks + " ticks, batches of " + EntityManager.BATCH);
+        int difference = -1;
+        for (int round = 0; round < ROUNDS; round++) {
+            long sequentialTime = 0, parallelTime = 0;
+            for (int tick = 1; tick <= ticks; tick++) {
+                sequentialTime += run(sequential, sequentialEntities, tick);
+                parallelTime += run(parallel, parallelEntities, tick);
+                if (difference < 0 && hash(sequential, sequentialEntities) != hash(parallel, parallelEntities)) {
+                    difference = round * ticks + tick;
+                }
+            }
+            System.out.println("Round " + (round + 1) + " : sequential " + sequentialTime / ticks / 1000 + " us/tick, parallel "
+                    + parallelTime / ticks / 1000 + " us/tick");
+        }
+        System.out.println((difference < 0) ? "Same state after every tick"
+                : "[Error] ParallelBenchmark::main() The states differ from the tick " + difference);
+
+        sequential.setParallel(false);
+        parallel.setParallel(false);
+        Window.gameManager.unload();
+        System.exit(difference < 0 ? 0 : 1);
+    }
+
+    /**
+     * Run a tick of an entity manager.
+     *
+     * @param manager The entity manager.
+     * @param movingEntities The entities of the manager.
+     * @param tick The number of the tick.
+     *
+     * @return The time in nanoseconds.
+     */
+    private static long run(EntityManager manager, Moving[] movingEntities, int tick) {
+        long start = System.nanoTime();
+        manager.beginTick();
+        manager.update();
+        long time = System.nanoTime() - start;
+
+        if (tick % RESET_TICKS == 0) {
+            for (Moving entity : movingEntities) {
+                entity.setPosition(entity.getExactX(), Moving.BOX);
+                entity.setFalling(true);
+            }
+        }
+        return time;
+    }
+
+    /**
+     * Hash the state of the entities, in the order of the list of their manager.
+     *
+     * @param manager The entity manager.
+     * @param movingEntities The entities of the manager.
+     *
+     * @return The hash.
+     */
+    private static int hash(EntityManager manager, Moving[] movingEntities) {
+        int hash = manager.getCount();
+        for (Moving entity : movingEntities) {
+            Entity listed = manager.getEntity(entity.getHandle());
+            hash = 31 * hash + ((listed == entity) ? 1 : 0);
+            hash = 31 * hash + Float.floatToIntBits(entity.getExactX());
+            hash = 31 * hash + Float.floatToIntBits(entity.getExactY());
+            hash = 31 * hash + Float.floatToIntBits(entity.getSpeedX());
+            hash = 31 * hash + Float.floatToIntBits(entity.getSpeedY());
+            hash = 31 * hash + (entity.getFalling() ? 1 : 0);
+        }
+        return hash;
+    }
+
+    /**
+     * Moving class.
+     * This class is an entity without animation moved by the gravity and its own horizontal speed.
+     */
+    private static class Moving extends MovingEntity {
+
+        /**
+         * Box size.
+         * This variable contains the size of the collision box.
+         */
+        static final int BOX = 20;
+
+        /**
+         * Horizontal speed.
+         * This variable contains the speed x given back to the entity at each tick.
+         */
+        private final float walkSpeed;
+
+        /**
+         * Moving class constructor.
+         *
+         * @param tileMap The tile map.
+         * @param x The position x.
+         * @param y The position y.
+         * @param walkSpeed The horizontal speed.
+         */
+        Moving(TileMap tileMap, float x, float y, float walkSpeed) {
+            super(null, tileMap);
+            posX = x;
+            posY = y;
+            sizeX = sizeY = BOX;
+            cX = cY = BOX;
+            this.walkSpeed = walkSpeed;
+            modules.add(new Entity_Fall(this, 0.3f, 30f));
+            setFalling(true);
+        }
+
+        /**
+         * Update the entity, the horizontal speed is given back after a wall has stopped it.
+         */
+        public void updateLocal() {
+            setSpeedX(walkSpeed);
+            super.updateLocal();
+        }
+    }
+}
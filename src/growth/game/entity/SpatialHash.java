@@ -0,0 +1,439 @@
+package growth.game.entity;
+
+import growth.game.entity.type.BasicEntity;
+import growth.game.entity.type.Entity;
+
+import java.util.Arrays;
+
+/**
+ * Spatial hash class.
+ * This class is the broad phase of the collisions between entities : a uniform grid of cells, stored in a hash table,
+ * where each entity is registered in every cell covered by its collision box.
+ *
+ * An entity is only moved in the grid when its box covers other cells, and the queries write the entities found
+ * in a buffer given by the caller, so nothing is allocated once the arrays are big enough.
+ * A query writes the stamps of the entities found, the queries mustn't run on several threads at the same time.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class SpatialHash {
+
+    /**
+     * Buckets number.
+     * This variable contains the size of the hash table, a power of two.
+     */
+    private static final int BUCKETS = 16384;
+
+    /**
+     * Cell size.
+     * This variable contains the size of a cell in pixels.
+     */
+    private int cellSize;
+
+    /**
+     * Buckets.
+     * This variable contains the first node of each bucket, -1 if the bucket is empty.
+     */
+    private final int[] heads;
+
+    /**
+     * Nodes.
+     * These variables contain for each node its entity, its cell and the next node of the bucket.
+     */
+    private int[] nodeProxy, nodeCellX, nodeCellY, nodeNext;
+
+    /**
+     * Free nodes.
+     * These variables contain the first free node and the number of nodes ever used.
+     */
+    private int freeNode, nodeCount;
+
+    /**
+     * Entities.
+     * This variable contains the entity of each proxy, null if the proxy is free.
+     */
+    private Entity[] entities;
+
+    /**
+     * Boxes.
+     * These variables contain the collision box of each entity, updated at each move.
+     */
+    private float[] left, top, right, bottom;
+
+    /**
+     * Covered cells.
+     * These variables contain the first and the last cell covered by each entity.
+     */
+    private int[] minX, minY, maxX, maxY;
+
+    /**
+     * Query stamps.
+     * This variable contains the last query which found each entity, to return an entity only once.
+     */
+    private int[] stamps;
+
+    /**
+     * Query.
+     * This variable contains the number of the current query.
+     */
+    private int query;
+
+    /**
+     * Free proxies.
+     * These variables contain the next free proxy of each free proxy, the first free proxy and the number of proxies ever used.
+     */
+    private int[] nextFree;
+    private int freeProxy, proxyCount;
+
+    /**
+     * Size.
+     * This variable contains the number of entities in the grid.
+     */
+    private int size;
+
+    /**
+     * Spatial hash class constructor.
+     *
+     * @param cellSize The size of a cell in pixels.
+     */
+    public SpatialHash(int cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+        heads = new int[BUCKETS];
+        Arrays.fill(heads, -1);
+
+        int capacity = 64;
+        nodeProxy = new int[capacity * 4];
+        nodeCellX = new int[capacity * 4];
+        nodeCellY = new int[capacity * 4];
+        nodeNext = new int[capacity * 4];
+        freeNode = -1;
+
+        entities = new Entity[capacity];
+        left = new float[capacity];
+        top = new float[capacity];
+        right = new float[capacity];
+        bottom = new float[capacity];
+        minX = new int[capacity];
+        minY = new int[capacity];
+        maxX = new int[capacity];
+        maxY = new int[capacity];
+        stamps = new int[capacity];
+        nextFree = new int[capacity];
+        freeProxy = -1;
+    }
+
+    /**
+     * Add an entity in the grid.
+     *
+     * @param entity The entity to add.
+     */
+    public void insert(Entity entity) {
+        if (entity.getProxy() >= 0) return;
+
+        int proxy;
+        if (freeProxy >= 0) {
+            proxy = freeProxy;
+            freeProxy = nextFree[proxy];
+        } else {
+            if (proxyCount == entities.length) growProxies();
+            proxy = proxyCount++;
+        }
+
+        entities[proxy] = entity;
+        stamps[proxy] = 0;
+        entity.setProxy(proxy);
+        size++;
+
+        setBox(proxy, entity);
+        minX[proxy] = cell(left[proxy]);
+        minY[proxy] = cell(top[proxy]);
+        maxX[proxy] = cell(right[proxy]);
+        maxY[proxy] = cell(bottom[proxy]);
+        addCells(proxy);
+    }
+
+    /**
+     * Update the cells of an entity after its move.
+     *
+     * @param entity The entity moved.
+     */
+    public void update(Entity entity) {
+        int proxy = entity.getProxy();
+        if (proxy < 0) return;
+
+        setBox(proxy, entity);
+        int newMinX = cell(left[proxy]), newMinY = cell(top[proxy]);
+        int newMaxX = cell(right[proxy]), newMaxY = cell(bottom[proxy]);
+
+        // Most of the moves stay in the same cells
+        if (newMinX == minX[proxy] && newMinY == minY[proxy] && newMaxX == maxX[proxy] && newMaxY == maxY[proxy]) return;
+
+        removeCells(proxy);
+        minX[proxy] = newMinX;
+        minY[proxy] = newMinY;
+        maxX[proxy] = newMaxX;
+        maxY[proxy] = newMaxY;
+        addCells(proxy);
+    }
+
+    /**
+     * Remove an entity from the grid.
+     *
+     * @param entity The entity to remove.
+     */
+    public void remove(Entity entity) {
+        int proxy = entity.getProxy();
+        if (proxy < 0 || entities[proxy] != entity) return;
+
+        removeCells(proxy);
+        entities[proxy] = null;
+        nextFree[proxy] = freeProxy;
+        freeProxy = proxy;
+        entity.setProxy(-1);
+        size--;
+    }
+
+    /**
+     * Remove every entity.
+     */
+    public void clear() {
+        for (int i = 0; i < proxyCount; i++) {
+            if (entities[i] != null) entities[i].setProxy(-1);
+            entities[i] = null;
+        }
+        Arrays.fill(heads, -1);
+        freeNode = -1;
+        nodeCount = 0;
+        freeProxy = -1;
+        proxyCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Find the entities whose box overlaps a rectangle.
+     *
+     * @param left The left side of the rectangle.
+     * @param top The top side of the rectangle.
+     * @param right The right side of the rectangle.
+     * @param bottom The bottom side of the rectangle.
+     * @param result The buffer receiving the entities, the entities beyond its length are ignored.
+     *
+     * @return The number of entities written in the buffer.
+     */
+    public int queryRect(float left, float top, float right, float bottom, Entity[] result) {
+        return collect(left, top, right, bottom, 0, 0, -1, null, result);
+    }
+
+    /**
+     * Find the entities whose box is at a distance lower than a radius from a point.
+     *
+     * @param x The position x of the point.
+     * @param y The position y of the point.
+     * @param radius The radius.
+     * @param result The buffer receiving the entities, the entities beyond its length are ignored.
+     *
+     * @return The number of entities written in the buffer.
+     */
+    public int queryRadius(float x, float y, float radius, Entity[] result) {
+        return collect(x - radius, y - radius, x + radius, y + radius, x, y, radius * radius, null, result);
+    }
+
+    /**
+     * Find the entities whose box overlaps the box of an entity in the grid.
+     *
+     * @param entity The entity, not returned.
+     * @param result The buffer receiving the entities, the entities beyond its length are ignored.
+     *
+     * @return The number of entities written in the buffer.
+     */
+    public int queryOverlaps(Entity entity, Entity[] result) {
+        int proxy = entity.getProxy();
+        if (proxy < 0) return 0;
+        return collect(left[proxy], top[proxy], right[proxy], bottom[proxy], 0, 0, -1, entity, result);
+    }
+
+    /**
+     * Walk the cells covered by a rectangle and write the entities found.
+     *
+     * @param radiusSquare The square of the radius around x and y, negative to only test the rectangle.
+     * @param exclude An entity not to return.
+     */
+    private int collect(float l, float t, float r, float b, float x, float y, float radiusSquare, Entity exclude, Entity[] result) {
+        if (++query == 0) {
+            Arrays.fill(stamps, 0);
+            query = 1;
+        }
+
+        int count = 0;
+        int lastX = cell(r), lastY = cell(b);
+        for (int cy = cell(t); cy <= lastY; cy++) {
+            for (int cx = cell(l); cx <= lastX; cx++) {
+                for (int node = heads[bucket(cx, cy)]; node >= 0; node = nodeNext[node]) {
+                    if (nodeCellX[node] != cx || nodeCellY[node] != cy) continue;
+
+                    int proxy = nodeProxy[node];
+                    if (stamps[proxy] == query) continue;
+                    stamps[proxy] = query;
+
+                    if (entities[proxy] == exclude) continue;
+                    if (left[proxy] >= r || right[proxy] <= l || top[proxy] >= b || bottom[proxy] <= t) continue;
+                    if (radiusSquare >= 0) {
+                        float dx = Math.max(left[proxy] - x, Math.max(0, x - right[proxy]));
+                        float dy = Math.max(top[proxy] - y, Math.max(0, y - bottom[proxy]));
+                        if (dx * dx + dy * dy > radiusSquare) continue;
+                    }
+
+                    if (count == result.length) return count;
+                    result[count++] = entities[proxy];
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Set the box of an entity, its collision box centered on its position, or its size without collision box.
+     */
+    private void setBox(int proxy, Entity entity) {
+        int width = entity.getSizeX(), height = entity.getSizeY();
+        if (entity instanceof BasicEntity && ((BasicEntity) entity).getCX() > 0) {
+            width = ((BasicEntity) entity).getCX();
+            height = ((BasicEntity) entity).getCY();
+        }
+
+        left[proxy] = entity.getPosX() - width / 2;
+        top[proxy] = entity.getPosY() - height / 2;
+        right[proxy] = entity.getPosX() + width / 2;
+        bottom[proxy] = entity.getPosY() + height / 2;
+    }
+
+    /**
+     * Add a node for each cell covered by an entity.
+     */
+    private void addCells(int proxy) {
+        for (int cy = minY[proxy]; cy <= maxY[proxy]; cy++) {
+            for (int cx = minX[proxy]; cx <= maxX[proxy]; cx++) {
+                int node;
+                if (freeNode >= 0) {
+                    node = freeNode;
+                    freeNode = nodeNext[node];
+                } else {
+                    if (nodeCount == nodeProxy.length) growNodes();
+                    node = nodeCount++;
+                }
+
+                int bucket = bucket(cx, cy);
+                nodeProxy[node] = proxy;
+                nodeCellX[node] = cx;
+                nodeCellY[node] = cy;
+                nodeNext[node] = heads[bucket];
+                heads[bucket] = node;
+            }
+        }
+    }
+
+    /**
+     * Remove the nodes of the cells covered by an entity.
+     */
+    private void removeCells(int proxy) {
+        for (int cy = minY[proxy]; cy <= maxY[proxy]; cy++) {
+            for (int cx = minX[proxy]; cx <= maxX[proxy]; cx++) {
+                int bucket = bucket(cx, cy);
+                int previous = -1;
+                for (int node = heads[bucket]; node >= 0; previous = node, node = nodeNext[node]) {
+                    if (nodeProxy[node] != proxy || nodeCellX[node] != cx || nodeCellY[node] != cy) continue;
+
+                    if (previous < 0) heads[bucket] = nodeNext[node];
+                    else nodeNext[previous] = nodeNext[node];
+                    nodeNext[node] = freeNode;
+                    freeNode = node;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the cell containing a position.
+     */
+    private int cell(float position) {
+        return (int) Math.floor(position / cellSize);
+    }
+
+    /**
+     * Get the bucket of a cell.
+     */
+    private static int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & (BUCKETS - 1);
+    }
+
+    /**
+     * Double the number of proxies.
+     */
+    private void growProxies() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        left = Arrays.copyOf(left, capacity);
+        top = Arrays.copyOf(top, capacity);
+        right = Arrays.copyOf(right, capacity);
+        bottom = Arrays.copyOf(bottom, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+        nextFree = Arrays.copyOf(nextFree, capacity);
+    }
+
+    /**
+     * Double the number of nodes.
+     */
+    private void growNodes() {
+        int capacity = nodeProxy.length * 2;
+        nodeProxy = Arrays.copyOf(nodeProxy, capacity);
+        nodeCellX = Arrays.copyOf(nodeCellX, capacity);
+        nodeCellY = Arrays.copyOf(nodeCellY, capacity);
+        nodeNext = Arrays.copyOf(nodeNext, capacity);
+    }
+
+    /**
+     * Set the size of the cells, the grid must be empty.
+     *
+     * @param newCellSize The size of a cell in pixels.
+     */
+    public void setCellSize(int newCellSize) {
+        if (size > 0) {
+            System.err.println("[Error] SpatialHash::setCellSize() The grid isn't empty");
+            return;
+        }
+        cellSize = Math.max(1, newCellSize);
+    }
+
+    /**
+     * Get the number of entities in the grid.
+     *
+     * @return size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the statistics of the grid.
+     *
+     * @return The statistics as text.
+     */
+    public String getStats() {
+        return "Spatial hash : " + size + " entities, " + (nodeCount - freeNodes()) + " cells used, cell size : " + cellSize;
+    }
+
+    /**
+     * Count the free nodes.
+     */
+    private int freeNodes() {
+        int count = 0;
+        for (int node = freeNode; node >= 0; node = nodeNext[node]) count++;
+        return count;
+    }
+}
@@ -36,4 +36,19 @@ public abstract class Module {
      * Display the entity with the utility of the module.
      */
     public void display(){}
+
+    /**
+     * Reset the state of the module, when its entity is reused by a pool.
+     */
+    public void reset(){}
+
+    /**
+     * Return if the module changes the game outside of its entity.
+     * A deferred module is updated on the main thread during the commit of the entity.
+     *
+     * @return False by default.
+     */
+    public boolean isDeferred(){
+        return false;
+    }
 }
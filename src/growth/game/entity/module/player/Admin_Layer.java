@@ -35,4 +35,13 @@ public class Admin_Layer extends Module{
             GameScreen.tileMap.setLayer(-1);
         }
     }
+
+    /**
+     * The module changes the game, it is updated during the commit.
+     *
+     * @return true
+     */
+    public boolean isDeferred(){
+        return true;
+    }
 }
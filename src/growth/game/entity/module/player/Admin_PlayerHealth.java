@@ -61,4 +61,13 @@ public class Admin_PlayerHealth extends Module {
             System.out.println("\033[34mNew player health value : \033[0m" + player.getHealthPoint() + "\n");
         }
     }
+
+    /**
+     * The module changes the game, it is updated during the commit.
+     *
+     * @return true
+     */
+    public boolean isDeferred(){
+        return true;
+    }
 }
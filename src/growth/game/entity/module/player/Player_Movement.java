@@ -105,6 +105,14 @@ public class Player_Movement extends Module {
         player.setSpeedX(speedX);
     }
 
+    /**
+     * Reset the directions.
+     */
+    public void reset(){
+        right = false;
+        left = false;
+    }
+
     /**
      * Get the right state.
      *
@@ -1,11 +1,13 @@
 package growth.game.entity.type;
 
+import growth.game.RenderSnapshot;
 import growth.game.entity.module.Module;
 import growth.render.Animation;
+import growth.render.texture.TextureRegion;
 import growth.render.texture.TextureRenderer;
 import growth.screen.screens.GameScreen;
+import growth.util.Profiler;
 
-import java.awt.*;
 import java.util.ArrayList;
 
 public class BasicEntity extends Entity{
@@ -91,10 +93,14 @@ public class BasicEntity extends Entity{
      * @param entity Another entity.
      */
     public boolean intersects(BasicEntity entity) {
-        Rectangle r1 = getRectangle();
-        Rectangle r2 = entity.getRectangle();
-        // Call the function intersects of Rectangle
-        return r1.intersects(r2);
+        // Same test as Rectangle.intersects on the collision boxes, without creating them
+        if (cX <= 0 || cY <= 0 || entity.cX <= 0 || entity.cY <= 0) return false;
+
+        int x1 = (int) posX - cX, y1 = (int) posY - cY;
+        int x2 = (int) entity.posX - entity.cX, y2 = (int) entity.posY - entity.cY;
+
+        return x2 < x1 + cX && x1 < x2 + entity.cX &&
+                y2 < y1 + cY && y1 < y2 + entity.cY;
     }
 
 
@@ -113,40 +119,57 @@ public class BasicEntity extends Entity{
     public int getCY() { return cY; }
 
     /**
-     * Update the entity.
+     * Update the entity with its modules, the deferred modules wait for the commit.
      */
-    public void update(){
+    public void updateLocal(){
         animationPlayed = IDLE;
         priority = IDLE_P;
-        for(Module module : modules){
-            module.update();
+        long start = Profiler.begin(Profiler.MODULES);
+        for(int i = 0; i < modules.size(); i++){
+            if(!modules.get(i).isDeferred()) modules.get(i).update();
         }
+        Profiler.end(Profiler.MODULES, start);
+    }
+
+    /**
+     * Update the deferred modules.
+     */
+    public void commit(){
+        long start = Profiler.begin(Profiler.MODULES);
+        for(int i = 0; i < modules.size(); i++){
+            if(modules.get(i).isDeferred()) modules.get(i).update();
+        }
+        Profiler.end(Profiler.MODULES, start);
     }
 
     /**
      * Display the entity.
      */
     public void display(){
-        for(Module module : modules){
-            module.display();
+        for(int i = 0; i < modules.size(); i++){
+            modules.get(i).display();
         }
 
-        animations.get(animationPlayed).bind();
         if(animations.size() > 0) {
+            TextureRegion region = animations.get(animationPlayed).getRegion();
+            region.bind();
             TextureRenderer.image(
-                    (posX - sizeX / 2),
-                    (posY - sizeY / 2),
-                    sizeX * 1f, sizeY * 1f);
+                    (getRenderX() - sizeX / 2),
+                    (getRenderY() - sizeY / 2),
+                    sizeX * 1f, sizeY * 1f,
+                    region.getFrom().getX(), region.getFrom().getY(), region.getTo().getX(), region.getTo().getY());
         }
     }
 
     /**
-     * Return the rectangle of collision's box.
+     * Copy the sprite of the current animation frame in a render snapshot.
      *
-     * @return rectangle
+     * @param snapshot The snapshot.
      */
-    private Rectangle getRectangle() {
-        return new Rectangle((int) posX - cX, (int) posY - cY, cX, cY);
+    public void snapshot(RenderSnapshot snapshot){
+        if(animations.size() > 0) {
+            snapshot.addSprite(prevPosX, prevPosY, posX, posY, sizeX, sizeY, animations.get(animationPlayed).getRegion(), false);
+        }
     }
 
     /*
@@ -177,9 +200,27 @@ public class BasicEntity extends Entity{
      * Delete the entity's textures contain in array list animations.
      */
     public void unload() {
-        for(Animation animation: animations) {
-            animation.unload();
+        // A pooled entity keeps its textures for its next use
+        if(getPool() == null) {
+            for(Animation animation: animations) {
+                animation.unload();
+            }
         }
         super.unload();
     }
+
+    /**
+     * Reset the animations and the modules, before the reuse of the entity by a pool.
+     */
+    public void reset() {
+        animationPlayed = IDLE;
+        priority = IDLE_P;
+        speed = 1;
+        for(int i = 0; i < animations.size(); i++){
+            animations.get(i).reset();
+        }
+        for(int i = 0; i < modules.size(); i++){
+            modules.get(i).reset();
+        }
+    }
 }
@@ -1,4 +1,7 @@
 package growth.game.entity.type;
+import growth.game.RenderSnapshot;
+import growth.game.entity.EntityPool;
+import growth.render.Render;
 import growth.screen.GameManager;
 import growth.screen.screens.GameScreen;
 
@@ -25,6 +28,12 @@ public class Entity {
 	 */
 	protected float posY;
 
+	/**
+	 * Previous position.
+	 * These variables contain the position of the entity at the beginning of the tick, to interpolate the frames.
+	 */
+	protected float prevPosX, prevPosY;
+
 	/**
 	 * Entity size X.
 	 * This variable contains the width of the entity.
@@ -49,6 +58,24 @@ public class Entity {
 	 */
 	protected GameScreen gameScreen;
 
+	/**
+	 * Spatial proxy.
+	 * This variable contains the index of the entity in the spatial hash, -1 if it isn't in.
+	 */
+	private int proxy = -1;
+
+	/**
+	 * Handle.
+	 * This variable contains the handle of the entity in the entity manager.
+	 */
+	private int handle;
+
+	/**
+	 * Pool.
+	 * This variable contains the pool which recycles the entity when it is removed, null if the entity isn't pooled.
+	 */
+	private EntityPool<?> pool;
+
 	/**
 	 * Entity class constructor.
 	 * Instance the class.
@@ -69,9 +96,39 @@ public class Entity {
 	}
 
 	/**
-	 * Update the entity.
+	 * Copy what is needed to draw the entity in a render snapshot.
+	 *
+	 * @param snapshot The snapshot.
 	 */
-	public void update(){}
+	public void snapshot(RenderSnapshot snapshot){
+	}
+
+	/**
+	 * Update the entity, both phases one after the other.
+	 */
+	public void update(){
+		updateLocal();
+		commit();
+	}
+
+	/**
+	 * Update the state of the entity itself.
+	 * This phase can run on any thread, at the same time as the other entities,
+	 * it must only change the entity and only read the rest of the game.
+	 * The spatial queries of the entity manager are forbidden here, they belong to the commit.
+	 */
+	public void updateLocal(){}
+
+	/**
+	 * Apply the effects of the entity on the rest of the game.
+	 * This phase runs on the main thread, entity after entity in the order of the list.
+	 */
+	public void commit(){}
+
+	/**
+	 * Reset the state of the entity, before its reuse by a pool.
+	 */
+	public void reset(){}
 
 	/**
 	 * Unload the entity.
@@ -112,6 +169,42 @@ public class Entity {
 	 */
 	public int getPosY() { return (int) posY; }
 
+	/**
+	 * Return the exact position x.
+	 *
+	 * @return posX
+	 */
+	public float getExactX() { return posX; }
+
+	/**
+	 * Return the exact position y.
+	 *
+	 * @return posY
+	 */
+	public float getExactY() { return posY; }
+
+	/**
+	 * Return the position x to draw, between the previous and the current tick.
+	 *
+	 * @return The interpolated position x.
+	 */
+	public float getRenderX() { return prevPosX + (posX - prevPosX) * Render.getInterpolation(); }
+
+	/**
+	 * Return the position y to draw, between the previous and the current tick.
+	 *
+	 * @return The interpolated position y.
+	 */
+	public float getRenderY() { return prevPosY + (posY - prevPosY) * Render.getInterpolation(); }
+
+	/**
+	 * Keep the current position as the previous position, at the beginning of a tick or after a jump.
+	 */
+	public void savePosition() {
+		prevPosX = posX;
+		prevPosY = posY;
+	}
+
 	/**
 	 * Return size x.
 	 *
@@ -126,6 +219,48 @@ public class Entity {
 	 */
 	public int getSizeY(){return sizeY;}
 
+	/**
+	 * Return the index of the entity in the spatial hash.
+	 *
+	 * @return proxy
+	 */
+	public int getProxy(){return proxy;}
+
+	/**
+	 * Return the handle of the entity in the entity manager.
+	 *
+	 * @return handle
+	 */
+	public int getHandle(){return handle;}
+
+	/**
+	 * Set the handle of the entity in the entity manager.
+	 *
+	 * @param handle New handle.
+	 */
+	public void setHandle(int handle){this.handle = handle;}
+
+	/**
+	 * Return the pool of the entity.
+	 *
+	 * @return pool, null if the entity isn't pooled
+	 */
+	public EntityPool<?> getPool(){return pool;}
+
+	/**
+	 * Set the pool of the entity.
+	 *
+	 * @param pool New pool.
+	 */
+	public void setPool(EntityPool<?> pool){this.pool = pool;}
+
+	/**
+	 * Set the index of the entity in the spatial hash.
+	 *
+	 * @param proxy New index, -1 if the entity isn't in.
+	 */
+	public void setProxy(int proxy){this.proxy = proxy;}
+
 	/**
 	 * Set the type of the entity.
 	 *
@@ -1,9 +1,12 @@
 package growth.game.entity.type;
 
+import growth.game.RenderSnapshot;
+import growth.render.texture.TextureRegion;
 import growth.render.texture.TextureRenderer;
 import growth.screen.screens.GameScreen;
-import growth.game.tilemap.Tile;
 import growth.game.tilemap.TileMap;
+import growth.game.tilemap.TileSweep;
+import growth.util.math.Vec2;
 
 /**
  * Moving entity class.
@@ -45,52 +48,10 @@ public class MovingEntity extends BasicEntity {
     protected float yTemp;
 
     /**
-     * Current row position.
-     * This variable contains the row position.
+     * Tile sweep.
+     * This variable contains the sweep used to move the entity through the tiles.
      */
-    private int currRow;
-
-    /**
-     * Current column position.
-     * This variable contains the column position.
-     */
-    private int currCol;
-
-    /**
-     * Destination position of x.
-     * This variable contains the next position x of the entity.
-     */
-    private float xDest;
-
-    /**
-     * Destination position of y.
-     * This variable contains the next position y of the entity.
-     */
-    private float yDest;
-
-    /**
-     * Top-left status collision.
-     * This variable contains the status of the top left tile.
-     */
-    private boolean topLeft;
-
-    /**
-     * Top-right status collision.
-     * This variable contains the status of the top right tile.
-     */
-    private boolean topRight;
-
-    /**
-     * Bottom-left status collision.
-     * This variable contains the status of the bottom left tile.
-     */
-    private boolean bottomLeft;
-
-    /**
-     * Bottom-left status collision.
-     * This variable contains the status of the bottom right tile.
-     */
-    private boolean bottomRight;
+    private final TileSweep sweep;
 
     /**
      * Facing (true -> right // false -> left)
@@ -122,11 +83,6 @@ public class MovingEntity extends BasicEntity {
      */
     private boolean falling;
 
-    private int leftTile;
-    private int rightTile;
-    private int topTile;
-    private int bottomTile;
-
     /**
      * Health point.
      * This variable contains the health point of the entity.
@@ -151,14 +107,14 @@ public class MovingEntity extends BasicEntity {
         speedX = 0;
         speedY = 0;
         this.tileMap = tileMap;
-
+        sweep = new TileSweep(tileMap);
     }
 
     /**
      * Update the entity.
      */
-    public void update(){
-        super.update();
+    public void updateLocal(){
+        super.updateLocal();
         checkTileMapCollision();
         setPosition(xTemp, yTemp);
 
@@ -175,131 +131,71 @@ public class MovingEntity extends BasicEntity {
      * Display the entity.
      */
     public void display(){
-        animations.get(animationPlayed).bind();
         if(animations.size()>0) {  //TODO IF the entity hasn't animation.
+            TextureRegion region = animations.get(animationPlayed).getRegion();
+            region.bind();
+            Vec2 from = region.getFrom();
+            Vec2 to = region.getTo();
             if (facing) {
                 TextureRenderer.image(
                         (posX - sizeX / 2),
                         (posY - sizeY / 2),
-                        sizeX * 1f, sizeY * 1f);
+                        sizeX * 1f, sizeY * 1f,
+                        from.getX(), from.getY(), to.getX(), to.getY());
             } else {
                 TextureRenderer.image(
                         (posX - sizeX / 2 + sizeX),
                         (posY - sizeY / 2),
-                        -sizeX, sizeY);
+                        -sizeX, sizeY,
+                        from.getX(), from.getY(), to.getX(), to.getY());
             }
         }
     }
 
     /**
-     * When the entity die.
+     * Copy the sprite of the current animation frame in a render snapshot, mirrored when the entity faces left.
+     *
+     * @param snapshot The snapshot.
      */
-    public void died(){
-        unload();
+    public void snapshot(RenderSnapshot snapshot){
+        if(animations.size()>0) {
+            snapshot.addSprite(prevPosX, prevPosY, posX, posY, sizeX, sizeY, animations.get(animationPlayed).getRegion(), !facing);
+        }
     }
 
     /**
-     * Calculate corners of the Entity.
-     *
-     * @param posX Position X.
-     * @param posY Position Y.
-     */
-    private void calculateCorners(float posX, float posY) {
-        leftTile = (int) (posX - cX / 2) / GameScreen.tileSize;
-        rightTile = (int) (posX + cX / 2 - 1) / GameScreen.tileSize;
-        topTile = (int) ((posY - cY / 2) / GameScreen.tileSize);
-        bottomTile = (int) (posY + cY / 2 - 1) / GameScreen.tileSize;
-
-        if (bottomTile >= tileMap.getNumRows() || rightTile >= tileMap.getNumCols()) {
-            topLeft = topRight = bottomLeft = bottomRight = true;
-            return;
-        }
-
-        int tl = tileMap.getType(topTile, leftTile);
-        int tr = tileMap.getType(topTile, rightTile);
-        int bl = tileMap.getType(bottomTile, leftTile);
-        int br = tileMap.getType(bottomTile, rightTile);
-
-        topLeft = (tl == Tile.BLOCKED);
-        topRight = (tr == Tile.BLOCKED);
-        bottomLeft = (bl == Tile.BLOCKED);
-        bottomRight = (br == Tile.BLOCKED);
+     * Reset the speed and the states, before the reuse of the entity by a pool.
+     */
+    public void reset(){
+        super.reset();
+        speedX = 0;
+        speedY = 0;
+        falling = false;
+        facing = false;
+        left = false;
+        right = false;
+        down = false;
     }
 
+    /**
+     * When the entity die.
+     */
+    public void died(){
+        unload();
+    }
 
     /**
      * Check the collision between the Entity and tileMap.
+     * The entity is swept along its motion and slides along the first tile touched,
+     * so it can't go through a tile whatever its speed.
      */
     private void checkTileMapCollision() {
-
-        // Get position of player in the grid
-        currCol = (int) posX / GameScreen.tileSize;
-        currRow = (int) posY / GameScreen.tileSize;
-
-        // Next position
-        xDest = posX + speedX;
-        yDest = posY + speedY;
-
-        // Old position
-        xTemp = posX;
-        yTemp = posY;
-
-
-        calculateCorners(xTemp, yDest);
-        if (speedY <= 0) {
-            if (topLeft || topRight) {
-                speedY = 0;
-                yTemp = currRow * GameScreen.tileSize + cY / 2;
-            } else {
-                yTemp += speedY;
-            }
-
-            if (yDest - cY / 2 < 0) {
-                yTemp = cY / 2;
-                speedY = 0;
-            }
-        } else {
-            if (bottomLeft || bottomRight) {
-                speedY = 0;
-                falling = false;
-                yTemp = (currRow + 1) * GameScreen.tileSize - cY / 2;
-            } else {
-                yTemp += speedY;
-            }
-        }
-
-        // Calculate translation of X movement
-        calculateCorners(xDest, posY);
-        if (speedX < 0) {
-            if (topLeft || bottomLeft) {
-                speedX = 0;
-                xTemp = currCol * GameScreen.tileSize + cX / 2;
-                speedY*=0.96;
-            } else {
-                xTemp += speedX;
-            }
-
-            if (xDest - cX / 2 < 0) {
-                xTemp = cX / 2;
-                speedX = 0;
-            }
-
-        } else if (speedX > 0) {
-            if (topRight || bottomRight) {
-                speedX = 0;
-                xTemp = (currCol + 1) * GameScreen.tileSize - cX / 2;
-                speedY*=0.96;
-            } else {
-                xTemp += speedX;
-            }
-        }
-
-        if (!falling) {
-            calculateCorners(posX, yDest + 1);
-            if (!bottomLeft && !bottomRight) {
-                falling = true;
-            }
-        }
+        sweep.move(posX, posY, cX, cY, speedX, speedY, falling);
+        xTemp = sweep.getX();
+        yTemp = sweep.getY();
+        speedX = sweep.getSpeedX();
+        speedY = sweep.getSpeedY();
+        falling = sweep.getFalling();
     }
 
     /*
@@ -112,10 +112,10 @@ public class Player extends MovingEntity{
 	}
 
 	/**
-	 * Update the player.
+	 * Update the player's effects on the game.
 	 */
-	public void update(){
-		super.update();
+	public void commit(){
+		super.commit();
 
 		// Check border player collision to change the map
 		if (posX - cX / 2 <= 0) {
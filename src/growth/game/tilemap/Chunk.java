@@ -0,0 +1,109 @@
+package growth.game.tilemap;
+
+import growth.render.SpriteBatch;
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Chunk class.
+ * This class is use to store the quads of a square part of a layer, built once at the map loading.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+class Chunk {
+
+    /**
+     * Chunk size.
+     * This variable contains the number of tiles of a chunk side.
+     */
+    static final int SIZE = 16;
+
+    /**
+     * Vertices.
+     * This variable contains the quads of every non-empty tile of the chunk.
+     */
+    private final FloatBuffer vertices;
+
+    /**
+     * Quads number.
+     * This variable contains the number of quads stored in the chunk.
+     */
+    private final int quads;
+
+    /**
+     * Chunk class constructor.
+     * Instance the class and build the quads of the tiles inside the chunk.
+     *
+     * @param layer The layer.
+     * @param firstRow The first row of the chunk.
+     * @param firstCol The first column of the chunk.
+     * @param quads The number of non-empty tiles in the chunk.
+     * @param tileSet The tile set giving the texture coordinates.
+     * @param tileSize The size of a tile in pixels.
+     */
+    private Chunk(Layer layer, int firstRow, int firstCol, int quads, Tile[] tileSet, int tileSize) {
+        this.quads = quads;
+        vertices = BufferUtils.createFloatBuffer(quads * 4 * SpriteBatch.MESH_VERTEX_SIZE);
+
+        int lastRow = Math.min(firstRow + SIZE, layer.getHeight());
+        int lastCol = Math.min(firstCol + SIZE, layer.getWidth());
+
+        for (int row = firstRow; row < lastRow; row++) {
+            for (int col = firstCol; col < lastCol; col++) {
+                int id = layer.get(row, col);
+                if (id == 0) continue;
+
+                Tile tile = tileSet[id];
+                float x = col * tileSize;
+                float y = row * tileSize;
+                float fromX = tile.getFrom().getX(), fromY = tile.getFrom().getY();
+                float toX = tile.getTo().getX(), toY = tile.getTo().getY();
+
+                vertices.put(x).put(y).put(fromX).put(fromY);
+                vertices.put(x).put(y + tileSize).put(fromX).put(toY);
+                vertices.put(x + tileSize).put(y + tileSize).put(toX).put(toY);
+                vertices.put(x + tileSize).put(y).put(toX).put(fromY);
+            }
+        }
+        vertices.flip();
+    }
+
+    /**
+     * Build the chunk starting at the given tile.
+     *
+     * @return The chunk or null if every tile of the chunk is empty.
+     */
+    static Chunk build(Layer layer, int firstRow, int firstCol, Tile[] tileSet, int tileSize) {
+        int lastRow = Math.min(firstRow + SIZE, layer.getHeight());
+        int lastCol = Math.min(firstCol + SIZE, layer.getWidth());
+
+        int quads = 0;
+        for (int row = firstRow; row < lastRow; row++) {
+            for (int col = firstCol; col < lastCol; col++) {
+                if (layer.get(row, col) != 0) quads++;
+            }
+        }
+
+        return (quads == 0) ? null : new Chunk(layer, firstRow, firstCol, quads, tileSet, tileSize);
+    }
+
+    /**
+     * Get the size of the quads of the chunk.
+     *
+     * @return The number of bytes.
+     */
+    long getBytes() {
+        return (long) vertices.capacity() * Float.BYTES;
+    }
+
+    /**
+     * Display the chunk.
+     *
+     * @param texture The OpenGL id of the tile set texture.
+     */
+    void display(int texture) {
+        SpriteBatch.mesh(texture, vertices, quads);
+    }
+}
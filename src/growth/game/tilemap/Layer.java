@@ -3,32 +3,105 @@ package growth.game.tilemap;
 /**
  * Layer class.
  * This class is use to store layer of the map.
+ * The tiles are stored row after row in one array, with a bit mask of the blocked tiles for the collisions.
  *
  * @author MightyCode
- * @version 1.0
+ * @version 1.1
  */
 class Layer {
 
     /**
-     * Map.
-     * This variable contains the map.
+     * Tiles.
+     * This variable contains the id of each tile, row after row.
      */
-    private final int[][] tileID;
+    private final short[] tileID;
+
+    /**
+     * Layer width.
+     * This variable contains the number of column, the stride between two rows.
+     */
+    private final int width;
+
+    /**
+     * Layer height.
+     * This variable contains the number of row.
+     */
+    private final int height;
+
+    /**
+     * Blocked tiles.
+     * This variable contains one bit for each tile, set if the tile is blocked.
+     */
+    private final long[] blocked;
 
     /**
      * Layer class constructor.
-     * Instance the class and set the right layer's content .
+     * Instance the class and set the right layer's content.
+     *
+     * @param tileID The tiles of the layer, row after row.
+     * @param width The number of column.
+     * @param height The number of row.
+     */
+    Layer(short[] tileID, int width, int height){
+        this.tileID = tileID;
+        this.width = width;
+        this.height = height;
+        blocked = new long[(tileID.length + 63) / 64];
+    }
+
+    /**
+     * Layer class constructor.
+     * Instance the class from the tiles by row and column.
      *
      * @param tileID The tiles of the layer.
      */
     Layer(int[][] tileID){
-        this.tileID = tileID;
+        this(new short[tileID.length * tileID[0].length], tileID[0].length, tileID.length);
+        for(int row = 0; row < height; row++){
+            for(int col = 0; col < width; col++){
+                this.tileID[row * width + col] = (short) tileID[row][col];
+            }
+        }
+    }
+
+    /**
+     * Set the bit mask of the blocked tiles from the type of the tiles.
+     *
+     * @param tileSet The tile set giving the type of each tile.
+     */
+    void buildCollision(Tile[] tileSet){
+        for(int i = 0; i < tileID.length; i++){
+            if(tileSet[tileID[i] & 0xFFFF].getType() == Tile.BLOCKED){
+                blocked[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Get the id of a tile.
+     *
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     */
+    int get(int row, int col){
+        return tileID[row * width + col] & 0xFFFF;
     }
 
     /**
-     * Get the layer's content.
+     * Return if a tile is blocked, built by buildCollision.
+     *
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     */
+    boolean isBlocked(int row, int col){
+        int i = row * width + col;
+        return (blocked[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Get the tiles of the layer, row after row.
      */
-    int[][] getMap(){
+    short[] getTiles(){
         return tileID;
     }
 
@@ -36,13 +109,20 @@ class Layer {
      * Get the layer height.
      */
     public int getHeight(){
-        return tileID.length;
+        return height;
     }
 
     /**
      * Get the layer width.
      */
     public int getWidth(){
-        return tileID[0].length;
+        return width;
+    }
+
+    /**
+     * Get the memory used by the tiles and the bit mask.
+     */
+    long getBytes(){
+        return (long) tileID.length * Short.BYTES + (long) blocked.length * Long.BYTES;
     }
-}
\ No newline at end of file
+}
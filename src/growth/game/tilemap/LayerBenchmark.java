@@ -0,0 +1,115 @@
+package growth.game.tilemap;
+
+import java.util.Random;
+
+/**
+ * Layer benchmark class.
+ * This class compares the two ways to know if a tile is blocked : the old one, the id from an int[][] then the type
+ * of the tile in the tile set, and the bit mask of the layer. Both are run on a random layer, in random order like
+ * the corners of the moving entities and row after row. The memory of both layers is printed.
+ *
+ * Arguments : "-size number" (4096 by default, the width and height of the layer),
+ * "-lookups number" (16777216 by default).
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class LayerBenchmark {
+
+	/**
+	 * Tiles number.
+	 * This variable contains the number of tiles of the tile set, one tile out of three is blocked.
+	 */
+	private static final int TILES = 64;
+
+	/**
+	 * Rounds.
+	 * This variable contains the number of times each lookup is measured, the first rounds warm up the JIT.
+	 */
+	private static final int ROUNDS = 5;
+
+	/**
+	 * Compare the lookups.
+	 */
+	public static void main(String[] args) {
+		int size = 4096;
+		int lookups = 1 << 24;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-size") && i + 1 < args.length) size = Integer.parseInt(args[++i]);
+			if (args[i].equals("-lookups") && i + 1 < args.length) lookups = Integer.parseInt(args[++i]);
+		}
+
+		Random random = new Random(1);
+		Tile[] tileSet = new Tile[TILES];
+		for (int i = 0; i < TILES; i++) {
+			tileSet[i] = new Tile("tile", (i % 3 == 0) ? Tile.BLOCKED : 0, 0, 0, 16, 256, 256);
+		}
+
+		int[][] map = new int[size][size];
+		for (int row = 0; row < size; row++) {
+			for (int col = 0; col < size; col++) {
+				map[row][col] = random.nextInt(TILES);
+			}
+		}
+		Layer layer = new Layer(map);
+		layer.buildCollision(tileSet);
+
+		// Both lookups must agree on every tile
+		for (int row = 0; row < size; row++) {
+			for (int col = 0; col < size; col++) {
+				if ((tileSet[map[row][col]].getType() == Tile.BLOCKED) != layer.isBlocked(row, col)) {
+					System.err.println("[Error] LayerBenchmark::main() The lookups differ at " + row + ", " + col);
+					System.exit(1);
+				}
+			}
+		}
+
+		int[] rows = new int[lookups];
+		int[] cols = new int[lookups];
+		for (int i = 0; i < lookups; i++) {
+			rows[i] = random.nextInt(size);
+			cols[i] = random.nextInt(size);
+		}
+
+		System.out.println("Layer benchmark : " + size + "x" + size + " layer, " + TILES + " tiles, " + lookups + " random lookups");
+		int blocked = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < lookups; i++) {
+				if (tileSet[map[rows[i]][cols[i]]].getType() == Tile.BLOCKED) blocked++;
+			}
+			long oldRandom = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < lookups; i++) {
+				if (layer.isBlocked(rows[i], cols[i])) blocked++;
+			}
+			long newRandom = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int row = 0; row < size; row++) {
+				for (int col = 0; col < size; col++) {
+					if (tileSet[map[row][col]].getType() == Tile.BLOCKED) blocked++;
+				}
+			}
+			long oldScan = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int row = 0; row < size; row++) {
+				for (int col = 0; col < size; col++) {
+					if (layer.isBlocked(row, col)) blocked++;
+				}
+			}
+			long newScan = System.nanoTime() - start;
+
+			long tiles = (long) size * size;
+			System.out.println("Round " + (round + 1) + " : random old " + oldRandom * 100 / lookups / 100f + " ns, new "
+					+ newRandom * 100 / lookups / 100f + " ns | scan old " + oldScan * 100 / tiles / 100f + " ns, new "
+					+ newScan * 100 / tiles / 100f + " ns");
+		}
+
+		// Printed so the lookups aren't removed by the JIT
+		System.out.println("Blocked tiles found : " + blocked);
+		System.out.println("Memory : int[][] " + (long) size * size * 4 / 1024 + " KiB, layer " + layer.getBytes() / 1024 + " KiB");
+	}
+}
@@ -33,6 +33,12 @@ public class Map {
 	 */
 	private final Layer[] layer;
 
+	/**
+	 * Chunks.
+	 * This variable contains the chunks of each layer, null for an empty chunk.
+	 */
+	private Chunk[][][] chunks;
+
 	/**
 	 * Maps width.
 	 * This variable contains the width of the map.
@@ -83,6 +89,20 @@ public class Map {
 		height = layer[layerID].getHeight();
 	}
 
+	/**
+	 * Set a layer on the map from the tiles stored row after row.
+	 *
+	 * @param layerID The number of the layer to initialize.
+	 * @param tiles The tiles of the layer.
+	 * @param width The number of column.
+	 * @param height The number of row.
+	 */
+	void setLayer(int layerID, short[] tiles, int width, int height){
+		layer[layerID] = new Layer(tiles, width, height);
+		this.width = width;
+		this.height = height;
+	}
+
 	/**
 	 * Set a exit interval for one side
 	 *
@@ -108,21 +128,125 @@ public class Map {
 		exit[side][exit[side].length-1][3] = end;
 	}
 
+	/**
+	 * Build the chunks and the collision masks of every layer, must be called once the layers are set.
+	 *
+	 * @param tileSet The tile set giving the texture coordinates and the type of the tiles.
+	 * @param tileSize The size of a tile in pixels.
+	 */
+	void prepare(Tile[] tileSet, int tileSize){
+		int chunkRows = (height + Chunk.SIZE - 1) / Chunk.SIZE;
+		int chunkCols = (width + Chunk.SIZE - 1) / Chunk.SIZE;
+		chunks = new Chunk[layer.length][][];
+
+		for(int i = 0; i < layer.length; i++){
+			if(layer[i] == null) continue;
+			layer[i].buildCollision(tileSet);
+			chunks[i] = new Chunk[chunkRows][chunkCols];
+
+			for(int row = 0; row < chunkRows; row++){
+				for(int col = 0; col < chunkCols; col++){
+					chunks[i][row][col] = Chunk.build(layer[i], row * Chunk.SIZE, col * Chunk.SIZE, tileSet, tileSize);
+				}
+			}
+		}
+	}
+
 	/*
 	 * Getters methods
 	 */
 
 	/**
-	 * Get the map's tile id.
+	 * Get the map id.
+	 *
+	 * @return Map id.
+	 */
+	int getID() {
+		return mapID;
+	}
+
+	/**
+	 * Get the number of spawn points.
+	 *
+	 * @return The number of spawn points.
+	 */
+	int getSpawnNumber() {
+		return spawn.length;
+	}
+
+	/**
+	 * Get the number of layers a map can have.
+	 *
+	 * @return The number of layers.
+	 */
+	int getLayerNumber() {
+		return layer.length;
+	}
+
+	/**
+	 * Return if a layer is set.
+	 *
+	 * @return True if the layer exists.
+	 */
+	boolean hasLayer(int currentLayer) {
+		return currentLayer >= 0 && currentLayer < layer.length && layer[currentLayer] != null;
+	}
+
+	/**
+	 * Get a layer of the map.
+	 *
+	 * @return The layer, or an empty layer if it doesn't exist.
+	 */
+	Layer getLayer(int currentLayer) {
+		if(hasLayer(currentLayer)) return layer[currentLayer];
+		return new Layer(new short[width * height], width, height);
+	}
+
+	/**
+	 * Get the chunks of a layer.
+	 *
+	 * @return The chunks by row and column, or null if the layer doesn't exist.
+	 */
+	Chunk[][] getChunks(int currentLayer) {
+		return (currentLayer < chunks.length) ? chunks[currentLayer] : null;
+	}
+
+	/**
+	 * Get the map width.
+	 *
+	 * @return The number of column.
+	 */
+	int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the map height.
+	 *
+	 * @return The number of row.
+	 */
+	int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get an estimation of the memory used by the map, its layers and its chunks.
 	 *
-	 * @return Map's tile id for the the current layer.
+	 * @return The estimated number of bytes.
 	 */
-	int[][] getMap(int currentLayer) {
-		try{
-			return layer[currentLayer].getMap();
-		} catch(Exception e){
-			return new int[height][width];
+	long getEstimatedBytes() {
+		long bytes = 0;
+		for(int i = 0; i < layer.length; i++){
+			if(layer[i] == null) continue;
+			bytes += layer[i].getBytes();
+			if(chunks == null || chunks[i] == null) continue;
+			for(Chunk[] row : chunks[i]){
+				for(Chunk chunk : row){
+					if(chunk != null) bytes += chunk.getBytes();
+				}
+			}
 		}
+		return bytes;
 	}
 
 	/**
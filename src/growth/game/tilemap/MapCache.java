@@ -0,0 +1,310 @@
+package growth.game.tilemap;
+
+import growth.main.Config;
+import growth.util.XmlReader;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Map cache class.
+ * This class loads the maps on demand by id and keeps the most recently used ones in memory,
+ * until the cache exceeds its number of maps or its estimated number of bytes.
+ * The cache is shared with the map prefetcher thread, the maps are loaded outside of the lock.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class MapCache {
+
+	/**
+	 * Default max maps.
+	 * This variable contains the default number of maps kept in memory.
+	 */
+	public static final int DEFAULT_MAX_MAPS = 8;
+
+	/**
+	 * Default max bytes.
+	 * This variable contains the default estimated number of bytes of the maps kept in memory.
+	 */
+	public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+	/**
+	 * Maps.
+	 * This variable contains the loaded maps by index, from the least to the most recently used.
+	 */
+	private final LinkedHashMap<Integer, Map> maps = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Unused prefetched maps.
+	 * This variable contains the index of the maps loaded by the prefetcher and not used yet.
+	 */
+	private final HashSet<Integer> unused = new HashSet<>();
+
+	/**
+	 * Failed maps.
+	 * This variable contains the index of the maps which can't be loaded.
+	 */
+	private final HashSet<Integer> failed = new HashSet<>();
+
+	/**
+	 * Tile set.
+	 * This variable contains the tile set used to build the chunks of the loaded maps.
+	 */
+	private final Tile[] tileSet;
+
+	/**
+	 * Tile size.
+	 * This variable contains the size of a tile in pixels.
+	 */
+	private final int tileSize;
+
+	/**
+	 * Limits.
+	 * These variables contain the maximal number of maps and the maximal estimated number of bytes kept in memory.
+	 */
+	private int maxMaps;
+	private long maxBytes;
+
+	/**
+	 * Bytes.
+	 * This variable contains the estimated number of bytes of the maps in memory.
+	 */
+	private long bytes;
+
+	/**
+	 * Statistics.
+	 * These variables count the maps found in memory, loaded from the file and removed to respect the limits.
+	 */
+	private int hits, misses, evictions;
+
+	/**
+	 * Prefetch statistics.
+	 * These variables count the prefetched maps used by the player and removed before being used.
+	 */
+	private int useful, wasted;
+
+	/**
+	 * Map cache class constructor.
+	 *
+	 * @param tileSet The tile set used to build the chunks.
+	 * @param tileSize The size of a tile in pixels.
+	 * @param maxMaps The maximal number of maps kept in memory.
+	 * @param maxBytes The maximal estimated number of bytes kept in memory.
+	 */
+	public MapCache(Tile[] tileSet, int tileSize, int maxMaps, long maxBytes) {
+		this.tileSet = tileSet;
+		this.tileSize = tileSize;
+		this.maxMaps = Math.max(1, maxMaps);
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Get a map, the map is loaded by the calling thread if it isn't in memory.
+	 *
+	 * @param index The index of the map, its id minus one.
+	 *
+	 * @return The map, or null if it can't be loaded.
+	 */
+	public Map get(int index) {
+		Map map = peek(index);
+		if (map != null) return map;
+
+		synchronized (this) {
+			misses++;
+		}
+		return insert(index, load(index), false);
+	}
+
+	/**
+	 * Get a map only if it is in memory.
+	 *
+	 * @param index The index of the map.
+	 *
+	 * @return The map, or null if it isn't loaded yet.
+	 */
+	public synchronized Map peek(int index) {
+		Map map = maps.get(index);
+		if (map != null) {
+			hits++;
+			if (unused.remove(index)) useful++;
+		}
+		return map;
+	}
+
+	/**
+	 * Load a map in the cache ahead of its use, called by the prefetcher.
+	 *
+	 * @param index The index of the map.
+	 *
+	 * @return True if the map has been loaded by this call.
+	 */
+	public boolean prefetch(int index) {
+		if (contains(index) || hasFailed(index)) return false;
+		return insert(index, load(index), true) != null;
+	}
+
+	/**
+	 * Return if a map is in memory, without changing its use order.
+	 *
+	 * @param index The index of the map.
+	 *
+	 * @return True if the map is loaded.
+	 */
+	public synchronized boolean contains(int index) {
+		return maps.containsKey(index);
+	}
+
+	/**
+	 * Return if a map can't be loaded.
+	 *
+	 * @param index The index of the map.
+	 *
+	 * @return True if the loading of the map failed.
+	 */
+	public synchronized boolean hasFailed(int index) {
+		return failed.contains(index);
+	}
+
+	/**
+	 * Add a loaded map in the cache.
+	 * If another thread loaded the same map in the meantime, its map is kept.
+	 *
+	 * @param index The index of the map.
+	 * @param map The loaded map, null if the loading failed.
+	 * @param prefetched If the map is loaded ahead of its use.
+	 *
+	 * @return The map in the cache.
+	 */
+	private synchronized Map insert(int index, Map map, boolean prefetched) {
+		if (map == null) {
+			failed.add(index);
+			return null;
+		}
+
+		Map existing = maps.get(index);
+		if (existing != null) return existing;
+
+		maps.put(index, map);
+		bytes += map.getEstimatedBytes();
+		if (prefetched) unused.add(index);
+		trim();
+		return map;
+	}
+
+	/**
+	 * Load a map, from the compiled map if it exists or from the xml's map, and build its chunks.
+	 *
+	 * @param index The index of the map.
+	 *
+	 * @return The map, or null if it can't be loaded.
+	 */
+	private Map load(int index) {
+		long start = System.nanoTime();
+		String name = "map" + (index + 1);
+
+		Map map = MapFile.read(Config.MAP_PATH + name + MapFile.EXTENSION);
+		if (map == null) map = XmlReader.createMap(name + ".xml");
+		if (map == null) {
+			System.err.println("[Error] MapCache::load() Can't load the map " + name);
+			return null;
+		}
+
+		map.prepare(tileSet, tileSize);
+		System.out.println("Map " + name + " loaded in " + (System.nanoTime() - start) / 1000000 + " ms");
+		return map;
+	}
+
+	/**
+	 * Remove the least recently used maps while the cache exceeds its limits, the most recent map is always kept.
+	 */
+	private void trim() {
+		Iterator<java.util.Map.Entry<Integer, Map>> iterator = maps.entrySet().iterator();
+		while (maps.size() > 1 && (maps.size() > maxMaps || bytes > maxBytes) && iterator.hasNext()) {
+			java.util.Map.Entry<Integer, Map> entry = iterator.next();
+			iterator.remove();
+			bytes -= entry.getValue().getEstimatedBytes();
+			evictions++;
+			if (unused.remove(entry.getKey())) wasted++;
+		}
+	}
+
+	/**
+	 * Set the limits of the cache.
+	 *
+	 * @param newMaxMaps The maximal number of maps kept in memory.
+	 * @param newMaxBytes The maximal estimated number of bytes kept in memory.
+	 */
+	public synchronized void setLimits(int newMaxMaps, long newMaxBytes) {
+		maxMaps = Math.max(1, newMaxMaps);
+		maxBytes = newMaxBytes;
+		trim();
+	}
+
+	/**
+	 * Remove every map, the maps which failed are tried again at their next loading.
+	 */
+	public synchronized void clear() {
+		maps.clear();
+		unused.clear();
+		failed.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * Get the number of maps found in memory.
+	 *
+	 * @return hits
+	 */
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of maps loaded from the file.
+	 *
+	 * @return misses
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Get the number of maps removed to respect the limits.
+	 *
+	 * @return evictions
+	 */
+	public synchronized int getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Get the number of prefetched maps used by the player.
+	 *
+	 * @return useful
+	 */
+	public synchronized int getUseful() {
+		return useful;
+	}
+
+	/**
+	 * Get the number of prefetched maps removed before being used.
+	 *
+	 * @return wasted
+	 */
+	public synchronized int getWasted() {
+		return wasted;
+	}
+
+	/**
+	 * Get the statistics of the cache.
+	 *
+	 * @return The statistics as text.
+	 */
+	public synchronized String getStats() {
+		return "Maps : " + maps.size() + " in memory (" + bytes / 1024 + " KiB)"
+				+ ", hits : " + hits + ", misses : " + misses + ", evictions : " + evictions
+				+ ", prefetched used : " + useful + ", wasted : " + wasted;
+	}
+}
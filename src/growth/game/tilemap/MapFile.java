@@ -0,0 +1,296 @@
+package growth.game.tilemap;
+
+import growth.main.Config;
+import growth.util.XmlReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Map file class.
+ * This class reads and writes the compiled maps, a binary form of the xml's maps much faster to load.
+ *
+ * The file begins with a header : magic number, version, flags, map id, width, height and size of the body.
+ * The body, compressed with deflate if the flag is set, contains the spawn points, the exits of each side
+ * and the layers as arrays of unsigned shorts by row.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class MapFile {
+
+	/**
+	 * Magic number.
+	 * This variable contains the first four bytes of a map file, "GMAP".
+	 */
+	private static final int MAGIC = 0x474D4150;
+
+	/**
+	 * Version.
+	 * This variable contains the version of the format.
+	 */
+	private static final short VERSION = 1;
+
+	/**
+	 * Compressed flag.
+	 * This variable contains the flag set when the body is compressed.
+	 */
+	private static final short COMPRESSED = 1;
+
+	/**
+	 * Extension.
+	 * This variable contains the extension of the map files.
+	 */
+	public static final String EXTENSION = ".map";
+
+	/**
+	 * Read a compiled map from the resources.
+	 * A map stored as a file is memory-mapped, a map stored in a jar is read in memory.
+	 *
+	 * @param path Path to the map file.
+	 *
+	 * @return The map, or null if the file doesn't exist or is invalid.
+	 */
+	public static Map read(String path) {
+		URL url = MapFile.class.getResource(path);
+		if (url == null) return null;
+
+		try {
+			ByteBuffer data;
+			if ("file".equals(url.getProtocol())) {
+				try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+					data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				}
+			} else {
+				try (InputStream stream = url.openStream()) {
+					data = ByteBuffer.wrap(readAll(stream));
+				}
+			}
+			return decode(data);
+		} catch (Exception e) {
+			System.err.println("[Error] MapFile::read() Invalid map file " + path + " : " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Decode a map from its binary form.
+	 *
+	 * @param data The content of the map file.
+	 *
+	 * @return The map.
+	 */
+	private static Map decode(ByteBuffer data) throws IOException, DataFormatException {
+		if (data.getInt() != MAGIC) throw new IOException("Not a map file");
+		if (data.getShort() != VERSION) throw new IOException("Unsupported version");
+
+		short flags = data.getShort();
+		int id = data.getInt();
+		int width = data.getInt();
+		int height = data.getInt();
+		int bodySize = data.getInt();
+
+		ByteBuffer body = ((flags & COMPRESSED) != 0) ? inflate(data, bodySize) : data;
+
+		// Spawn points
+		Map map = new Map(id, body.getShort());
+		for (int i = 0; i < map.getSpawnNumber(); i++) {
+			float x = body.getFloat();
+			float y = body.getFloat();
+			map.setSpawnTile(i, x, y);
+		}
+
+		// Exits of each side
+		for (int side = 0; side < 4; side++) {
+			int number = body.getShort();
+			for (int i = 0; i < number; i++) {
+				int mapID = body.getInt();
+				int pointName = body.getShort();
+				float beg = body.getFloat();
+				float end = body.getFloat();
+				map.setExit(side, pointName, mapID, beg, end);
+			}
+		}
+
+		// Layers
+		int layers = body.get();
+		for (int i = 0; i < layers; i++) {
+			int position = body.get();
+			short[] tiles = new short[width * height];
+			body.asShortBuffer().get(tiles);
+			body.position(body.position() + tiles.length * Short.BYTES);
+			map.setLayer(position, tiles, width, height);
+		}
+		return map;
+	}
+
+	/**
+	 * Decompress the body of a map file.
+	 *
+	 * @param data The file positioned at the beginning of the body.
+	 * @param bodySize The size of the decompressed body.
+	 *
+	 * @return The decompressed body.
+	 */
+	private static ByteBuffer inflate(ByteBuffer data, int bodySize) throws DataFormatException {
+		byte[] compressed = new byte[data.remaining()];
+		data.get(compressed);
+
+		byte[] body = new byte[bodySize];
+		Inflater inflater = new Inflater();
+		inflater.setInput(compressed);
+		int size = 0;
+		while (size < bodySize && !inflater.finished()) {
+			int read = inflater.inflate(body, size, bodySize - size);
+			if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+			size += read;
+		}
+		inflater.end();
+
+		if (size != bodySize) throw new DataFormatException("Truncated body");
+		return ByteBuffer.wrap(body);
+	}
+
+	/**
+	 * Write a map in its binary form.
+	 *
+	 * @param map The map to write.
+	 * @param file The map file.
+	 * @param compress If the body is compressed.
+	 */
+	public static void write(Map map, File file, boolean compress) throws IOException {
+		// Body
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+		DataOutputStream body = new DataOutputStream(bodyBytes);
+
+		body.writeShort(map.getSpawnNumber());
+		for (int i = 0; i < map.getSpawnNumber(); i++) {
+			body.writeFloat(map.getTileToComeX(i));
+			body.writeFloat(map.getTileToComeY(i));
+		}
+
+		for (int side = 0; side < 4; side++) {
+			// The first exit of each side is empty
+			float[][] exits = map.getExitPoints(side);
+			body.writeShort(exits.length - 1);
+			for (int i = 1; i < exits.length; i++) {
+				body.writeInt((int) exits[i][0]);
+				body.writeShort((int) exits[i][1]);
+				body.writeFloat(exits[i][2]);
+				body.writeFloat(exits[i][3]);
+			}
+		}
+
+		int layers = 0;
+		for (int i = 0; i < map.getLayerNumber(); i++) {
+			if (map.hasLayer(i)) layers++;
+		}
+		body.writeByte(layers);
+		for (int i = 0; i < map.getLayerNumber(); i++) {
+			if (!map.hasLayer(i)) continue;
+			body.writeByte(i);
+			for (short tile : map.getLayer(i).getTiles()) {
+				body.writeShort(tile);
+			}
+		}
+		body.flush();
+
+		// Header
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeShort(compress ? COMPRESSED : 0);
+			out.writeInt(map.getID());
+			out.writeInt(map.getWidth());
+			out.writeInt(map.getHeight());
+			out.writeInt(bodyBytes.size());
+
+			if (compress) {
+				Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+				DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater);
+				bodyBytes.writeTo(stream);
+				stream.finish();
+				deflater.end();
+			} else {
+				bodyBytes.writeTo(out);
+			}
+		}
+	}
+
+	/**
+	 * Read a whole stream.
+	 */
+	private static byte[] readAll(InputStream stream) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] chunk = new byte[8192];
+		int read;
+		while ((read = stream.read(chunk)) != -1) {
+			bytes.write(chunk, 0, read);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Compile the xml's maps of the resources in map files, written next to them.
+	 * A map only saved by the Tiled editor is compiled from its layers, without spawn point nor exit.
+	 * The resources must be in the class path.
+	 *
+	 * @param args The resources folder, "resources" by default, and "-raw" to write the body without compression.
+	 */
+	public static void main(String[] args) throws IOException {
+		String resources = "resources";
+		boolean compress = true;
+		for (String arg : args) {
+			if (arg.equals("-raw")) compress = false;
+			else resources = arg;
+		}
+
+		File mapFolder = new File(resources + Config.MAP_PATH);
+		File tiledFolder = new File(mapFolder, "tiled");
+
+		TreeSet<String> names = new TreeSet<>();
+		for (File folder : new File[]{mapFolder, tiledFolder}) {
+			String[] files = folder.list((dir, name) -> name.matches("map\\d+\\.xml"));
+			if (files != null) names.addAll(Arrays.asList(files));
+		}
+
+		for (String name : names) {
+			long start = System.nanoTime();
+			Map map;
+			if (new File(mapFolder, name).isFile()) {
+				map = XmlReader.createMap(name);
+			} else {
+				map = new Map(Integer.parseInt(name.replaceAll("\\D", "")), 0);
+				int[][][] tiled = XmlReader.loadTiledLayers(Config.MAP_PATH + "tiled/" + name);
+				for (int i = 0; tiled != null && i < tiled.length && i < map.getLayerNumber(); i++) {
+					map.setLayer(i, tiled[i]);
+				}
+			}
+
+			if (map == null || map.getWidth() == 0) {
+				System.err.println("[Error] MapFile : can't read " + name);
+				continue;
+			}
+
+			File file = new File(mapFolder, name.replace(".xml", EXTENSION));
+			write(map, file, compress);
+			System.out.println(name + " -> " + file.getName() + " : " + file.length() + " bytes in "
+					+ (System.nanoTime() - start) / 1000000 + " ms");
+		}
+	}
+}
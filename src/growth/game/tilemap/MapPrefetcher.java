@@ -0,0 +1,292 @@
+package growth.game.tilemap;
+
+import growth.util.Profiler;
+import growth.util.RemoteProfiler;
+
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * Map prefetcher class.
+ * This class loads on a background thread the maps reachable through the exits of the current map,
+ * before the player goes there. The nearest exits are loaded first.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class MapPrefetcher implements Runnable {
+
+	/**
+	 * Prefetch distance.
+	 * This variable contains the distance in tiles between the player and an exit to load the map behind it.
+	 */
+	public static final float DISTANCE = 10f;
+
+	/**
+	 * Update delay.
+	 * This variable contains the number of ticks between two checks of the exits.
+	 */
+	public static final int UPDATE_TICKS = 15;
+
+	/**
+	 * Urgent priority.
+	 * This variable contains the priority of a map needed by a transition, before every prefetch.
+	 */
+	public static final float URGENT = -1f;
+
+	/**
+	 * Map cache.
+	 * This variable contains the cache receiving the loaded maps.
+	 */
+	private final MapCache cache;
+
+	/**
+	 * Requests.
+	 * This variable contains the request of each map by index, reused for each load.
+	 */
+	private final Request[] requests;
+
+	/**
+	 * Queue.
+	 * This variable contains the requests waiting for the thread, from the nearest to the farthest.
+	 */
+	private final PriorityBlockingQueue<Request> queue;
+
+	/**
+	 * Thread.
+	 * This variable contains the thread loading the maps.
+	 */
+	private final Thread thread;
+
+	/**
+	 * Running state.
+	 * This variable is false when the prefetcher is stopped.
+	 */
+	private volatile boolean running;
+
+	/**
+	 * Tick counter.
+	 * This variable counts the ticks since the last check of the exits.
+	 */
+	private int tick;
+
+	/**
+	 * Statistics.
+	 * These variables count the maps loaded by the thread and the transitions which waited for their map.
+	 */
+	private int loads, stalls;
+
+	/**
+	 * Latency.
+	 * These variables contain the total and the maximal time in nanoseconds between a request and the loaded map.
+	 */
+	private long totalLatency, maxLatency;
+
+	/**
+	 * Map prefetcher class constructor.
+	 * Instance the class and start the thread.
+	 *
+	 * @param cache The cache receiving the loaded maps.
+	 * @param mapNumber The number of maps of the game.
+	 */
+	public MapPrefetcher(MapCache cache, int mapNumber) {
+		this.cache = cache;
+		requests = new Request[mapNumber];
+		for (int i = 0; i < mapNumber; i++) {
+			requests[i] = new Request(i);
+		}
+		queue = new PriorityBlockingQueue<>(Math.max(1, mapNumber));
+
+		running = true;
+		thread = new Thread(this, "Map prefetcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Request the maps behind the exits near the player.
+	 *
+	 * @param map The current map.
+	 * @param mapIndex The index of the current map.
+	 * @param x The player position x in tiles.
+	 * @param y The player position y in tiles.
+	 */
+	public void update(Map map, int mapIndex, float x, float y) {
+		if (++tick < UPDATE_TICKS) return;
+		tick = 0;
+
+		for (int side = 0; side < 4; side++) {
+			float[][] exits = map.getExitPoints(side);
+
+			// The first exit of each side is empty
+			for (int i = 1; i < exits.length; i++) {
+				int index = (int) exits[i][0] - 1;
+				if (index == mapIndex || index < 0 || index >= requests.length) continue;
+
+				float distance = distance(side, exits[i][2], exits[i][3], x, y, map.getWidth(), map.getHeight());
+				if (distance <= DISTANCE) request(index, distance);
+			}
+		}
+	}
+
+	/**
+	 * Get the distance between the player and an exit interval.
+	 *
+	 * @param side The side of the exit : 0 left, 1 top, 2 right, 3 bottom.
+	 * @param beg The first tile of the interval.
+	 * @param end The last tile of the interval.
+	 * @param x The player position x in tiles.
+	 * @param y The player position y in tiles.
+	 * @param width The width of the map in tiles.
+	 * @param height The height of the map in tiles.
+	 *
+	 * @return The distance in tiles.
+	 */
+	private static float distance(int side, float beg, float end, float x, float y, int width, int height) {
+		float dx, dy;
+		if (side == 0 || side == 2) {
+			dx = (side == 0) ? x : width - x;
+			dy = (y < beg) ? beg - y : (y > end) ? y - end : 0;
+		} else {
+			dy = (side == 1) ? y : height - y;
+			dx = (x < beg) ? beg - x : (x > end) ? x - end : 0;
+		}
+		return (float) Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/**
+	 * Request a map, a request already waiting only moves if the new priority is better.
+	 *
+	 * @param index The index of the map.
+	 * @param priority The priority, the distance to the exit or URGENT.
+	 */
+	public synchronized void request(int index, float priority) {
+		if (index < 0 || index >= requests.length || cache.contains(index) || cache.hasFailed(index)) return;
+		Request request = requests[index];
+
+		if (request.pending) {
+			if (priority < request.priority && queue.remove(request)) {
+				request.priority = priority;
+				queue.offer(request);
+			}
+			return;
+		}
+
+		request.pending = true;
+		request.priority = priority;
+		request.time = System.nanoTime();
+		queue.offer(request);
+	}
+
+	/**
+	 * Request a map before every prefetch and wait until the thread has loaded it, or failed to.
+	 * The map is loaded by the thread like any other, nothing is allocated by the waiting thread.
+	 *
+	 * @param index The index of the map.
+	 */
+	public synchronized void await(int index) {
+		request(index, URGENT);
+		while (running && requests[index].pending) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Count a transition waiting for its map.
+	 */
+	public synchronized void stall() {
+		stalls++;
+	}
+
+	/**
+	 * Load the requested maps until the prefetcher is stopped.
+	 */
+	public void run() {
+		RemoteProfiler.setThreadName("Map prefetcher");
+		while (running) {
+			Request request;
+			try {
+				request = queue.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			long start = Profiler.begin(Profiler.MAP_LOAD);
+			boolean loaded = cache.prefetch(request.index);
+			Profiler.end(Profiler.MAP_LOAD, start);
+
+			synchronized (this) {
+				request.pending = false;
+				notifyAll();
+				if (loaded) {
+					long latency = System.nanoTime() - request.time;
+					loads++;
+					totalLatency += latency;
+					maxLatency = Math.max(maxLatency, latency);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stop the thread and wait for the end of the current load.
+	 */
+	public void stop() {
+		running = false;
+		thread.interrupt();
+		try {
+			thread.join(1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Get the statistics of the prefetcher.
+	 *
+	 * @return The statistics as text.
+	 */
+	public synchronized String getStats() {
+		return "Prefetch : " + loads + " maps loaded, latency : " + ((loads == 0) ? 0 : totalLatency / loads / 1000) + " us average, "
+				+ maxLatency / 1000 + " us max, wasted : " + cache.getWasted() + ", transitions waiting : " + stalls;
+	}
+
+	/**
+	 * Request class.
+	 * This class stores the state of the request of a map.
+	 */
+	private static class Request implements Comparable<Request> {
+
+		/**
+		 * The index of the map.
+		 */
+		private final int index;
+
+		/**
+		 * The priority, the lowest is loaded first.
+		 */
+		private float priority;
+
+		/**
+		 * The time of the request in nanoseconds.
+		 */
+		private long time;
+
+		/**
+		 * If the request is waiting or loading.
+		 */
+		private boolean pending;
+
+		private Request(int index) {
+			this.index = index;
+		}
+
+		public int compareTo(Request other) {
+			return Float.compare(priority, other.priority);
+		}
+	}
+}
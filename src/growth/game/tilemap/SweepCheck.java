@@ -0,0 +1,342 @@
+package growth.game.tilemap;
+
+import growth.main.Config;
+import growth.main.Window;
+import growth.render.NullRenderBackend;
+import growth.render.Render;
+import growth.screen.GameManager;
+import growth.screen.screens.GameScreen;
+
+import java.util.Random;
+
+/**
+ * Sweep check class.
+ * This class compares the moves of the tile sweep with a reference moving the box by very small steps,
+ * on every map of the game. At each step the reference moves the box on y then on x, and stops an axis
+ * when the box would overlap a blocked tile : a box entering a tile by its corner is stopped on x, like the sweep.
+ *
+ * Random moves are checked for several boxes, the player box included, with speeds below, at and above
+ * the tile size, from free positions and from positions touching a tile. Exact corner hits are checked on
+ * every free corner of the blocked tiles. A random move may only differ when the box passes within the
+ * tolerance of the sweep from a tile : the same move started a few epsilons away must then match.
+ *
+ * Arguments : "-moves number" (2000 by default, the random moves by box and by map).
+ * The resources must be in the class path. The run exits with the code 1 on any mismatch.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class SweepCheck {
+
+	/**
+	 * Step.
+	 * This variable contains the longest step of the reference in pixels, a power of two so the steps are exact.
+	 */
+	private static final double STEP = 1.0 / 64;
+
+	/**
+	 * Tolerance.
+	 * This variable contains the distance in pixels between the positions of the sweep and of the reference
+	 * accepted, a step on each axis and the rounding of the floats.
+	 */
+	private static final double TOLERANCE = 4 * STEP;
+
+	/**
+	 * Mismatches printed.
+	 * This variable contains the number of mismatches described before only counting them.
+	 */
+	private static final int PRINTED = 10;
+
+	/**
+	 * Tile map.
+	 * This variable contains the tile map of the checked map.
+	 */
+	private static TileMap tileMap;
+
+	/**
+	 * Tile size.
+	 * This variable contains the size of a tile in pixels.
+	 */
+	private static int size;
+
+	/**
+	 * Reference result.
+	 * These variables contain the position, the speed and the falling state after the last move of the reference.
+	 */
+	private static double refX, refY;
+	private static float refSpeedX, refSpeedY;
+	private static boolean refFalling;
+
+	/**
+	 * Counters.
+	 * These variables count the moves checked, the moves only matching a few epsilons away and the mismatches.
+	 */
+	private static int checked, near, mismatches;
+
+	/**
+	 * Compare the sweep and the reference on every map.
+	 */
+	public static void main(String[] args) {
+		int moves = 2000;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-moves") && i + 1 < args.length) moves = Integer.parseInt(args[++i]);
+		}
+
+		Render.setBackend(new NullRenderBackend());
+		Window.config = new Config();
+		Window.width = Config.getWindowWidth();
+		Window.height = Config.getWindowHeight();
+		Window.gameManager = new GameManager(Config.getInputs());
+		Window.gameManager.setScreen(GameManager.GAMESCREEN);
+		tileMap = GameScreen.tileMap;
+		size = GameScreen.tileSize;
+
+		// The player box, a box of odd width, and boxes smaller and bigger than a tile
+		int[][] boxes = {{(int) (size * 0.65), size}, {size / 2 + 1, size / 2}, {size / 4, size / 4}, {size * 3 / 2, size * 3 / 4}};
+		TileSweep sweep = new TileSweep(tileMap);
+		Random random = new Random(11);
+
+		for (int map = 0; map < tileMap.getMapNumber(); map++) {
+			if (!load(map)) {
+				System.err.println("[Error] SweepCheck::main() The map " + map + " can't be loaded");
+				mismatches++;
+				continue;
+			}
+			int before = checked;
+			for (int[] box : boxes) {
+				for (int i = 0; i < moves; i++) {
+					checkRandom(sweep, random, box[0], box[1]);
+				}
+				checkCorners(sweep, box[0], box[1]);
+			}
+			System.out.println("Map " + map + " : " + tileMap.getNumCols() + "x" + tileMap.getNumRows() + ", "
+					+ (checked - before) + " moves checked");
+		}
+
+		System.out.println("Sweep check : " + checked + " moves, " + near + " matching a few epsilons away, "
+				+ mismatches + " mismatches");
+		Window.gameManager.unload();
+		System.exit(mismatches == 0 ? 0 : 1);
+	}
+
+	/**
+	 * Make a map the current map of the tile map.
+	 *
+	 * @param map The index of the map.
+	 *
+	 * @return True if the map is the current map.
+	 */
+	private static boolean load(int map) {
+		if (tileMap.getCurrentMap() == map) return true;
+		tileMap.changeMap(map, 0);
+		try {
+			while (!tileMap.doTransition()) {
+				Thread.sleep(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		return tileMap.getCurrentMap() == map;
+	}
+
+	/**
+	 * Check a random move of a box from a free position, the position touching a tile one time out of four.
+	 *
+	 * @param sweep The sweep.
+	 * @param random The random generator.
+	 * @param cX The width of the box.
+	 * @param cY The height of the box.
+	 */
+	private static void checkRandom(TileSweep sweep, Random random, int cX, int cY) {
+		float x, y;
+		do {
+			x = cX / 2 + random.nextFloat() * (tileMap.getSizeX() - cX);
+			y = cY / 2 + random.nextFloat() * (tileMap.getSizeY() - cY);
+			if (random.nextInt(4) == 0) {
+				// Against a tile side
+				if (random.nextBoolean()) x = Math.round(x / size) * size + ((random.nextBoolean()) ? cX / 2 : -(cX / 2));
+				else y = Math.round(y / size) * size + ((random.nextBoolean()) ? cY / 2 : -(cY / 2));
+			}
+		} while (x - cX / 2 < 0 || y - cY / 2 < 0 || overlaps(x - cX / 2, y - cY / 2, x + cX / 2, y + cY / 2));
+
+		// Below, at and above the tile size, along an axis one time out of four
+		float[] speeds = {random.nextFloat() * size, size, size + random.nextFloat() * size * 2, size * 3};
+		float speed = speeds[random.nextInt(speeds.length)];
+		double angle = (random.nextInt(4) == 0) ? random.nextInt(4) * Math.PI / 2 : random.nextDouble() * Math.PI * 2;
+		float speedX = (float) (Math.cos(angle) * speed);
+		float speedY = (float) (Math.sin(angle) * speed);
+		if (Math.abs(speedX) < 1e-3f) speedX = 0;
+		if (Math.abs(speedY) < 1e-3f) speedY = 0;
+		boolean falling = random.nextBoolean();
+
+		reference(x, y, cX, cY, speedX, speedY, falling);
+		sweep.move(x, y, cX, cY, speedX, speedY, falling);
+		checked++;
+		if (matches(sweep)) return;
+
+		// Within the tolerance of the sweep from a tile, the box may be stopped or not
+		float shift = TileSweep.EPSILON * 2;
+		for (int i = 0; i < 8; i++) {
+			float shiftX = (i < 3) ? -shift : (i < 5) ? 0 : shift;
+			float shiftY = (i == 3 || i == 5) ? -shift : (i == 4 || i == 6) ? shift : (i % 2 == 0) ? -shift : shift;
+			sweep.move(x + shiftX, y + shiftY, cX, cY, speedX, speedY, falling);
+			if (matches(sweep)) {
+				near++;
+				return;
+			}
+		}
+		sweep.move(x, y, cX, cY, speedX, speedY, falling);
+		mismatch("Random", x, y, cX, cY, speedX, speedY, falling, sweep);
+	}
+
+	/**
+	 * Check the moves of a box hitting exactly the free corners of the blocked tiles, with several speeds.
+	 * The box reaches the corner in the middle of the move, the same corner is given to the sweep and to the reference.
+	 *
+	 * @param sweep The sweep.
+	 * @param cX The width of the box.
+	 * @param cY The height of the box.
+	 */
+	private static void checkCorners(TileSweep sweep, int cX, int cY) {
+		float[][] speeds = {{size, size}, {size * 2, size}, {size / 2, size * 3 / 2}, {size * 3, size / 4}, {size / 8, size / 8}};
+		for (int row = 0; row < tileMap.getNumRows(); row++) {
+			for (int col = 0; col < tileMap.getNumCols(); col++) {
+				if (!tileMap.isBlocked(row, col)) continue;
+
+				for (int corner = 0; corner < 4; corner++) {
+					int stepX = (corner % 2 == 0) ? 1 : -1;
+					int stepY = (corner < 2) ? 1 : -1;
+					// The box comes from the free side of the corner
+					if (blocked(row, col - stepX) || blocked(row - stepY, col) || blocked(row - stepY, col - stepX)) continue;
+
+					float cornerX = (stepX > 0) ? col * size : (col + 1) * size;
+					float cornerY = (stepY > 0) ? row * size : (row + 1) * size;
+					for (float[] speed : speeds) {
+						float speedX = stepX * speed[0];
+						float speedY = stepY * speed[1];
+						float x = cornerX - stepX * (cX / 2) - speedX / 2;
+						float y = cornerY - stepY * (cY / 2) - speedY / 2;
+						if (x - cX / 2 < 0 || y - cY / 2 < 0 || overlaps(x - cX / 2, y - cY / 2, x + cX / 2, y + cY / 2)) continue;
+
+						reference(x, y, cX, cY, speedX, speedY, true);
+						sweep.move(x, y, cX, cY, speedX, speedY, true);
+						checked++;
+						if (!matches(sweep)) mismatch("Corner", x, y, cX, cY, speedX, speedY, true, sweep);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Move a box by small steps, it slides along the first tile touched and stops at the second.
+	 * The left and top bounds, the damping against a wall and the ground test are the ones of the sweep :
+	 * the ground is a blocked tile in the next row, the row overlapped after the left or the top bound doesn't count.
+	 */
+	private static void reference(float posX, float posY, int cX, int cY, float speedX, float speedY, boolean falling) {
+		int halfX = cX / 2, halfY = cY / 2;
+		double x = posX, y = posY;
+		refSpeedX = speedX;
+		refSpeedY = speedY;
+		refFalling = falling;
+
+		// A power of two of steps, the steps and the positions are exact
+		int steps = 1;
+		while (Math.max(Math.abs(speedX), Math.abs(speedY)) / steps > STEP) steps *= 2;
+		double stepX = (double) speedX / steps, stepY = (double) speedY / steps;
+		boolean moveX = speedX != 0, moveY = speedY != 0;
+		int hits = 0;
+
+		for (int i = 0; i < steps && hits < 2 && (moveX || moveY); i++) {
+			if (moveY) {
+				double newY = y + stepY;
+				if (overlaps(x - halfX, newY - halfY, x + halfX, newY + halfY)) {
+					// Against the side of the row entered
+					y = (stepY > 0) ? Math.floor((newY + halfY) / size) * size - halfY : Math.floor((newY - halfY) / size + 1) * size + halfY;
+					refSpeedY = 0;
+					if (stepY > 0) refFalling = false;
+					moveY = false;
+					hits++;
+				} else {
+					y = newY;
+				}
+			}
+			if (moveX && hits < 2) {
+				double newX = x + stepX;
+				if (overlaps(newX - halfX, y - halfY, newX + halfX, y + halfY)) {
+					x = (stepX > 0) ? Math.floor((newX + halfX) / size) * size - halfX : Math.floor((newX - halfX) / size + 1) * size + halfX;
+					refSpeedX = 0;
+					refSpeedY *= 0.96;
+					moveX = false;
+					hits++;
+				} else {
+					x = newX;
+				}
+			}
+		}
+
+		if (x - halfX < 0) {
+			x = halfX;
+			refSpeedX = 0;
+		}
+		if (y - halfY < 0) {
+			y = halfY;
+			refSpeedY = 0;
+		}
+
+		// A tile in the next row, at most one pixel under the box
+		if (!refFalling) {
+			int row = (int) Math.ceil((y + halfY) / size);
+			if (row * size > y + halfY + 1 || !overlaps(x - halfX, row * size, x + halfX, row * size + 1)) refFalling = true;
+		}
+		refX = x;
+		refY = y;
+	}
+
+	/**
+	 * Return if the last move of the sweep matches the last move of the reference.
+	 *
+	 * @param sweep The sweep.
+	 *
+	 * @return True if the positions are within the tolerance and the speeds and the falling states are the same.
+	 */
+	private static boolean matches(TileSweep sweep) {
+		return Math.abs(sweep.getX() - refX) <= TOLERANCE && Math.abs(sweep.getY() - refY) <= TOLERANCE
+				&& sweep.getSpeedX() == refSpeedX && sweep.getSpeedY() == refSpeedY && sweep.getFalling() == refFalling;
+	}
+
+	/**
+	 * Count a mismatch and describe the first ones.
+	 */
+	private static void mismatch(String kind, float x, float y, int cX, int cY, float speedX, float speedY, boolean falling, TileSweep sweep) {
+		if (++mismatches > PRINTED) return;
+		System.err.println("[Error] SweepCheck::mismatch() " + kind + " move on the map " + tileMap.getCurrentMap()
+				+ " : box " + cX + "x" + cY + " at " + x + ", " + y + ", speed " + speedX + ", " + speedY + ", falling " + falling
+				+ "\n    sweep     : " + sweep.getX() + ", " + sweep.getY() + ", speed " + sweep.getSpeedX() + ", "
+				+ sweep.getSpeedY() + ", falling " + sweep.getFalling()
+				+ "\n    reference : " + refX + ", " + refY + ", speed " + refSpeedX + ", " + refSpeedY + ", falling " + refFalling);
+	}
+
+	/**
+	 * Return if a box overlaps a blocked tile, a box only touching a tile doesn't overlap it.
+	 */
+	private static boolean overlaps(double left, double top, double right, double bottom) {
+		int lastRow = (int) Math.ceil(bottom / size) - 1;
+		int lastCol = (int) Math.ceil(right / size) - 1;
+		for (int row = (int) Math.floor(top / size); row <= lastRow; row++) {
+			for (int col = (int) Math.floor(left / size); col <= lastCol; col++) {
+				if (blocked(row, col)) return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return if a tile stops a box, the tiles out of the map on the right and on the bottom included like the sweep.
+	 */
+	private static boolean blocked(int row, int col) {
+		if (row >= tileMap.getNumRows() || col >= tileMap.getNumCols()) return true;
+		return row >= 0 && col >= 0 && tileMap.isBlocked(row, col);
+	}
+}
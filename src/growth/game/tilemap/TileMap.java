@@ -1,16 +1,17 @@
 package growth.game.tilemap;
 
+import growth.game.RenderSnapshot;
 import growth.game.entity.type.Player;
 import growth.main.Config;
+import growth.main.Growth;
 import growth.main.Window;
+import growth.render.Render;
 import growth.render.texture.Texture;
-import growth.render.texture.TextureRenderer;
+import growth.render.texture.TextureRegistry;
 import growth.screen.GameManager;
 import growth.screen.screens.GameScreen;
+import growth.util.Profiler;
 import growth.util.XmlReader;
-import growth.util.math.Vec2;
-
-import java.util.ArrayList;
 
 /**
  * TileMap class.
@@ -29,16 +30,28 @@ public class TileMap {
 	private int currentMap;
 
 	/**
-	 * Map.
-	 * This variable contains the current map.
+	 * Layer.
+	 * This variable contains the current layer of the current map, used for the collisions.
+	 */
+	private Layer layer;
+
+	/**
+	 * Map cache.
+	 * This variable contains the maps loaded on demand.
 	 */
-	private int[][] map;
+	private final MapCache maps;
 
 	/**
-	 * Array list of map.
-	 * This variable contains the every maps.
+	 * Current map.
+	 * This variable contains the map where the player is.
 	 */
-	private final ArrayList<Map> maps = new ArrayList<>();
+	private Map current;
+
+	/**
+	 * Map prefetcher.
+	 * This variable contains the thread loading the maps behind the exits near the player.
+	 */
+	private final MapPrefetcher prefetcher;
 
 	/**
 	 * Number of row.
@@ -72,30 +85,6 @@ public class TileMap {
 
 	private final Texture tileSetT;
 
-	/**
-	 * Row off set.
-	 * This variable contains the number of row where the player is.
-	 */
-	private int rowOffset;
-
-	/**
-	 * Column off set.
-	 * This variable contains the number of column where the player is.
-	 */
-	private int colOffset;
-
-	/**
-	 * Number rows to draw.
-	 * This variable contains the number of row to draw.
-	 */
-	private final int numRowsToDraw;
-
-	/**
-	 * Number columns to draw.
-	 * This variable contains the number of column to draw.
-	 */
-	private final int numColsToDraw;
-
 	/**
 	 * Current layer.
 	 * This variable contains the layer where the player is.
@@ -115,6 +104,18 @@ public class TileMap {
 
 	private int newMapId;
 
+	/**
+	 * New point.
+	 * This variable contains the spawn point of the player in the map of the transition.
+	 */
+	private int newPoint;
+
+	/**
+	 * Waiting state.
+	 * This variable is true while the transition waits for its map.
+	 */
+	private boolean waiting;
+
 	/**
 	 * Tilemap class constructor.
 	 * Instance the class and set the tile's textures of tile set with the path.
@@ -125,25 +126,24 @@ public class TileMap {
 		// Init variables;
 
 		// Init tileSet
-		tileSetT = new Texture("/textures/game/tiles/Tileset.png");
+		tileSetT = TextureRegistry.acquire("/textures/game/tiles/Tileset.png");
 		tileSet = XmlReader.createTileSet(path);
 
-		// Init map
+		// Init map, the other maps are loaded when the player goes there
 		nbMap = Integer.parseInt(XmlReader.getValueInJar(Config.MAP_OPTION_PATH,"number", "number"))+1;
+		maps = new MapCache(tileSet, GameScreen.tileSize, MapCache.DEFAULT_MAX_MAPS, MapCache.DEFAULT_MAX_BYTES);
+
+		prefetcher = new MapPrefetcher(maps, nbMap - 1);
 
-		for(int i = 1; i < nbMap; i++){
-			maps.add(XmlReader.createMap("map"+i+".xml"));
-		}
 		currentMap = 0;
+		current = maps.get(currentMap);
 
 		currentLayer = 1;
 		chargeMap();
 
 		// Init current map variables
-		numCols = map[0].length;
-		numRows = map.length;
-		numRowsToDraw = Window.height / GameScreen.tileSize + 2;
-		numColsToDraw = Window.width / GameScreen.tileSize + 2;
+		numCols = layer.getWidth();
+		numRows = layer.getHeight();
 		sizeX = numCols * GameScreen.tileSize;
 		sizeY = numRows * GameScreen.tileSize;
 
@@ -161,41 +161,61 @@ public class TileMap {
 	}
 
 	/**
-	 * Display the current map.
+	 * Update the map, request the maps near the player to the prefetcher.
 	 */
-	public void display(boolean pos) {
-		tileSetT.bind();
-
-		colOffset = -GameManager.CAMERA.getPosX() / GameScreen.tileSize;
-		rowOffset = -GameManager.CAMERA.getPosY() / GameScreen.tileSize;
+	public void update() {
+		prefetcher.update(current, currentMap,
+				player.getPosX() / (float) GameScreen.tileSize, player.getPosY() / (float) GameScreen.tileSize);
+	}
 
-		int begin = (pos)? 0: currentLayer+1;
-		int end = (pos)? currentLayer+1 : 4;
+	/**
+	 * Copy the current map and the layer of the player in a render snapshot.
+	 *
+	 * @param snapshot The snapshot.
+	 */
+	public void snapshot(RenderSnapshot snapshot) {
+		snapshot.setMap(current, currentLayer);
+	}
 
-		int maxRow = (rowOffset + numRowsToDraw > numRows)? numRows : rowOffset + numRowsToDraw;
-		int maxCol = (colOffset + numColsToDraw > numCols)? numCols : colOffset + numColsToDraw;
+	/**
+	 * Display the map of a render snapshot.
+	 *
+	 * @param pos Display the layers behind the player (true) or in front of the player (false).
+	 * @param snapshot The snapshot of the tick drawn.
+	 */
+	public void display(boolean pos, RenderSnapshot snapshot) {
+		long start = Profiler.begin(Profiler.TILEMAP);
+		int chunkSize = Chunk.SIZE * GameScreen.tileSize;
+
+		// Chunks intersecting the camera rectangle drawn, the one of the snapshot at the interpolation of the frame
+		float alpha = Render.getInterpolation();
+		int cameraX = Math.round(snapshot.getCameraX(alpha));
+		int cameraY = Math.round(snapshot.getCameraY(alpha));
+		int firstCol = Math.max(0, -cameraX / chunkSize);
+		int firstRow = Math.max(0, -cameraY / chunkSize);
+		int lastCol = (-cameraX + Window.width - 1) / chunkSize;
+		int lastRow = (-cameraY + Window.height - 1) / chunkSize;
+
+		int layer = snapshot.getLayer();
+		int begin = (pos)? 0: layer+1;
+		int end = (pos)? layer+1 : 4;
 
 		// For each layer
 		for(int i  =  begin; i < end ; i++){
 
-			int[][] map = maps.get(currentMap).getMap(i);
+			Chunk[][] chunks = snapshot.getMap().getChunks(i);
+			if(chunks == null) continue;
 
-			// For each row
-			for (int row = rowOffset; row < maxRow; row++) {
+			int maxRow = Math.min(lastRow, chunks.length - 1);
+			int maxCol = Math.min(lastCol, chunks[0].length - 1);
 
-				//For each col
-				for (int col = colOffset; col < maxCol; col++) {
-
-					if(map[row][col]==0)continue;
-					TextureRenderer.image(
-							new Vec2(col * GameScreen.tileSize, row * GameScreen.tileSize),
-							new Vec2(GameScreen.tileSize, GameScreen.tileSize),
-							tileSet[map[row][col]].getFrom(),
-							tileSet[map[row][col]].getTo()
-					);
+			for (int row = firstRow; row <= maxRow; row++) {
+				for (int col = firstCol; col <= maxCol; col++) {
+					if(chunks[row][col] != null) chunks[row][col].display(tileSetT.getID());
 				}
 			}
 		}
+		Profiler.end(Profiler.TILEMAP, start);
 	}
 
 	/**
@@ -207,9 +227,9 @@ public class TileMap {
 	 * @return isMap or not
 	 */
 	public boolean changeMap(int point, float posX, float posY){
-		int[] result = isMap( Math.abs(point-2), posX, posY);
-		if(result[0] == 1){
-			changeMap(result[1], Math.abs(point-2));
+		int mapID = isMap( Math.abs(point-2), posX, posY);
+		if(mapID != -1){
+			changeMap(mapID, Math.abs(point-2));
 			return true;
 		}
 		return false;
@@ -217,14 +237,17 @@ public class TileMap {
 
 	/**
 	 * Change the map with mapID.
+	 * The map is loaded in the background if the prefetcher hasn't loaded it yet.
 	 * @param mapID The new map.
 	 * @param point The point to come.
 	 */
 	public void changeMap(int mapID, int point){
+		if(mapID < 0 || mapID >= nbMap - 1 || maps.hasFailed(mapID)) return;
+
 		GameScreen.setState(GameScreen.STATE_TRANSITION);
 		newMapId = mapID;
-		givePosX = maps.get(mapID).getTileToComeX(point) * GameScreen.tileSize;
-		givePosY = maps.get(mapID).getTileToComeY(point) * GameScreen.tileSize - player.getSizeY()/2;
+		newPoint = point;
+		prefetcher.request(mapID, MapPrefetcher.URGENT);
 	}
 
 	/**
@@ -234,37 +257,62 @@ public class TileMap {
 	 * @param x The player position x.
 	 * @param y The player position y.
 	 *
-	 * @return The new map id and the spawn point.
+	 * @return The new map id, or -1 if there is no map.
 	 */
-	private int[] isMap(int side, float x, float y) {
+	private int isMap(int side, float x, float y) {
 		float posX = x / GameScreen.tileSize;
 		float posY = y / GameScreen.tileSize;
 
-		float[][] neighbour = maps.get(currentMap).getExitPoints(Math.abs(side-2));
+		float[][] neighbour = current.getExitPoints(Math.abs(side-2));
 
-		for (float[] aNeighbour : neighbour) {
+		for (int i = 0; i < neighbour.length; i++) {
+			float[] aNeighbour = neighbour[i];
 			if (side == 0 || side == 2) {
 				if (aNeighbour[2] < posY && posY < aNeighbour[3]) {
-					return new int[]{1, (int) aNeighbour[0] - 1};
+					return (int) aNeighbour[0] - 1;
 				}
 			} else if (side == 1 || side == 3) {
 				if (aNeighbour[2] < posX && posX < aNeighbour[3]) {
-					return new int[]{1, (int) aNeighbour[0] - 1};
+					return (int) aNeighbour[0] - 1;
 				}
 			}
 		}
-		return new int[]{0};
+		return -1;
 	}
 
 	/**
 	 * Set the new map and give the position to the player.
+	 *
+	 * @return False if the map isn't loaded yet, the transition must wait.
 	 */
-	public void doTransition(){
+	public boolean doTransition(){
+		// A record waits for the map, the number of ticks of a transition must not depend on the loading
+		if(GameManager.recorder != null && GameManager.recorder.isActive()) prefetcher.await(newMapId);
+		Map newMap = maps.peek(newMapId);
+		if(newMap == null){
+			if(maps.hasFailed(newMapId)) {
+				// Stay on the current map
+				waiting = false;
+				return true;
+			}
+			if(!waiting) prefetcher.stall();
+			// The map may have been evicted since the request of the transition
+			prefetcher.request(newMapId, MapPrefetcher.URGENT);
+			waiting = true;
+			return false;
+		}
+		waiting = false;
+
+		givePosX = newMap.getTileToComeX(newPoint) * GameScreen.tileSize;
+		givePosY = newMap.getTileToComeY(newPoint) * GameScreen.tileSize - player.getSizeY()/2;
 		player.setPosition(givePosX, givePosY);
+		// The player jumps to the new map, it isn't interpolated
+		player.savePosition();
 		currentMap = newMapId;
+		current = newMap;
 		chargeMap();
-		numCols = map[0].length;
-		numRows = map.length;
+		numCols = layer.getWidth();
+		numRows = layer.getHeight();
 
 		sizeX = numCols * GameScreen.tileSize;
 		sizeY = numRows * GameScreen.tileSize;
@@ -272,7 +320,12 @@ public class TileMap {
 		GameManager.CAMERA.setBoundMax(Window.width - sizeX, Window.height  - sizeY);
 		GameManager.CAMERA.setBoundMin(0, 0);
 		GameManager.CAMERA.setPosition(false);
-		System.out.println("New map, id: " + currentMap);
+		if(Growth.admin){
+			System.out.println("New map, id: " + currentMap);
+			System.out.println(maps.getStats());
+			System.out.println(prefetcher.getStats());
+		}
+		return true;
 	}
 
 
@@ -280,7 +333,7 @@ public class TileMap {
 	 * Charge the current layer for collision and another features.
 	 */
 	private void chargeMap(){
-		map = maps.get(currentMap).getMap(currentLayer);
+		layer = current.getLayer(currentLayer);
 	}
 
 	/**
@@ -294,6 +347,24 @@ public class TileMap {
 		}
 	}
 
+	/**
+	 * Return the index of the current map.
+	 *
+	 * @return the current map
+	 */
+	public int getCurrentMap() {
+		return currentMap;
+	}
+
+	/**
+	 * Return the number of maps of the game.
+	 *
+	 * @return the number of maps
+	 */
+	public int getMapNumber() {
+		return nbMap - 1;
+	}
+
 	/**
 	 * Return the number of map'row.
 	 *
@@ -339,14 +410,27 @@ public class TileMap {
 	 * @return tile's type
 	 */
 	public int getType(int row, int col) {
-		int rc = map[row][col];
-		return tileSet[rc].getType();
+		return tileSet[layer.get(row, col)].getType();
+	}
+
+	/**
+	 * Return if a tile is blocked, faster than checking its type.
+	 *
+	 * @param row Number of row to choose the tile.
+	 * @param col Number of col to choose the tile.
+	 *
+	 * @return true if the tile is blocked
+	 */
+	public boolean isBlocked(int row, int col) {
+		return layer.isBlocked(row, col);
 	}
 
 	/**
 	 * Unload the tile's texture to free memory.
 	 */
 	public void unload() {
-		tileSetT.unload();
+		TextureRegistry.release(tileSetT);
+		prefetcher.stop();
+		maps.clear();
 	}
 }
\ No newline at end of file
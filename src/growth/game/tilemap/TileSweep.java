@@ -0,0 +1,299 @@
+package growth.game.tilemap;
+
+import growth.screen.screens.GameScreen;
+
+/**
+ * Tile sweep class.
+ * This class moves a box through the tiles of the tile map and finds the first blocked tile it touches,
+ * whatever the speed of the box. The tiles are walked in the order the box enters them, one row or
+ * one column at a time, like a DDA along the motion.
+ *
+ * The tiles out of the map on the right and on the bottom are blocked, the ones on the left and on the top are free.
+ * An instance keeps the result of its last sweep and of its last move, to be reused without allocation.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class TileSweep {
+
+	/**
+	 * Epsilon.
+	 * This variable contains the tolerance in pixels on the position of the box, against the rounding errors.
+	 */
+	static final float EPSILON = 0.01f;
+
+	/**
+	 * Tile map.
+	 * This variable contains the tile map where the box moves.
+	 */
+	private final TileMap tileMap;
+
+	/**
+	 * Time of impact.
+	 * This variable contains the part of the motion done before the impact, from 0 to 1, 1 if there is no impact.
+	 */
+	private float time;
+
+	/**
+	 * Normal.
+	 * These variables contain the normal of the touched side of the tile, -1, 0 or 1 on each axis.
+	 */
+	private int normalX, normalY;
+
+	/**
+	 * Contact.
+	 * This variable contains the position in pixels of the touched side of the tile, on the axis of the normal.
+	 */
+	private float contact;
+
+	/**
+	 * Moved body.
+	 * These variables contain the position, the speed and the falling state of the body after the last move.
+	 */
+	private float x, y, speedX, speedY;
+	private boolean falling;
+
+	/**
+	 * Tile sweep class constructor.
+	 *
+	 * @param tileMap The tile map where the box moves.
+	 */
+	public TileSweep(TileMap tileMap) {
+		this.tileMap = tileMap;
+	}
+
+	/**
+	 * Move a box and find its first impact.
+	 *
+	 * @param left The left side of the box.
+	 * @param top The top side of the box.
+	 * @param right The right side of the box.
+	 * @param bottom The bottom side of the box.
+	 * @param dx The motion x.
+	 * @param dy The motion y.
+	 *
+	 * @return True if the box touches a blocked tile.
+	 */
+	public boolean sweep(float left, float top, float right, float bottom, float dx, float dy) {
+		time = 1;
+		normalX = normalY = 0;
+		if (dx == 0 && dy == 0) return false;
+
+		int size = GameScreen.tileSize;
+		int stepX = (dx > 0) ? 1 : -1;
+		int stepY = (dy > 0) ? 1 : -1;
+
+		// Next column and row entered by the front sides, and when
+		int col = 0, row = 0;
+		float timeX = Float.POSITIVE_INFINITY, timeY = Float.POSITIVE_INFINITY;
+		float deltaX = Float.POSITIVE_INFINITY, deltaY = Float.POSITIVE_INFINITY;
+
+		if (dx != 0) {
+			col = (dx > 0) ? cell(right - EPSILON) + 1 : cell(left + EPSILON) - 1;
+			float line = (dx > 0) ? col * size : (col + 1) * size;
+			timeX = Math.max(0, (line - ((dx > 0) ? right : left)) / dx);
+			deltaX = size / Math.abs(dx);
+		}
+		if (dy != 0) {
+			row = (dy > 0) ? cell(bottom - EPSILON) + 1 : cell(top + EPSILON) - 1;
+			float line = (dy > 0) ? row * size : (row + 1) * size;
+			timeY = Math.max(0, (line - ((dy > 0) ? bottom : top)) / dy);
+			deltaY = size / Math.abs(dy);
+		}
+
+		while (timeX <= 1 || timeY <= 1) {
+			if (timeX <= timeY) {
+				// The rows covered just after entering the column
+				int first = cell(top + dy * timeX + ((dy < 0) ? -EPSILON : EPSILON));
+				int last = cell(bottom + dy * timeX + ((dy > 0) ? EPSILON : -EPSILON));
+				for (int r = first; r <= last; r++) {
+					if (blocked(r, col)) {
+						return hit(timeX, -stepX, 0, (dx > 0) ? col * size : (col + 1) * size);
+					}
+				}
+				col += stepX;
+				timeX += deltaX;
+			} else {
+				int first = cell(left + dx * timeY + ((dx < 0) ? -EPSILON : EPSILON));
+				int last = cell(right + dx * timeY + ((dx > 0) ? EPSILON : -EPSILON));
+				for (int c = first; c <= last; c++) {
+					if (blocked(row, c)) {
+						return hit(timeY, 0, -stepY, (dy > 0) ? row * size : (row + 1) * size);
+					}
+				}
+				row += stepY;
+				timeY += deltaY;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Move a body with its speed, it slides along the first tile touched.
+	 * The body stays in the map on the left and on the top, and its vertical speed is damped against a wall.
+	 *
+	 * @param posX The position x of the center of the body.
+	 * @param posY The position y of the center of the body.
+	 * @param cX The width of the collision box.
+	 * @param cY The height of the collision box.
+	 * @param newSpeedX The speed x.
+	 * @param newSpeedY The speed y.
+	 * @param newFalling The falling state.
+	 */
+	public void move(float posX, float posY, int cX, int cY, float newSpeedX, float newSpeedY, boolean newFalling) {
+		x = posX;
+		y = posY;
+		speedX = newSpeedX;
+		speedY = newSpeedY;
+		falling = newFalling;
+
+		float dx = speedX;
+		float dy = speedY;
+
+		// The second sweep continues the motion along the touched side
+		for (int i = 0; i < 2 && (dx != 0 || dy != 0); i++) {
+			boolean hit = sweep(x - cX / 2, y - cY / 2, x + cX / 2, y + cY / 2, dx, dy);
+			x += dx * time;
+			y += dy * time;
+			if (!hit) break;
+
+			dx *= 1 - time;
+			dy *= 1 - time;
+
+			if (normalX != 0) {
+				x = contact + normalX * (cX / 2);
+				dx = 0;
+				speedX = 0;
+				speedY *= 0.96;
+			} else {
+				y = contact + normalY * (cY / 2);
+				dy = 0;
+				speedY = 0;
+				if (normalY < 0) falling = false;
+			}
+		}
+
+		if (x - cX / 2 < 0) {
+			x = cX / 2;
+			speedX = 0;
+		}
+
+		if (y - cY / 2 < 0) {
+			y = cY / 2;
+			speedY = 0;
+		}
+
+		if (!falling && !sweep(x - cX / 2, y - cY / 2, x + cX / 2, y + cY / 2, 0, 1)) {
+			falling = true;
+		}
+	}
+
+	/**
+	 * Set the result of an impact.
+	 *
+	 * @return true
+	 */
+	private boolean hit(float newTime, int newNormalX, int newNormalY, float newContact) {
+		time = newTime;
+		normalX = newNormalX;
+		normalY = newNormalY;
+		contact = newContact;
+		return true;
+	}
+
+	/**
+	 * Get the row or the column containing a position.
+	 */
+	private static int cell(float position) {
+		return (int) Math.floor(position / GameScreen.tileSize);
+	}
+
+	/**
+	 * Return if a tile stops the box, out of the map included.
+	 */
+	private boolean blocked(int row, int col) {
+		if (row >= tileMap.getNumRows() || col >= tileMap.getNumCols()) return true;
+		return row >= 0 && col >= 0 && tileMap.isBlocked(row, col);
+	}
+
+	/**
+	 * Get the time of impact of the last sweep.
+	 *
+	 * @return time
+	 */
+	public float getTime() {
+		return time;
+	}
+
+	/**
+	 * Get the normal x of the last impact.
+	 *
+	 * @return normalX
+	 */
+	public int getNormalX() {
+		return normalX;
+	}
+
+	/**
+	 * Get the normal y of the last impact.
+	 *
+	 * @return normalY
+	 */
+	public int getNormalY() {
+		return normalY;
+	}
+
+	/**
+	 * Get the position of the touched side of the last impact.
+	 *
+	 * @return contact
+	 */
+	public float getContact() {
+		return contact;
+	}
+
+	/**
+	 * Get the position x of the body after the last move.
+	 *
+	 * @return x
+	 */
+	public float getX() {
+		return x;
+	}
+
+	/**
+	 * Get the position y of the body after the last move.
+	 *
+	 * @return y
+	 */
+	public float getY() {
+		return y;
+	}
+
+	/**
+	 * Get the speed x of the body after the last move.
+	 *
+	 * @return speedX
+	 */
+	public float getSpeedX() {
+		return speedX;
+	}
+
+	/**
+	 * Get the speed y of the body after the last move.
+	 *
+	 * @return speedY
+	 */
+	public float getSpeedY() {
+		return speedY;
+	}
+
+	/**
+	 * Get the falling state of the body after the last move.
+	 *
+	 * @return falling
+	 */
+	public boolean getFalling() {
+		return falling;
+	}
+}
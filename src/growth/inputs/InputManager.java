@@ -4,6 +4,8 @@ import growth.screen.GameManager;
 
 /**
  * This class is the input manager.
+ * The state of every action is taken once per tick, as bit masks, from the keyboard and the mouse
+ * or from a replayed record.
  *
  * @author MightyCode
  * @version 1.0
@@ -21,6 +23,12 @@ public class InputManager {
      */
     private int[] inputs;
 
+    /**
+     * Action states.
+     * These variables contain a bit by action : down, just pressed and just released during the tick.
+     */
+    private int down, pressed, released;
+
     /**
      * Input manager class.
      * Instance the class, set the input and its type.
@@ -47,8 +55,7 @@ public class InputManager {
      * @return State of the input (boolean).
      */
     public boolean input(int inputs){
-        if(type[inputs] == 0) return KeyboardManager.key(this.inputs[inputs]);
-        else return MouseManager.button(this.inputs[inputs]);
+        return (down & (1 << inputs)) != 0;
     }
 
     /**
@@ -58,8 +65,7 @@ public class InputManager {
      * @return State of the input(boolean).
      */
     public boolean inputPressed(int inputs){
-        if(type[inputs] == 0) return GameManager.keyboardManager.keyPressed(this.inputs[inputs]);
-        else return GameManager.mouseManager.mousePressed(this.inputs[inputs]);
+        return (pressed & (1 << inputs)) != 0;
     }
 
     /**
@@ -69,8 +75,69 @@ public class InputManager {
      * @return State of the input (boolean).
      */
     public boolean inputReleased(int inputs){
-        if(type[inputs] == 0) return GameManager.keyboardManager.keyReleased(this.inputs[inputs]);
-        else return GameManager.mouseManager.mouseReleased(this.inputs[inputs]);
+        return (released & (1 << inputs)) != 0;
+    }
+
+    /**
+     * Take the state of every action from the keyboard and the mouse, at the beginning of the tick.
+     */
+    public void update(){
+        down = pressed = released = 0;
+        for(int i = 0; i < inputs.length && i < 32; i++){
+            boolean isDown, isPressed, isReleased;
+            if(type[i] == 0){
+                isDown = GameManager.keyboardManager.key(inputs[i]);
+                isPressed = GameManager.keyboardManager.keyPressed(inputs[i]);
+                isReleased = GameManager.keyboardManager.keyReleased(inputs[i]);
+            } else {
+                isDown = GameManager.mouseManager.button(inputs[i]);
+                isPressed = GameManager.mouseManager.mousePressed(inputs[i]);
+                isReleased = GameManager.mouseManager.mouseReleased(inputs[i]);
+            }
+            if(isDown) down |= 1 << i;
+            if(isPressed) pressed |= 1 << i;
+            if(isReleased) released |= 1 << i;
+        }
+    }
+
+    /**
+     * Replace the state of every action, used to replay a record.
+     *
+     * @param newDown The actions down.
+     * @param newPressed The actions just pressed.
+     * @param newReleased The actions just released.
+     */
+    public void setState(int newDown, int newPressed, int newReleased){
+        down = newDown;
+        pressed = newPressed;
+        released = newReleased;
+    }
+
+    /**
+     * Get the actions down.
+     *
+     * @return down
+     */
+    public int getDown(){
+        return down;
+    }
+
+    /**
+     * Get the actions just pressed.
+     *
+     * @return pressed
+     */
+    public int getPressed(){
+        return pressed;
+    }
+
+    /**
+     * Get the actions just released.
+     *
+     * @return released
+     */
+    public int getReleased(){
+        return released;
     }
 
     /**
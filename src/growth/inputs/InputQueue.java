@@ -0,0 +1,170 @@
+package growth.inputs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.lwjgl.glfw.GLFW.GLFW_PRESS;
+import static org.lwjgl.glfw.GLFW.GLFW_RELEASE;
+
+/**
+ * This class is the input queue.
+ * The GLFW callbacks push the key and button events in a ring buffer, and the update of the game takes them
+ * all at once at the beginning of each tick, with the last position of the cursor. The ring has one producer, the thread polling the GLFW events,
+ * and one consumer, the thread updating the game, it needs no lock.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class InputQueue {
+
+    /**
+     * Capacity.
+     * This variable contains the number of events kept between two ticks, a power of two.
+     */
+    private static final int CAPACITY = 1024;
+
+    /**
+     * Event kinds.
+     * These static final variables contain the kind of each event.
+     */
+    public static final int KEY = 0;
+    public static final int BUTTON = 1;
+
+    /**
+     * Events.
+     * This array contains the kind, the action and the code of each event, packed in an int.
+     */
+    private final int[] events = new int[CAPACITY];
+
+    /**
+     * Times.
+     * This array contains the time in nanoseconds of each event.
+     */
+    private final long[] times = new long[CAPACITY];
+
+    /**
+     * Write index.
+     * This variable contains the number of events pushed, written only by the producer.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Read index.
+     * This variable contains the number of events taken, written only by the consumer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Cursor.
+     * This variable contains the last position of the cursor, x and y packed as the bits of two floats.
+     */
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * Cursor moved.
+     * This variable is true when the cursor moved since the last drain.
+     */
+    private volatile boolean cursorMoved;
+
+    /**
+     * Statistics.
+     * These variables contain the number of events lost because the ring was full, and the age in nanoseconds
+     * of the oldest event of the last drain.
+     */
+    private volatile int dropped;
+    private long latency;
+
+    /**
+     * Key callback, called by GLFW.
+     */
+    public void key(long window, int key, int scancode, int action, int mods) {
+        push(KEY, key, action);
+    }
+
+    /**
+     * Mouse button callback, called by GLFW.
+     */
+    public void button(long window, int button, int action, int mods) {
+        push(BUTTON, button, action);
+    }
+
+    /**
+     * Cursor position callback, called by GLFW.
+     */
+    public void cursor(long window, double x, double y) {
+        // Only the last position of the tick is useful
+        cursor.lazySet(((long) Float.floatToRawIntBits((float) x) << 32) | (Float.floatToRawIntBits((float) y) & 0xFFFFFFFFL));
+        cursorMoved = true;
+    }
+
+    /**
+     * Add an event at the end of the ring.
+     *
+     * @param kind The kind of the event.
+     * @param code The key or the button.
+     * @param action The action, press or release.
+     */
+    public void push(int kind, int code, int action) {
+        // The repeats don't change the state, the unknown keys have no code
+        if (code < 0 || (action != GLFW_PRESS && action != GLFW_RELEASE)) return;
+
+        long write = head.get();
+        if (write - tail.get() == CAPACITY) {
+            dropped++;
+            return;
+        }
+        int index = (int) (write & (CAPACITY - 1));
+        events[index] = (kind << 24) | (action << 16) | (code & 0xFFFF);
+        times[index] = System.nanoTime();
+        // The event is visible to the consumer once the index is published
+        head.lazySet(write + 1);
+    }
+
+    /**
+     * Take every event pushed since the last drain and the cursor position, and apply them to the keyboard and to the mouse.
+     *
+     * @param keyboard The keyboard manager.
+     * @param mouse The mouse manager.
+     */
+    public void drain(KeyboardManager keyboard, MouseManager mouse) {
+        keyboard.update();
+        mouse.update();
+
+        if (cursorMoved) {
+            cursorMoved = false;
+            long position = cursor.get();
+            mouse.setCursor(Float.intBitsToFloat((int) (position >>> 32)), Float.intBitsToFloat((int) position));
+        }
+
+        long read = tail.get();
+        long write = head.get();
+        latency = (read == write) ? 0 : System.nanoTime() - times[(int) (read & (CAPACITY - 1))];
+
+        for (; read < write; read++) {
+            int event = events[(int) (read & (CAPACITY - 1))];
+            int code = event & 0xFFFF;
+            boolean pressed = ((event >>> 16) & 0xFF) == GLFW_PRESS;
+            if ((event >>> 24) == KEY) keyboard.set(code, pressed);
+            else mouse.set(code, pressed);
+        }
+        tail.lazySet(read);
+    }
+
+    /**
+     * Get the number of events lost because the ring was full.
+     *
+     * @return dropped
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Get the statistics of the queue.
+     *
+     * @return The statistics as text.
+     */
+    public String getStats() {
+        return "Input queue : " + (head.get() - tail.get()) + " waiting, " + dropped + " dropped, latency : "
+                + latency / 1000 + " us";
+    }
+}
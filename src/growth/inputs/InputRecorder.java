@@ -0,0 +1,459 @@
+package growth.inputs;
+
+import growth.main.Window;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.lwjgl.glfw.GLFW.glfwSetWindowShouldClose;
+
+/**
+ * This class is the input recorder.
+ * It records the state of the actions at each tick of a game in a file, or replays a recorded file tick by tick
+ * in place of the keyboard and the mouse. The game is checked against the recorded state every second.
+ *
+ * The file begins with a header : magic number, version, window width, start map and start point.
+ * It continues with the number of runs, the runs of ticks with the same actions, then with the checksums of the game.
+ * Only the actions are recorded, the clicks in the menus aren't.
+ *
+ * The header is written at the start of the record and each run when it ends, the number of runs is written in the
+ * header at the finish.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class InputRecorder {
+
+    /**
+     * Magic number.
+     * This variable contains the first four bytes of a record file, "GREC".
+     */
+    private static final int MAGIC = 0x47524543;
+
+    /**
+     * Version.
+     * This variable contains the version of the format.
+     */
+    private static final short VERSION = 1;
+
+    /**
+     * Run number position.
+     * This variable contains the position in the file of the number of runs, after the header.
+     */
+    private static final long RUN_NUMBER_POSITION = 18;
+
+    /**
+     * Check interval.
+     * This variable contains the number of ticks between two checksums.
+     */
+    public static final int CHECK_INTERVAL = 60;
+
+    /**
+     * Replay.
+     * This variable is true when the recorder replays a file, false when it records.
+     */
+    private final boolean replay;
+
+    /**
+     * Path.
+     * This variable contains the path of the record file.
+     */
+    private final String path;
+
+    /**
+     * Output.
+     * This variable contains the file written by the recording, null before the start of the game.
+     */
+    private DataOutputStream out;
+
+    /**
+     * File output.
+     * This variable contains the stream of the file under the output, used to write the number of runs at the finish.
+     */
+    private FileOutputStream fileOut;
+
+    /**
+     * Start state.
+     * These variables contain the window width, the map and the point where the game starts.
+     */
+    private int width, startMap, startPoint;
+
+    /**
+     * Runs.
+     * These arrays contain the length of each run of ticks and its actions : down, pressed and released.
+     * When recording, only the current run is kept in the first cell, the ended runs are in the file.
+     */
+    private int[] runs, downs, pressed, released;
+
+    /**
+     * Run number.
+     * This variable contains the number of runs.
+     */
+    private int runNumber;
+
+    /**
+     * Checksums.
+     * This array contains the checksum of the game every check interval.
+     */
+    private int[] checksums;
+
+    /**
+     * Checksum number.
+     * This variable contains the number of checksums.
+     */
+    private int checksumNumber;
+
+    /**
+     * Position.
+     * These variables contain the current run and the tick in the current run.
+     */
+    private int run, runTick;
+
+    /**
+     * Ticks.
+     * This variable contains the number of ticks recorded or replayed.
+     */
+    private int tick;
+
+    /**
+     * Mismatches.
+     * This variable contains the number of checksums different from the record.
+     */
+    private int mismatches;
+
+    /**
+     * Update time.
+     * This variable contains the time in nanoseconds spent to update the game.
+     */
+    private long updateTime;
+
+    /**
+     * States.
+     * These variables are true when the game has started and when the recorder has finished.
+     */
+    private boolean started, finished;
+
+    /**
+     * Input recorder class constructor.
+     *
+     * @param path The path of the record file.
+     * @param replay True to replay the file, false to record it.
+     */
+    private InputRecorder(String path, boolean replay) {
+        this.path = path;
+        this.replay = replay;
+        runs = new int[64];
+        downs = new int[64];
+        pressed = new int[64];
+        released = new int[64];
+        checksums = new int[64];
+    }
+
+    /**
+     * Create a recorder writing a new record.
+     *
+     * @param path The path of the record file.
+     *
+     * @return The recorder.
+     */
+    public static InputRecorder record(String path) {
+        return new InputRecorder(path, false);
+    }
+
+    /**
+     * Create a recorder replaying a record.
+     *
+     * @param path The path of the record file.
+     *
+     * @return The recorder, or null if the file can't be read.
+     */
+    public static InputRecorder replay(String path) {
+        InputRecorder recorder = new InputRecorder(path, true);
+        try {
+            recorder.read(ByteBuffer.wrap(Files.readAllBytes(Paths.get(path))));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[Error] InputRecorder::replay() Invalid record " + path + " : " + e);
+            return null;
+        }
+        System.out.println("Replay " + path + " : " + recorder.getLength() + " ticks");
+        return recorder;
+    }
+
+    /**
+     * Read a record file.
+     *
+     * @param data The content of the file.
+     */
+    private void read(ByteBuffer data) throws IOException {
+        if (data.getInt() != MAGIC) throw new IOException("Not a record file");
+        if (data.getShort() != VERSION) throw new IOException("Unsupported version");
+
+        width = data.getInt();
+        startMap = data.getInt();
+        startPoint = data.getInt();
+
+        runNumber = data.getInt();
+        grow(runNumber);
+        for (int i = 0; i < runNumber; i++) {
+            runs[i] = data.getInt();
+            downs[i] = data.getInt();
+            pressed[i] = data.getInt();
+            released[i] = data.getInt();
+        }
+
+        checksumNumber = data.getInt();
+        checksums = new int[checksumNumber];
+        for (int i = 0; i < checksumNumber; i++) {
+            checksums[i] = data.getInt();
+        }
+    }
+
+    /**
+     * Start the record with the start state of the game, or check the state against the replayed record.
+     *
+     * @param newWidth The window width, the size of the tiles depends on it.
+     * @param map The start map.
+     * @param point The start point.
+     */
+    public void start(int newWidth, int map, int point) {
+        if (started) return;
+        started = true;
+
+        if (replay) {
+            if (newWidth != width) {
+                System.err.println("[Error] InputRecorder::start() Recorded with a window width of " + width
+                        + ", the replay will differ");
+            }
+            return;
+        }
+
+        width = newWidth;
+        startMap = map;
+        startPoint = point;
+        try {
+            fileOut = new FileOutputStream(path);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(width);
+            out.writeInt(startMap);
+            out.writeInt(startPoint);
+            // Written again at the finish
+            out.writeInt(0);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("[Error] InputRecorder::start() Can't create the record " + path + " : " + e);
+            close();
+            finished = true;
+        }
+    }
+
+    /**
+     * Record or replay the actions of a tick, called at the beginning of the tick.
+     *
+     * @param inputs The input manager.
+     * @param checksum The checksum of the game at the beginning of the tick.
+     */
+    public void tick(InputManager inputs, int checksum) {
+        if (!started || finished) return;
+
+        if (tick % CHECK_INTERVAL == 0) check(tick / CHECK_INTERVAL, checksum);
+
+        if (replay) {
+            if (run == runNumber) {
+                finish();
+                return;
+            }
+            inputs.setState(downs[run], pressed[run], released[run]);
+            if (++runTick == runs[run]) {
+                run++;
+                runTick = 0;
+            }
+        } else {
+            if (runNumber > 0 && downs[0] == inputs.getDown() && pressed[0] == inputs.getPressed()
+                    && released[0] == inputs.getReleased()) {
+                runs[0]++;
+            } else {
+                if (runNumber > 0) {
+                    try {
+                        writeRun();
+                    } catch (IOException e) {
+                        System.err.println("[Error] InputRecorder::tick() Can't write the record " + path + " : " + e);
+                        close();
+                        finished = true;
+                        return;
+                    }
+                }
+                runs[0] = 1;
+                downs[0] = inputs.getDown();
+                pressed[0] = inputs.getPressed();
+                released[0] = inputs.getReleased();
+                runNumber++;
+            }
+        }
+        tick++;
+    }
+
+    /**
+     * Write the current run of the record once it has ended.
+     */
+    private void writeRun() throws IOException {
+        out.writeInt(runs[0]);
+        out.writeInt(downs[0]);
+        out.writeInt(pressed[0]);
+        out.writeInt(released[0]);
+        out.flush();
+    }
+
+    /**
+     * Keep or compare a checksum of the game.
+     *
+     * @param index The index of the checksum.
+     * @param checksum The checksum of the game.
+     */
+    private void check(int index, int checksum) {
+        if (replay) {
+            if (index < checksumNumber && checksums[index] != checksum) {
+                mismatches++;
+                System.err.println("[Error] InputRecorder::check() The game differs from the record at the tick " + tick);
+            }
+            return;
+        }
+        if (index == checksums.length) checksums = Arrays.copyOf(checksums, index * 2);
+        checksums[index] = checksum;
+        checksumNumber = index + 1;
+    }
+
+    /**
+     * Add the time spent to update the game during a tick.
+     *
+     * @param nanos The time in nanoseconds.
+     */
+    public void measure(long nanos) {
+        if (started && !finished) updateTime += nanos;
+    }
+
+    /**
+     * End the record and write the file, or end the replay and close the game.
+     */
+    public void finish() {
+        if (!started || finished) return;
+        finished = true;
+
+        if (replay) {
+            System.out.println(getStats());
+            if (Window.windowID != 0) glfwSetWindowShouldClose(Window.windowID, true);
+            return;
+        }
+
+        try {
+            if (runNumber > 0) writeRun();
+            out.writeInt(checksumNumber);
+            for (int i = 0; i < checksumNumber; i++) {
+                out.writeInt(checksums[i]);
+            }
+            out.flush();
+            ByteBuffer number = ByteBuffer.allocate(Integer.BYTES).putInt(0, runNumber);
+            fileOut.getChannel().write(number, RUN_NUMBER_POSITION);
+        } catch (IOException e) {
+            System.err.println("[Error] InputRecorder::finish() Can't write the record " + path + " : " + e);
+            return;
+        } finally {
+            close();
+        }
+        System.out.println("Record " + path + " written : " + getStats());
+    }
+
+    /**
+     * Close the file of the record.
+     */
+    private void close() {
+        try {
+            if (out != null) out.close();
+            else if (fileOut != null) fileOut.close();
+        } catch (IOException e) {
+            System.err.println("[Error] InputRecorder::close() Can't close the record " + path + " : " + e);
+        }
+        out = null;
+        fileOut = null;
+    }
+
+    /**
+     * Make the arrays of runs big enough.
+     *
+     * @param size The number of runs needed.
+     */
+    private void grow(int size) {
+        if (size <= runs.length) return;
+        int capacity = Math.max(size, runs.length * 2);
+        runs = Arrays.copyOf(runs, capacity);
+        downs = Arrays.copyOf(downs, capacity);
+        pressed = Arrays.copyOf(pressed, capacity);
+        released = Arrays.copyOf(released, capacity);
+    }
+
+    /**
+     * Get the number of ticks of the replayed record.
+     *
+     * @return The sum of the runs.
+     */
+    public int getLength() {
+        int length = 0;
+        for (int i = 0; i < runNumber; i++) {
+            length += runs[i];
+        }
+        return length;
+    }
+
+    /**
+     * Return if the recorder replays a file.
+     *
+     * @return replay
+     */
+    public boolean isReplay() {
+        return replay;
+    }
+
+    /**
+     * Return if the recorder records or replays the game now.
+     *
+     * @return True between the start and the finish.
+     */
+    public boolean isActive() {
+        return started && !finished;
+    }
+
+    /**
+     * Get the start map of the replayed record.
+     *
+     * @return startMap
+     */
+    public int getStartMap() {
+        return startMap;
+    }
+
+    /**
+     * Get the start point of the replayed record.
+     *
+     * @return startPoint
+     */
+    public int getStartPoint() {
+        return startPoint;
+    }
+
+    /**
+     * Get the statistics of the recorder.
+     *
+     * @return The statistics as text.
+     */
+    public String getStats() {
+        return tick + " ticks, " + runNumber + " runs, " + checksumNumber + " checksums, " + mismatches
+                + " mismatches, update : " + (tick == 0 ? 0 : updateTime / tick / 1000) + " us/tick";
+    }
+}
@@ -1,14 +1,14 @@
 package growth.inputs;
 
-import growth.main.Window;
-
-import static org.lwjgl.glfw.GLFW.glfwGetKey;
+import java.util.Arrays;
 
 /**
  * This class is the keyboard manager.
+ * The state of the keys is a snapshot taken at the beginning of each tick from the input queue,
+ * every query of the same tick gets the same answer.
  *
  * @author MightyCode
- * @version 1.0
+ * @version 1.1
  */
 public class KeyboardManager {
 
@@ -25,31 +25,55 @@ public class KeyboardManager {
     private final boolean[] state = new boolean[Keys];
 
     /**
-     * Temp keys state.
-     * This class contains the state of every keys in the previous frame.
+     * Pressed keys.
+     * This class contains the keys pressed during the last tick.
+     */
+    private final boolean[] pressed = new boolean[Keys];
+
+    /**
+     * Released keys.
+     * This class contains the keys released during the last tick.
      */
-    private final boolean[] tempState = new boolean[Keys];
+    private final boolean[] released = new boolean[Keys];
 
     /**
      * Keyboard manager class.
      * Instance the class.
      */
     public KeyboardManager(){
-        for(int i = 0; i < Keys; i++) {
-            state[i] = false;
-            tempState[i] = false;
-        }
+    }
+
+    /**
+     * Begin a new tick, forget the presses and releases of the previous tick.
+     */
+    void update(){
+        Arrays.fill(pressed, false);
+        Arrays.fill(released, false);
+    }
+
+    /**
+     * Apply an event of the input queue.
+     *
+     * @param keyID Key's ID.
+     * @param down The new state of the key.
+     */
+    void set(int keyID, boolean down){
+        if(keyID >= Keys) return;
+        if(down) pressed[keyID] = true;
+        else released[keyID] = true;
+        state[keyID] = down;
     }
 
     /**
      * Return the state of key called.
+     * A key pressed and released during the same tick is down for this tick.
      *
      * @param keyID Key's ID.
      *
      * @return State of the key.
      */
-    public static boolean key(int keyID){
-        return glfwGetKey(Window.windowID, keyID) == 1;
+    public boolean key(int keyID){
+        return state[keyID] || pressed[keyID];
     }
 
     /**
@@ -59,10 +83,7 @@ public class KeyboardManager {
      * @return boolean
      */
     public boolean keyPressed(int keyID){
-        tempState[keyID] = state[keyID];
-        state[keyID] = glfwGetKey(Window.windowID, keyID) == 1;
-
-        return (state[keyID] && !tempState[keyID]);
+        return pressed[keyID];
     }
 
     /**
@@ -72,9 +93,6 @@ public class KeyboardManager {
      * @return boolean
      */
     public boolean keyReleased(int keyID){
-        tempState[keyID] = state[keyID];
-        state[keyID] = glfwGetKey(Window.windowID, keyID) == 1;
-
-        return (!state[keyID] && tempState[keyID]);
+        return released[keyID];
     }
-}
\ No newline at end of file
+}
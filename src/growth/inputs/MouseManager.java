@@ -4,15 +4,16 @@ import growth.main.Window;
 import org.lwjgl.BufferUtils;
 
 import java.nio.DoubleBuffer;
+import java.util.Arrays;
 
 import static org.lwjgl.glfw.GLFW.glfwGetCursorPos;
-import static org.lwjgl.glfw.GLFW.glfwGetMouseButton;
 
 /**
  * This class is the mouse manager.
+ * The state of the buttons is a snapshot taken at the beginning of each tick from the input queue.
  *
  * @author MightyCode
- * @version 1.0
+ * @version 1.1
  */
 public class MouseManager {
 
@@ -29,31 +30,99 @@ public class MouseManager {
     private final boolean[] state = new boolean[MOUSE_BUTTONS];
 
     /**
-     * Temp buttons state.
-     * This class contains the state of every keys in the previous frame.
+     * Pressed buttons.
+     * This class contains the buttons pressed during the last tick.
      */
-    private final boolean[] tempState = new boolean[MOUSE_BUTTONS];
+    private final boolean[] pressed = new boolean[MOUSE_BUTTONS];
+
+    /**
+     * Released buttons.
+     * This class contains the buttons released during the last tick.
+     */
+    private final boolean[] released = new boolean[MOUSE_BUTTONS];
+
+    /**
+     * Cursor buffers.
+     * These buffers receive the cursor position from GLFW, reused for each sample.
+     */
+    private static final DoubleBuffer bufferX = BufferUtils.createDoubleBuffer(1);
+    private static final DoubleBuffer bufferY = BufferUtils.createDoubleBuffer(1);
+
+    /**
+     * Cursor position.
+     * These variables contain the position of the cursor at the beginning of the tick.
+     */
+    private float cursorX, cursorY;
+
+    /**
+     * Native calls.
+     * This variable counts the calls to GLFW made to know the cursor position.
+     */
+    private static int nativeCalls;
 
     /**
      * Mouse manager class.
      * Instance the class
      */
     public MouseManager(){
-        for(int i = 0; i < MOUSE_BUTTONS; i++) {
-            state[i] = false;
-            tempState[i] = false;
-        }
+        // The cursor events only come when the cursor moves
+        sample();
+    }
+
+    /**
+     * Ask GLFW the position of the cursor.
+     */
+    public void sample(){
+        // Without window, the cursor stays in the corner
+        if(Window.windowID == 0) return;
+        glfwGetCursorPos(Window.windowID, bufferX, bufferY);
+        nativeCalls++;
+        cursorX = (float)bufferX.get(0);
+        cursorY = (float)bufferY.get(0);
+    }
+
+    /**
+     * Apply a cursor event of the input queue.
+     *
+     * @param x The position x of the cursor.
+     * @param y The position y of the cursor.
+     */
+    void setCursor(float x, float y){
+        cursorX = x;
+        cursorY = y;
+    }
+
+    /**
+     * Begin a new tick, forget the presses and releases of the previous tick.
+     */
+    void update(){
+        Arrays.fill(pressed, false);
+        Arrays.fill(released, false);
+    }
+
+    /**
+     * Apply an event of the input queue.
+     *
+     * @param buttonID Button's ID.
+     * @param down The new state of the button.
+     */
+    void set(int buttonID, boolean down){
+        if(buttonID >= MOUSE_BUTTONS) return;
+        if(down) pressed[buttonID] = true;
+        else released[buttonID] = true;
+        state[buttonID] = down;
     }
 
     /**
      * Return the state of key called.
+     * A button pressed and released during the same tick is down for this tick.
      *
      * @param buttonID button's ID.
      *
      * @return state of the button.
      */
-    public static boolean button(int buttonID){
-        return glfwGetMouseButton(Window.windowID, buttonID) == 1;
+    public boolean button(int buttonID){
+        return state[buttonID] || pressed[buttonID];
     }
 
     /**
@@ -63,9 +132,7 @@ public class MouseManager {
      * @return boolean
      */
     public boolean mousePressed(int buttonID){
-        tempState[buttonID] = state[buttonID];
-        state[buttonID] = glfwGetMouseButton(Window.windowID, buttonID) == 1;
-        return state[buttonID] && !tempState[buttonID];
+        return pressed[buttonID];
     }
 
     /**
@@ -75,9 +142,7 @@ public class MouseManager {
      * @return boolean
      */
     public boolean mouseReleased(int buttonID){
-        tempState[buttonID] = state[buttonID];
-        state[buttonID] = glfwGetMouseButton(Window.windowID, buttonID) == 1;
-        return !state[buttonID] && tempState[buttonID];
+        return released[buttonID];
     }
 
     /**
@@ -85,11 +150,8 @@ public class MouseManager {
      *
      * @return mouse position x.
      */
-    public static float mouseX(){
-        DoubleBuffer x = BufferUtils.createDoubleBuffer(1);
-
-        glfwGetCursorPos(Window.windowID, x, null);
-        return (float)x.get(0);
+    public float mouseX(){
+        return cursorX;
     }
 
     /**
@@ -97,10 +159,16 @@ public class MouseManager {
      *
      * @return mouse position y.
      */
-    public static float mouseY(){
-        DoubleBuffer y = BufferUtils.createDoubleBuffer(1);
+    public float mouseY(){
+        return cursorY;
+    }
 
-        glfwGetCursorPos(Window.windowID, null, y);
-        return (float)y.get(0);
+    /**
+     * Get the number of calls to GLFW made to know the cursor position.
+     *
+     * @return nativeCalls
+     */
+    public static int getNativeCalls(){
+        return nativeCalls;
     }
 }
\ No newline at end of file
@@ -66,6 +66,25 @@ public class Config {
      */
     private static int musicVolume;
 
+    /**
+     * Frame cap.
+     * This variable contains the maximal number of frames by second, 0 without limit.
+     */
+    private static int frameCap = 60;
+
+    /**
+     * Max ticks by frame.
+     * This variable contains the maximal number of ticks run before a frame, the late ticks beyond are skipped.
+     */
+    private static int maxTicksPerFrame = 5;
+
+    /**
+     * Remotery.
+     * These variables contain if the samples of the profiler are sent to Remotery and the port of its viewer.
+     */
+    private static boolean remotery;
+    private static int remoteryPort = 17815;
+
     /**
      * Public static final string about the path for different thing.
      */
@@ -234,6 +253,54 @@ public class Config {
      */
     public static void setNoiseVolume(int newNoiseVolume){ noiseVolume = newNoiseVolume; }
 
+    /**
+     * Get the frame cap.
+     * @return The maximal number of frames by second, 0 without limit.
+     */
+    public static int getFrameCap() { return frameCap; }
+
+    /**
+     * Set the frame cap.
+     * @param newFrameCap The maximal number of frames by second, 0 without limit.
+     */
+    public static void setFrameCap(int newFrameCap) { frameCap = Math.max(0, newFrameCap); }
+
+    /**
+     * Get the maximal number of ticks by frame.
+     * @return The number of ticks.
+     */
+    public static int getMaxTicksPerFrame() { return maxTicksPerFrame; }
+
+    /**
+     * Set the maximal number of ticks by frame.
+     * @param newMaxTicks The number of ticks, at least one.
+     */
+    public static void setMaxTicksPerFrame(int newMaxTicks) { maxTicksPerFrame = Math.max(1, newMaxTicks); }
+
+    /**
+     * Get if the samples of the profiler are sent to Remotery.
+     * @return The state (boolean).
+     */
+    public static boolean getRemotery() { return remotery; }
+
+    /**
+     * Set if the samples of the profiler are sent to Remotery.
+     * @param remotery The new state (1 for true).
+     */
+    public static void setRemotery(int remotery) { Config.remotery = remotery == 1; }
+
+    /**
+     * Get the port of the Remotery viewer.
+     * @return The port.
+     */
+    public static int getRemoteryPort() { return remoteryPort; }
+
+    /**
+     * Set the port of the Remotery viewer.
+     * @param newPort The new port.
+     */
+    public static void setRemoteryPort(int newPort) { remoteryPort = newPort; }
+
     /**
      * Save configurations on game's close.
      */
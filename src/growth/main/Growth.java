@@ -10,6 +10,25 @@ public class Growth {
 
     public static boolean admin;
 
+    /**
+     * Parallel update.
+     * This variable is true to update the entities on several threads, set by "-parallel".
+     */
+    public static boolean parallel;
+
+    /**
+     * Simulation thread.
+     * This variable is true to run the ticks on their own thread, apart from the display, set by "-simthread".
+     */
+    public static boolean simulationThread;
+
+    /**
+     * Record.
+     * These variables contain the file where the actions are recorded, set by "-record file",
+     * and the file replayed in place of the keyboard and the mouse, set by "-replay file".
+     */
+    public static String record, replay;
+
     /**
      * Window.
      * This global variable contains all of the main game structure.
@@ -22,6 +41,13 @@ public class Growth {
     public static void main(String[] args) {
             admin = true;
 
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-parallel")) parallel = true;
+            if (args[i].equals("-simthread")) simulationThread = true;
+            if (args[i].equals("-record") && i + 1 < args.length) record = args[++i];
+            if (args[i].equals("-replay") && i + 1 < args.length) replay = args[++i];
+        }
+
         window = new Window();
         window.run();
     }
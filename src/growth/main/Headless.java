@@ -0,0 +1,163 @@
+package growth.main;
+
+import growth.render.NullRenderBackend;
+import growth.render.RecordingRenderBackend;
+import growth.render.Render;
+import growth.render.SpriteBatch;
+import growth.render.texture.TextureLoader;
+import growth.screen.GameManager;
+import growth.screen.screens.GameScreen;
+import growth.util.AllocationMeter;
+import growth.util.RemoteProfiler;
+
+/**
+ * Headless class.
+ * This class runs the game without window nor OpenGL context, as fast as possible, for a number of ticks.
+ * The render backend draws nothing, the textures are decoded but not uploaded. With the display,
+ * the frames are recorded to report their draw calls, and the hash of the last frame to compare two runs.
+ * The game starts directly on the game screen, or on a replayed record.
+ *
+ * Arguments : "-ticks number" (3600 by default), "-display" to also run the display after each tick,
+ * "-replay file" and "-parallel" like the game.
+ * "-checkalloc" checks that the ticks, and the frames with the display, allocate nothing on the heap once the game
+ * is warmed up. It replays the check record, walking, jumping and sprinting through several maps and the pause,
+ * unless another record is given. The warm-up lasts the first report and at least one map transition, then
+ * the run exits with the code 1 if the ticks allocate more than the JIT allowance, the last tick of a replay excepted.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class Headless {
+
+    /**
+     * Report interval.
+     * This variable contains the number of ticks between two reports.
+     */
+    private static final int REPORT_TICKS = 600;
+
+    /**
+     * Warm-up ticks.
+     * This variable contains the number of ticks not checked by the allocation check, while the game loads and the JIT compiles.
+     */
+    private static final int WARMUP_TICKS = REPORT_TICKS;
+
+    /**
+     * JIT allowance.
+     * This variable contains the bytes the checked ticks may allocate in all : when the JIT compiles or deoptimizes
+     * a method on a new path, the JVM allocates a few bytes once on the thread, whatever the game code.
+     */
+    private static final long JIT_ALLOWANCE = 512;
+
+    /**
+     * Check record.
+     * This variable contains the record replayed by the allocation check when no other record is given.
+     */
+    private static final String CHECK_RECORD = "data/records/check.rec";
+
+    /**
+     * Run the game without window.
+     */
+    public static void main(String[] args) {
+        int ticks = 3600;
+        boolean display = false;
+        boolean checkAllocation = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-ticks") && i + 1 < args.length) ticks = Integer.parseInt(args[++i]);
+            if (args[i].equals("-display")) display = true;
+            if (args[i].equals("-replay") && i + 1 < args.length) Growth.replay = args[++i];
+            if (args[i].equals("-parallel")) Growth.parallel = true;
+            if (args[i].equals("-checkalloc")) checkAllocation = true;
+        }
+        if (checkAllocation && Growth.replay == null) Growth.replay = CHECK_RECORD;
+
+        RecordingRenderBackend recording = new RecordingRenderBackend();
+        Render.setBackend(display ? recording : new NullRenderBackend());
+        Window.config = new Config();
+        Window.width = Config.getWindowWidth();
+        Window.height = Config.getWindowHeight();
+        if (Config.getRemotery() && RemoteProfiler.start(Config.getRemoteryPort())) RemoteProfiler.setThreadName("Headless");
+
+        long start = System.nanoTime();
+        Window.gameManager = new GameManager(Config.getInputs());
+        if (GameManager.recorder == null) Window.gameManager.setScreen(GameManager.GAMESCREEN);
+        System.out.println("Headless : game loaded in " + (System.nanoTime() - start) / 1000000 + " ms");
+
+        AllocationMeter allocationMeter = new AllocationMeter();
+        long tickTime = 0, frameTime = 0, allocation = 0;
+        long checkedAllocation = 0;
+        int checkedTicks = 0;
+        int startMap = GameScreen.tileMap.getCurrentMap();
+        boolean warmedUp = false;
+        long totalTime = 0;
+        int reportTicks = 0;
+        int done = 0;
+
+        start = System.nanoTime();
+        while (done < ticks) {
+            RemoteProfiler.beginFrame();
+            allocationMeter.begin();
+            long tickStart = System.nanoTime();
+            Window.gameManager.update();
+            long tickEnd = System.nanoTime();
+            tickTime += tickEnd - tickStart;
+
+            if (display) {
+                TextureLoader.process();
+                SpriteBatch.begin();
+                Window.gameManager.display();
+                SpriteBatch.end();
+                frameTime += System.nanoTime() - tickEnd;
+            }
+            long allocated = allocationMeter.end();
+            allocation += allocated;
+            RemoteProfiler.endFrame();
+
+            // A replay ends the run, its last tick prints the statistics of the replay
+            boolean finished = GameManager.recorder != null && !GameManager.recorder.isActive();
+
+            if (warmedUp && !finished) {
+                checkedAllocation += allocated;
+                checkedTicks++;
+            }
+            if (!warmedUp && done >= WARMUP_TICKS && GameScreen.tileMap.getCurrentMap() != startMap) warmedUp = true;
+            done++;
+
+            if (++reportTicks == REPORT_TICKS || done == ticks || finished) {
+                System.out.println("Ticks " + done + " : tick " + tickTime / reportTicks / 1000 + " us"
+                        + (display ? ", frame " + frameTime / reportTicks / 1000 + " us" : "")
+                        + ", " + allocation / reportTicks + " bytes/tick");
+                System.out.println("    " + GameScreen.entityManager.getStats());
+                if (display) System.out.println("    " + recording.getStats() + ", hash : " + Integer.toHexString(recording.getHash()));
+                totalTime += tickTime + frameTime;
+                tickTime = frameTime = allocation = 0;
+                reportTicks = 0;
+            }
+            if (finished) break;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Headless : " + done + " ticks in " + elapsed / 1000000 + " ms, "
+                + (long) (done / (elapsed / 1e9)) + " ticks/s (" + (long) (done / (totalTime / 1e9)) + " ticks/s measured)");
+
+        boolean failed = false;
+        if (checkAllocation) {
+            if (!AllocationMeter.isSupported() || checkedTicks == 0) {
+                System.err.println("[Error] Headless::main() Allocation check impossible : " + (checkedTicks == 0
+                        ? "no tick after the " + WARMUP_TICKS + " warm-up ticks and a map transition" : "measure not supported"));
+                failed = true;
+            } else {
+                System.out.println("Allocation check : " + checkedAllocation + " bytes in " + checkedTicks
+                        + " ticks after warm-up, " + JIT_ALLOWANCE + " bytes allowed");
+                if (checkedAllocation > JIT_ALLOWANCE) {
+                    System.err.println("[Error] Headless::main() The steady state allocates " + checkedAllocation + " bytes");
+                    failed = true;
+                }
+            }
+        }
+
+        Window.gameManager.unload();
+        Config.close();
+        RemoteProfiler.stop();
+        System.exit(failed ? 1 : 0);
+    }
+}
@@ -1,7 +1,17 @@
 package growth.main;
 
+import growth.inputs.MouseManager;
 import growth.render.Render;
+import growth.render.SpriteBatch;
+import growth.render.texture.TextureLoader;
 import growth.screen.GameManager;
+import growth.screen.SimulationThread;
+import growth.screen.overlay.ProfilerOverlay;
+import growth.util.AllocationMeter;
+import growth.util.FrameLimiter;
+import growth.util.Profiler;
+import growth.util.RemoteProfiler;
+import growth.util.TickJitter;
 import growth.util.Timer;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.glfw.GLFWVidMode;
@@ -57,27 +67,17 @@ public class Window implements GLFWWindowFocusCallbackI {
     /**
      * 1 second in nanoseconds.
      */
-    private static final float SECOND = 1000000000.0f;
+    private static final long SECOND = 1000000000L;
 
     /**
      * Needed TPS.
      */
-    private static final float TPS = 60.0f;
-
-    /**
-     * Max FPS.
-     */
-    private static final float FPS = 100000.0f;
+    private static final int TPS = 60;
 
     /**
      * Time in a tick.
      */
-    private static final double TICK_TIME = SECOND / TPS;
-
-    /**
-     * Time in a frame.
-     */
-    private static final double FRAME_TIME = SECOND / FPS;
+    public static final long TICK_TIME = SECOND / TPS;
 
     public static Config config;
 
@@ -157,6 +157,11 @@ public class Window implements GLFWWindowFocusCallbackI {
             );
         } // the stack frame is popped automatically
 
+        // The inputs are received by events, taken by the game at each tick
+        glfwSetKeyCallback(windowID, GameManager.INPUT_QUEUE::key);
+        glfwSetMouseButtonCallback(windowID, GameManager.INPUT_QUEUE::button);
+        glfwSetCursorPosCallback(windowID, GameManager.INPUT_QUEUE::cursor);
+
         // Make the OpenGL context current
         glfwMakeContextCurrent(windowID);
 
@@ -194,57 +199,140 @@ public class Window implements GLFWWindowFocusCallbackI {
      * Main method of game.
      */
     private static void loop() {
+        // Send the samples of the profiler to the Remotery viewer, from the loading of the first screen
+        if (Config.getRemotery() && RemoteProfiler.start(Config.getRemoteryPort())) {
+            RemoteProfiler.setThreadName("Render");
+            RemoteProfiler.bindOpenGL();
+        }
+
         // Set the screen manager
         gameManager = new GameManager(Config.getInputs());
+        // Set the profiler overlay, shown in admin mode with F6
+        ProfilerOverlay profilerOverlay = new ProfilerOverlay();
         // Set render parameters
         Render.setClearColor(225,255);
         Render.glEnable2D();
 
         int ticks = 0;
         int frames = 0;
+        int skippedTicks = 0;
 
         Timer timer = new Timer();
+        FrameLimiter limiter = new FrameLimiter(Config.getFrameCap());
+        int maxTicks = Config.getMaxTicksPerFrame();
+
+        // With the simulation thread, this thread only draws the last render snapshot
+        SimulationThread simulation = null;
+        TickJitter jitter = new TickJitter(TICK_TIME);
+        if (Growth.simulationThread) {
+            gameManager.startSimulation(TPS);
+            simulation = gameManager.getSimulation();
+            jitter = simulation.getJitter();
+        }
+        int simulationTicks = 0;
+
+        // Bytes allocated by the ticks and the frames, shown in admin mode
+        AllocationMeter allocationMeter = new AllocationMeter();
+        long tickAllocation = 0;
+        long frameAllocation = 0;
+
+        // Calls to GLFW made by the inputs during the ticks, shown in admin mode
+        int inputCalls = MouseManager.getNativeCalls();
 
-        double lastTick = 0.0;
-        double lastFrame = 0.0;
-        double lastSecond = 0.0;
+        // Time not simulated yet, run by steps of one tick
+        long accumulator = 0;
+        long lastTime = timer.getDuration();
+        long lastSecond = lastTime;
 
         while(!glfwWindowShouldClose(windowID)){
-            if (timer.getDuration() - lastTick >= TICK_TIME) {
-                gameManager.update();
-                ticks++;
-                lastTick += TICK_TIME;
-            } else if (timer.getDuration() - lastFrame >= FRAME_TIME) {
-                gameManager.display();
-                //System.out.println(Runtime.getRuntime().totalMemory()-Runtime.getRuntime().freeMemory());
-                glfwSwapBuffers(windowID);
-                glfwPollEvents();
-                frames++;
-                lastFrame += FRAME_TIME;
-            } else {
-                try {
-                    Thread.sleep(1);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+            RemoteProfiler.beginFrame();
+            glfwPollEvents();
+
+            if (simulation == null) {
+                long now = timer.getDuration();
+                accumulator += now - lastTime;
+                lastTime = now;
+
+                int tickCount = 0;
+                while (accumulator >= TICK_TIME && tickCount < maxTicks) {
+                    jitter.tick(System.nanoTime());
+                    allocationMeter.begin();
+                    gameManager.update();
+                    tickAllocation += allocationMeter.end();
+                    accumulator -= TICK_TIME;
+                    tickCount++;
+                    ticks++;
+                }
+
+                // The game can't catch up, the late ticks are skipped instead of slowing down every frame
+                if (accumulator >= TICK_TIME) {
+                    skippedTicks += accumulator / TICK_TIME;
+                    accumulator %= TICK_TIME;
                 }
+                Render.setInterpolation((float) accumulator / TICK_TIME);
             }
 
+            // Upload the textures decoded in the background
+            long profile = Profiler.begin(Profiler.UPLOAD);
+            TextureLoader.process();
+            Profiler.end(Profiler.UPLOAD, profile);
+
+            allocationMeter.begin();
+            SpriteBatch.begin();
+            gameManager.display();
+            if (Profiler.isEnabled()) profilerOverlay.display();
+            SpriteBatch.end();
+            frameAllocation += allocationMeter.end();
+            profile = Profiler.begin(Profiler.SWAP);
+            glfwSwapBuffers(windowID);
+            Profiler.end(Profiler.SWAP, profile);
+            frames++;
+
+            Profiler.endFrame();
+            RemoteProfiler.endFrame();
+            limiter.sync();
+
             if (timer.getDuration() - lastSecond >= SECOND) {
-                if(Growth.admin) glfwSetWindowTitle(windowID, "Growth | FPS:" + frames + "; TPS:" + ticks);
-                ticks = frames = 0;
+                if (simulation != null) {
+                    ticks = simulation.getTicks() - simulationTicks;
+                    simulationTicks = simulation.getTicks();
+                }
+                if(Growth.admin) glfwSetWindowTitle(windowID, "Growth | FPS:" + frames + "; TPS:" + ticks
+                        + "; Skipped ticks:" + skippedTicks
+                        + "; Jitter:" + (long) jitter.getDeviation() / 1000 + " us, max " + jitter.getMaxDeviation() / 1000 + " us"
+                        + "; Sleep:" + limiter.getSleepTime() / 1000000 + " ms; Spin:" + limiter.getSpinTime() / 1000000 + " ms"
+                        + "; Draw calls:" + SpriteBatch.getDrawCalls()
+                        + "; Bytes/tick:" + (ticks == 0 ? 0 : tickAllocation / ticks)
+                        + "; Bytes/frame:" + (frames == 0 ? 0 : frameAllocation / frames)
+                        + "; Input calls/tick:" + (ticks == 0 ? 0 : (float) (MouseManager.getNativeCalls() - inputCalls) / ticks));
+                inputCalls = MouseManager.getNativeCalls();
+                ticks = frames = skippedTicks = 0;
+                tickAllocation = frameAllocation = 0;
+                limiter.reset();
+                jitter.reset();
                 lastSecond += SECOND;
             }
         }
+        gameManager.stopSimulation();
     }
 
 
     /**
      * Exit the game.
+     * Called by the simulation thread, the window is only closed and the render thread exits the game.
      */
     public static void exit() {
+        SimulationThread simulation = gameManager.getSimulation();
+        if (simulation != null && simulation.isCurrent()) {
+            glfwSetWindowShouldClose(windowID, true);
+            return;
+        }
+
         gameManager.unload();
         Config.close();
 
+        // The background threads are stopped by the unload, the OpenGL samples are released with the context
+        RemoteProfiler.stop();
         destroyWindow();
         // Terminate GLFW and free the error callback
         glfwTerminate();
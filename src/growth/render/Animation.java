@@ -1,10 +1,11 @@
 package growth.render;
 
-import growth.render.texture.Texture;
+import growth.render.texture.TextureAtlas;
+import growth.render.texture.TextureRegion;
 
 /**
  * Animation class.
- * This class is use by entity to store textures.
+ * This class is use by entity to store the regions of its frames, packed in the texture atlas.
  *
  * @author MightyCode
  * @version 1.0
@@ -30,10 +31,10 @@ public class Animation {
 	private float count;
 
 	/**
-	 * Textures.
-	 * This variable contains all of the texture use by animation.
+	 * Regions.
+	 * This variable contains the region of each frame of the animation.
 	 */
-	private final Texture[] textures;
+	private final TextureRegion[] regions;
 
 	/**
 	 * Animation class constructor.
@@ -43,9 +44,9 @@ public class Animation {
 	 * @param delay Temp before moving on to the next texture.
 	 */
 	public Animation(String path, int numbAnimation, int delay) {
-		textures = new Texture[numbAnimation];
+		regions = new TextureRegion[numbAnimation];
 		for (int i = 0; i < numbAnimation; i++) {
-			textures[i] = new Texture((path + Integer.toString(i) + ".png"));
+			regions[i] = TextureAtlas.acquire(path + Integer.toString(i) + ".png");
 			// Example: load(\IAmAFile\1.png)
 		}
 		this.delay = delay;
@@ -61,25 +62,42 @@ public class Animation {
 		if (count > delay) {
 			count = 0;
 			current++;
-			if (current >= textures.length) {
+			if (current >= regions.length) {
 				current = 0;
 			}
 		}
 	}
 
 	/**
-	 * Delete the texture.
+	 * Restart the animation at its first frame.
+	 */
+	public void reset() {
+		current = 0;
+		count = 0;
+	}
+
+	/**
+	 * Release the regions.
 	 */
 	public void unload(){
-		for(Texture tex : textures){
-			tex.unload();
+		for(TextureRegion region : regions){
+			TextureAtlas.release(region);
 		}
 	}
 
 	/**
-	 * Bind the current texture
+	 * Bind the texture of the current frame.
 	 */
 	public void bind() {
-		 textures[current].bind();
+		 regions[current].bind();
+	}
+
+	/**
+	 * Get the region of the current frame.
+	 *
+	 * @return The region to display.
+	 */
+	public TextureRegion getRegion() {
+		return regions[current];
 	}
 }
\ No newline at end of file
@@ -1,13 +1,11 @@
 package growth.render;
 
+import growth.game.RenderSnapshot;
 import growth.game.entity.type.MovingEntity;
 import growth.main.Window;
 import growth.util.math.Color4;
-import growth.util.math.Vec2;
 import growth.render.shape.ShapeRenderer;
 
-import static org.lwjgl.opengl.GL11.glTranslatef;
-
 /**
  * Screen class.
  * This class is the basic architecture of all screens.
@@ -29,6 +27,18 @@ public class Camera {
      */
     private int posY;
 
+    /**
+     * Previous position.
+     * These variables contain the position of the camera at the beginning of the tick, to interpolate the frames.
+     */
+    private int prevX, prevY;
+
+    /**
+     * Applied position.
+     * These variables contain the position of the camera applied to the view for the current frame.
+     */
+    private int appliedX, appliedY;
+
     /**
      * Tween.
      * This variable contains the smooth movement of camera
@@ -60,6 +70,12 @@ public class Camera {
      */
     private MovingEntity entity;
 
+    /**
+     * Transition color.
+     * This variable contains the color of the transition, reused each frame.
+     */
+    private final Color4 transitionColor = new Color4();
+
 
     /**
      * Minimal position x of camera.
@@ -86,8 +102,43 @@ public class Camera {
     private int yMax;
 
     public Camera(int posX, int posY){
-        this.posX = posX;
-        this.posY = posY;
+        this.posX = prevX = posX;
+        this.posY = prevY = posY;
+    }
+
+    /**
+     * Begin a new tick, the current position becomes the previous position.
+     */
+    public void beginTick(){
+        prevX = posX;
+        prevY = posY;
+    }
+
+    /**
+     * Copy the position of the camera at the beginning and at the end of the tick in a render snapshot.
+     *
+     * @param snapshot The snapshot.
+     */
+    public void snapshot(RenderSnapshot snapshot){
+        snapshot.setCamera(prevX, prevY, posX, posY);
+    }
+
+    /**
+     * Move the view to the position of the camera for the frame, between the beginning and the end of the tick.
+     * The quads waiting in the sprite batch are drawn before.
+     *
+     * @param snapshot The snapshot of the tick drawn.
+     */
+    public void apply(RenderSnapshot snapshot){
+        float alpha = Render.getInterpolation();
+        int renderX = Math.round(snapshot.getCameraX(alpha));
+        int renderY = Math.round(snapshot.getCameraY(alpha));
+        if(renderX == appliedX && renderY == appliedY) return;
+
+        SpriteBatch.flush();
+        Render.getBackend().translate(renderX - appliedX, renderY - appliedY);
+        appliedX = renderX;
+        appliedY = renderY;
     }
 
     /**
@@ -115,11 +166,12 @@ public class Camera {
         float newTweenX = (isTween)? tweenX : 1;
         float newTweenY = (isTween)? tweenY : 1;
 
-        glTranslatef((int)((posX - this.posX + addCamera) * newTweenX),(int)((posY - this.posY) * newTweenY),0);
-
         this.posX += (int)((posX - this.posX + addCamera) * newTweenX);
         this.posY += (int)((posY - this.posY) * newTweenY);
         fixBounds();
+
+        // A camera set without tween jumps, it isn't interpolated
+        if(!isTween) beginTick();
     }
 
     /**
@@ -127,18 +179,14 @@ public class Camera {
      */
     private void fixBounds() {
         if(posX > xMin){
-            glTranslatef(xMin - posX,0,0);
             posX = xMin;
         } else if (posX < xMax){
-            glTranslatef(xMax - posX,0,0);
             posX = xMax;
         }
 
         if(posY > yMin){
-            glTranslatef(0,yMin - posY,0);
             posY = yMin;
         } else if (posY < yMax){
-            glTranslatef(0, yMax - posY ,0);
             posY = yMax;
         }
 
@@ -152,7 +200,11 @@ public class Camera {
      * @param alpha The alpha of the transition.
      */
     public void transition(int color, float alpha){
-        ShapeRenderer.rectC(new Vec2(0, 0), new Vec2(Window.width, Window.height), new Color4(color, color, color, alpha));
+        transitionColor.setR(color);
+        transitionColor.setG(color);
+        transitionColor.setB(color);
+        transitionColor.setA(alpha);
+        ShapeRenderer.rectC(0, 0, Window.width, Window.height, transitionColor);
     }
 
     /**
@@ -203,8 +255,7 @@ public class Camera {
      * @param posX New position x of the camera.
      */
     public void setPosX(int posX){
-        glTranslatef(posX - this.posX , 0,0);
-        this.posX = posX;
+        this.posX = prevX = posX;
     }
 
     /**
@@ -213,25 +264,24 @@ public class Camera {
      * @param posY New position y of the camera.
      */
     public void setPosY(int posY){
-        glTranslatef(0, posY - this.posY ,0);
-        this.posY = posY;
+        this.posY = prevY = posY;
     }
 
     /**
-     * Return the map position x.
+     * Return the map position x applied to the view, for the display.
      *
      * @return position x
      */
     public int getPosX() {
-        return posX;
+        return appliedX;
     }
 
     /**
-     * Return the map position y.
+     * Return the map position y applied to the view, for the display.
      *
      * @return Position y.
      */
     public int getPosY() {
-        return posY;
+        return appliedY;
     }
 }
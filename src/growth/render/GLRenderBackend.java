@@ -0,0 +1,147 @@
+package growth.render;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_CLAMP_TO_BORDER;
+
+/**
+ * OpenGL render backend class.
+ * This class draws with the fixed pipeline of OpenGL, in the context of the window.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class GLRenderBackend implements RenderBackend {
+
+    /**
+     * Vertex stride.
+     * This variable contains the size in bytes of one vertex of the sprite batch.
+     */
+    private static final int STRIDE = 8 * Float.BYTES;
+
+    /**
+     * Mesh vertex stride.
+     * This variable contains the size in bytes of one vertex of a static mesh.
+     */
+    private static final int MESH_STRIDE = SpriteBatch.MESH_VERTEX_SIZE * Float.BYTES;
+
+    @Override
+    public void beginFrame() {
+    }
+
+    @Override
+    public void endFrame() {
+    }
+
+    @Override
+    public int createTexture(ByteBuffer image, int width, int height) {
+        int id = glGenTextures();
+        glBindTexture(GL_TEXTURE_2D, id);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_BORDER);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_BORDER);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, image);
+        return id;
+    }
+
+    @Override
+    public void deleteTexture(int texture) {
+        glDeleteTextures(texture);
+    }
+
+    @Override
+    public void drawQuads(int texture, FloatBuffer vertices, int quads) {
+        if (texture == 0) {
+            glDisable(GL_TEXTURE_2D);
+        } else {
+            glBindTexture(GL_TEXTURE_2D, texture);
+        }
+
+        glEnableClientState(GL_VERTEX_ARRAY);
+        glEnableClientState(GL_TEXTURE_COORD_ARRAY);
+        glEnableClientState(GL_COLOR_ARRAY);
+
+        vertices.position(0);
+        glVertexPointer(2, GL_FLOAT, STRIDE, vertices);
+        vertices.position(2);
+        glTexCoordPointer(2, GL_FLOAT, STRIDE, vertices);
+        vertices.position(4);
+        glColorPointer(4, GL_FLOAT, STRIDE, vertices);
+        vertices.position(0);
+
+        glDrawArrays(GL_QUADS, 0, quads * 4);
+
+        glDisableClientState(GL_COLOR_ARRAY);
+        glDisableClientState(GL_TEXTURE_COORD_ARRAY);
+        glDisableClientState(GL_VERTEX_ARRAY);
+
+        if (texture == 0) glEnable(GL_TEXTURE_2D);
+    }
+
+    @Override
+    public void drawMesh(int texture, FloatBuffer mesh, int quads) {
+        glBindTexture(GL_TEXTURE_2D, texture);
+        glColor4f(1f, 1f, 1f, 1f);
+
+        glEnableClientState(GL_VERTEX_ARRAY);
+        glEnableClientState(GL_TEXTURE_COORD_ARRAY);
+
+        mesh.position(0);
+        glVertexPointer(2, GL_FLOAT, MESH_STRIDE, mesh);
+        mesh.position(2);
+        glTexCoordPointer(2, GL_FLOAT, MESH_STRIDE, mesh);
+        mesh.position(0);
+
+        glDrawArrays(GL_QUADS, 0, quads * 4);
+
+        glDisableClientState(GL_TEXTURE_COORD_ARRAY);
+        glDisableClientState(GL_VERTEX_ARRAY);
+    }
+
+    @Override
+    public void translate(float x, float y) {
+        glTranslatef(x, y, 0);
+    }
+
+    @Override
+    public void clear() {
+        glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+    }
+
+    @Override
+    public void setClearColor(float r, float g, float b, float a) {
+        glClearColor(r, g, b, a);
+    }
+
+    @Override
+    public void begin2D() {
+        int[] vPort = new int[4];
+
+        glGetIntegerv(GL_VIEWPORT, vPort);
+
+        glMatrixMode(GL_PROJECTION);
+        glPushMatrix();
+        glLoadIdentity();
+
+        glOrtho(0, vPort[2], vPort[3], 0, -1, 1);
+        glMatrixMode(GL_MODELVIEW);
+        glPushMatrix();
+        glLoadIdentity();
+    }
+
+    @Override
+    public void end2D() {
+        glMatrixMode(GL_PROJECTION);
+        glPopMatrix();
+        glMatrixMode(GL_MODELVIEW);
+        glPopMatrix();
+    }
+
+    @Override
+    public void setViewport(int width, int height) {
+        glViewport(0, 0, width, height);
+    }
+}
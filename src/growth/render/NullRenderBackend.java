@@ -0,0 +1,69 @@
+package growth.render;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Null render backend class.
+ * This class draws nothing, it only gives an id to the textures, for a game without window.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class NullRenderBackend implements RenderBackend {
+
+    /**
+     * Last texture.
+     * This variable contains the id of the last created texture.
+     */
+    private int lastTexture;
+
+    @Override
+    public void beginFrame() {
+    }
+
+    @Override
+    public void endFrame() {
+    }
+
+    @Override
+    public int createTexture(ByteBuffer image, int width, int height) {
+        return ++lastTexture;
+    }
+
+    @Override
+    public void deleteTexture(int texture) {
+    }
+
+    @Override
+    public void drawQuads(int texture, FloatBuffer vertices, int quads) {
+    }
+
+    @Override
+    public void drawMesh(int texture, FloatBuffer mesh, int quads) {
+    }
+
+    @Override
+    public void translate(float x, float y) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public void setClearColor(float r, float g, float b, float a) {
+    }
+
+    @Override
+    public void begin2D() {
+    }
+
+    @Override
+    public void end2D() {
+    }
+
+    @Override
+    public void setViewport(int width, int height) {
+    }
+}
@@ -0,0 +1,379 @@
+package growth.render;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Recording render backend class.
+ * This class draws nothing, it records the operations of each frame as a stream of ints in a buffer
+ * reused from frame to frame, and counts the draw calls, the texture binds, the vertices and the color changes.
+ * Two streams can be compared to find the first difference between two frames.
+ *
+ * Each command begins with its code, followed by its arguments, the floats stored as their bits.
+ * A draw of quads is followed by one record for each quad : position, size, texture coordinates and color.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class RecordingRenderBackend implements RenderBackend {
+
+    /**
+     * Command codes.
+     * These static final variables contain the code of each command in the stream.
+     */
+    public static final int QUADS = 1;
+    public static final int MESH = 2;
+    public static final int TRANSLATE = 3;
+    public static final int CLEAR = 4;
+    public static final int CLEAR_COLOR = 5;
+    public static final int BEGIN_2D = 6;
+    public static final int END_2D = 7;
+    public static final int VIEWPORT = 8;
+    public static final int CREATE_TEXTURE = 9;
+    public static final int DELETE_TEXTURE = 10;
+
+    /**
+     * Quad size.
+     * This variable contains the number of ints of one quad record : x, y, width, height, u v of two corners, color.
+     */
+    public static final int QUAD_SIZE = 9;
+
+    /**
+     * Vertex size.
+     * This variable contains the number of floats of one vertex of the sprite batch.
+     */
+    private static final int VERTEX_SIZE = 8;
+
+    /**
+     * Commands.
+     * This array contains the commands of the current frame.
+     */
+    private int[] commands = new int[4096];
+
+    /**
+     * Size.
+     * This variable contains the number of ints of the current frame.
+     */
+    private int size;
+
+    /**
+     * Last texture.
+     * This variable contains the id of the last created texture.
+     */
+    private int lastTexture;
+
+    /**
+     * Bound texture.
+     * This variable contains the texture used by the last draw, to count the binds.
+     */
+    private int bound;
+
+    /**
+     * Last color.
+     * This variable contains the packed color of the last recorded quad, to count the color changes.
+     */
+    private int color;
+
+    /**
+     * Counters.
+     * These variables contain the draw calls, texture binds, vertices and color changes of the current frame.
+     */
+    private int drawCalls, binds, vertices, colorChanges;
+
+    /**
+     * Last frame counters.
+     * These variables contain the counters of the last finished frame.
+     */
+    private int lastDrawCalls, lastBinds, lastVertices, lastColorChanges;
+
+    /**
+     * Frames.
+     * This variable contains the number of finished frames.
+     */
+    private int frames;
+
+    /**
+     * Ended.
+     * This variable is true once a frame is finished, its stream is kept until the next command.
+     */
+    private boolean ended = true;
+
+    @Override
+    public void beginFrame() {
+        open();
+    }
+
+    @Override
+    public void endFrame() {
+        open();
+        lastDrawCalls = drawCalls;
+        lastBinds = binds;
+        lastVertices = vertices;
+        lastColorChanges = colorChanges;
+        frames++;
+        ended = true;
+    }
+
+    /**
+     * Start the stream of a new frame if the last one is finished.
+     * The commands sent between two frames, like the moves of the camera during the ticks, belong to the next frame.
+     */
+    private void open() {
+        if (!ended) return;
+        ended = false;
+        size = 0;
+        drawCalls = binds = vertices = colorChanges = 0;
+        // The state of the graphic card isn't known at the beginning of a frame
+        bound = -1;
+        color = 0;
+    }
+
+    @Override
+    public int createTexture(ByteBuffer image, int width, int height) {
+        lastTexture++;
+        write(CREATE_TEXTURE, lastTexture, width, height);
+        return lastTexture;
+    }
+
+    @Override
+    public void deleteTexture(int texture) {
+        write(DELETE_TEXTURE, texture);
+    }
+
+    @Override
+    public void drawQuads(int texture, FloatBuffer vertexBuffer, int quads) {
+        draw(texture, quads);
+        write(QUADS, texture, quads);
+        reserve(quads * QUAD_SIZE);
+
+        for (int i = 0; i < quads; i++) {
+            // The top-left and the bottom-right vertices describe the whole quad
+            int first = i * 4 * VERTEX_SIZE;
+            int third = first + 2 * VERTEX_SIZE;
+            float x = vertexBuffer.get(first);
+            float y = vertexBuffer.get(first + 1);
+            int quadColor = pack(vertexBuffer, first + 4);
+
+            commands[size++] = Float.floatToRawIntBits(x);
+            commands[size++] = Float.floatToRawIntBits(y);
+            commands[size++] = Float.floatToRawIntBits(vertexBuffer.get(third) - x);
+            commands[size++] = Float.floatToRawIntBits(vertexBuffer.get(third + 1) - y);
+            commands[size++] = Float.floatToRawIntBits(vertexBuffer.get(first + 2));
+            commands[size++] = Float.floatToRawIntBits(vertexBuffer.get(first + 3));
+            commands[size++] = Float.floatToRawIntBits(vertexBuffer.get(third + 2));
+            commands[size++] = Float.floatToRawIntBits(vertexBuffer.get(third + 3));
+            commands[size++] = quadColor;
+
+            if (quadColor != color) {
+                colorChanges++;
+                color = quadColor;
+            }
+        }
+    }
+
+    @Override
+    public void drawMesh(int texture, FloatBuffer mesh, int quads) {
+        draw(texture, quads);
+        write(MESH, texture, quads);
+    }
+
+    @Override
+    public void translate(float x, float y) {
+        write(TRANSLATE, Float.floatToRawIntBits(x), Float.floatToRawIntBits(y));
+    }
+
+    @Override
+    public void clear() {
+        write(CLEAR);
+    }
+
+    @Override
+    public void setClearColor(float r, float g, float b, float a) {
+        write(CLEAR_COLOR, Float.floatToRawIntBits(r), Float.floatToRawIntBits(g), Float.floatToRawIntBits(b));
+        put(Float.floatToRawIntBits(a));
+    }
+
+    @Override
+    public void begin2D() {
+        write(BEGIN_2D);
+    }
+
+    @Override
+    public void end2D() {
+        write(END_2D);
+    }
+
+    @Override
+    public void setViewport(int width, int height) {
+        write(VIEWPORT, width, height);
+    }
+
+    /**
+     * Count a draw call.
+     */
+    private void draw(int texture, int quads) {
+        open();
+        drawCalls++;
+        vertices += quads * 4;
+        if (texture != 0 && texture != bound) {
+            binds++;
+            bound = texture;
+        }
+    }
+
+    /**
+     * Pack the color of a vertex in an int, 8 bits by component.
+     */
+    private static int pack(FloatBuffer vertexBuffer, int index) {
+        return (component(vertexBuffer.get(index)) << 24) | (component(vertexBuffer.get(index + 1)) << 16)
+                | (component(vertexBuffer.get(index + 2)) << 8) | component(vertexBuffer.get(index + 3));
+    }
+
+    /**
+     * Convert a color component from 0 - 1 to 0 - 255.
+     */
+    private static int component(float value) {
+        return Math.max(0, Math.min(255, Math.round(value * 255)));
+    }
+
+    /**
+     * Add a command without argument to the stream.
+     */
+    private void write(int code) {
+        open();
+        put(code);
+    }
+
+    /**
+     * Add a command with one argument to the stream.
+     */
+    private void write(int code, int a) {
+        write(code);
+        put(a);
+    }
+
+    /**
+     * Add a command with two arguments to the stream.
+     */
+    private void write(int code, int a, int b) {
+        write(code, a);
+        put(b);
+    }
+
+    /**
+     * Add a command with three arguments to the stream.
+     */
+    private void write(int code, int a, int b, int c) {
+        write(code, a, b);
+        put(c);
+    }
+
+    /**
+     * Add an int to the stream.
+     */
+    private void put(int value) {
+        reserve(1);
+        commands[size++] = value;
+    }
+
+    /**
+     * Make the buffer big enough for some more ints.
+     */
+    private void reserve(int length) {
+        if (size + length > commands.length) commands = Arrays.copyOf(commands, Math.max(size + length, commands.length * 2));
+    }
+
+    /**
+     * Compare the current frame with a stream.
+     *
+     * @param other The other stream.
+     * @param otherSize The number of ints of the other stream.
+     *
+     * @return The index of the first different int, or -1 if the streams are the same.
+     */
+    public int compare(int[] other, int otherSize) {
+        int length = Math.min(size, otherSize);
+        for (int i = 0; i < length; i++) {
+            if (commands[i] != other[i]) return i;
+        }
+        return (size == otherSize) ? -1 : length;
+    }
+
+    /**
+     * Get a copy of the stream of the current frame, to compare it later.
+     *
+     * @return The commands.
+     */
+    public int[] copyFrame() {
+        return Arrays.copyOf(commands, size);
+    }
+
+    /**
+     * Get a hash of the stream of the current frame.
+     *
+     * @return The hash.
+     */
+    public int getHash() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + commands[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Get the number of ints of the current frame.
+     *
+     * @return size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of draw calls of the last finished frame.
+     *
+     * @return lastDrawCalls
+     */
+    public int getDrawCalls() {
+        return lastDrawCalls;
+    }
+
+    /**
+     * Get the number of texture binds of the last finished frame.
+     *
+     * @return lastBinds
+     */
+    public int getBinds() {
+        return lastBinds;
+    }
+
+    /**
+     * Get the number of vertices of the last finished frame.
+     *
+     * @return lastVertices
+     */
+    public int getVertices() {
+        return lastVertices;
+    }
+
+    /**
+     * Get the number of color changes between the quads of the last finished frame.
+     *
+     * @return lastColorChanges
+     */
+    public int getColorChanges() {
+        return lastColorChanges;
+    }
+
+    /**
+     * Get the statistics of the last finished frame.
+     *
+     * @return The statistics as text.
+     */
+    public String getStats() {
+        return "Frame " + frames + " : " + lastDrawCalls + " draw calls, " + lastBinds + " binds, " + lastVertices
+                + " vertices, " + lastColorChanges + " color changes, " + size + " ints";
+    }
+}
@@ -1,73 +1,108 @@
 package growth.render;
 
-import static org.lwjgl.opengl.GL11.*;
-
 /**
  * Class with utility.
+ * The operations go to the render backend, OpenGL by default.
+ *
  * @author MightyCode
- * @version 1.1
+ * @version 1.2
  */
 public abstract class Render {
 
 	/**
-	 * Set the 2D view.
+	 * Backend.
+	 * This variable contains the render backend receiving every operation on the graphic card.
 	 */
-	public static void glEnable2D() {
-		int[] vPort = new int[4];
-
-		glGetIntegerv(GL_VIEWPORT, vPort);
+	private static RenderBackend backend = new GLRenderBackend();
 
-		glMatrixMode(GL_PROJECTION);
-		glPushMatrix();
-		glLoadIdentity();
+	/**
+	 * Interpolation.
+	 * This variable contains the part of the next tick elapsed at the time of the frame, from 0 to 1.
+	 */
+	private static float interpolation = 1;
 
-		glOrtho(0, vPort[2], vPort[3], 0, -1, 1);
-		glMatrixMode(GL_MODELVIEW);
-		glPushMatrix();
-		glLoadIdentity();
+	/**
+	 * Set the 2D view.
+	 */
+	public static void glEnable2D() {
+		backend.begin2D();
 	}
 
 	/**
 	 * Clear the screen with white color.
 	 */
 	public static void clear(){
-		glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+		SpriteBatch.flush();
+		backend.clear();
 	}
 
 	/**
 	 * Set the clear color.
 	 */
 	public static void setClearColor(float color1, float color2, float color3, float alpha){
-		glClearColor(color1, color2, color3, alpha);
+		backend.setClearColor(color1, color2, color3, alpha);
 	}
 
 	/**
 	 * Surcharge method to set color without alpha.
 	 */
-	public static void setClearColor(float color1, float color2, float color3){ glClearColor(color1, color2, color3, 1f);}
+	public static void setClearColor(float color1, float color2, float color3){ backend.setClearColor(color1, color2, color3, 1f);}
 
 
 	/**
 	 * Surcharge method to set the clear color.
 	 */
-	public static void setClearColor(float color, float alpha){ glClearColor(color, color, color, alpha);}
+	public static void setClearColor(float color, float alpha){ backend.setClearColor(color, color, color, alpha);}
 
 	/**
 	 * Surcharge method to set the clear color without alpha.
 	 */
-	public static void setClearColor(float color){ glClearColor(color, color, color, 1f);}
+	public static void setClearColor(float color){ backend.setClearColor(color, color, color, 1f);}
 
 	/**
 	 * Set the 3D view.
 	 */
 	public static void glDisable2D() {
-		glMatrixMode(GL_PROJECTION);
-		glPopMatrix();
-		glMatrixMode(GL_MODELVIEW);
-		glPopMatrix();
+		backend.end2D();
 	}
 
 	public static void setViewPort(int width, int height){
-		glViewport(0, 0, width, height);
+		backend.setViewport(width, height);
+	}
+
+	/**
+	 * Get the part of the next tick elapsed, to draw the moving things between the last two ticks.
+	 *
+	 * @return interpolation
+	 */
+	public static float getInterpolation(){
+		return interpolation;
+	}
+
+	/**
+	 * Set the part of the next tick elapsed at the time of the frame.
+	 *
+	 * @param newInterpolation From 0, the previous tick, to 1, the last tick.
+	 */
+	public static void setInterpolation(float newInterpolation){
+		interpolation = newInterpolation;
+	}
+
+	/**
+	 * Get the render backend.
+	 *
+	 * @return backend
+	 */
+	public static RenderBackend getBackend(){
+		return backend;
+	}
+
+	/**
+	 * Set the render backend, before the creation of the first texture.
+	 *
+	 * @param newBackend The new backend.
+	 */
+	public static void setBackend(RenderBackend newBackend){
+		backend = newBackend;
 	}
 }
@@ -0,0 +1,97 @@
+package growth.render;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Render backend interface.
+ * This interface receives every operation of the game on the graphic card : the textures, the quads,
+ * the view and the screen. The OpenGL backend draws them, the other backends let the game run without a window.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public interface RenderBackend {
+
+    /**
+     * Begin a new frame.
+     */
+    void beginFrame();
+
+    /**
+     * Finish the current frame.
+     */
+    void endFrame();
+
+    /**
+     * Create a texture and upload its image.
+     *
+     * @param image Pixels in RGBA.
+     * @param width Width of the image.
+     * @param height Height of the image.
+     *
+     * @return The id of the texture, never 0.
+     */
+    int createTexture(ByteBuffer image, int width, int height);
+
+    /**
+     * Delete a texture.
+     *
+     * @param texture The id of the texture.
+     */
+    void deleteTexture(int texture);
+
+    /**
+     * Draw the quads of the sprite batch, 4 vertices by quad : position x y, texture u v, color r g b a.
+     *
+     * @param texture The id of the texture, 0 for untextured quads.
+     * @param vertices The vertices.
+     * @param quads The number of quads.
+     */
+    void drawQuads(int texture, FloatBuffer vertices, int quads);
+
+    /**
+     * Draw a white textured mesh, 4 vertices by quad : position x y, texture u v.
+     *
+     * @param texture The id of the texture.
+     * @param mesh The vertices.
+     * @param quads The number of quads.
+     */
+    void drawMesh(int texture, FloatBuffer mesh, int quads);
+
+    /**
+     * Translate the view.
+     *
+     * @param x Translation in x.
+     * @param y Translation in y.
+     */
+    void translate(float x, float y);
+
+    /**
+     * Clear the screen.
+     */
+    void clear();
+
+    /**
+     * Set the clear color.
+     */
+    void setClearColor(float r, float g, float b, float a);
+
+    /**
+     * Set a 2D view of the size of the viewport.
+     */
+    void begin2D();
+
+    /**
+     * Restore the view set before the 2D view.
+     */
+    void end2D();
+
+    /**
+     * Set the viewport.
+     *
+     * @param width Width of the viewport.
+     * @param height Height of the viewport.
+     */
+    void setViewport(int width, int height);
+}
@@ -0,0 +1,222 @@
+package growth.render;
+
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Sprite batch class.
+ * This class accumulates the quads of a frame in an off-heap vertex buffer
+ * and sends them to the render backend in one draw call for each texture change.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class SpriteBatch {
+
+    /**
+     * Max quads.
+     * This variable contains the number of quads the buffer can store before a flush.
+     */
+    private static final int MAX_QUADS = 2048;
+
+    /**
+     * Vertex size.
+     * This variable contains the number of float of one vertex (position x y, texture u v, color r g b a).
+     */
+    private static final int VERTEX_SIZE = 8;
+
+    /**
+     * Mesh vertex size.
+     * This variable contains the number of float of one vertex of a static mesh (position x y, texture u v).
+     */
+    public static final int MESH_VERTEX_SIZE = 4;
+
+    /**
+     * Vertices.
+     * This buffer contains the vertices waiting to be drawn.
+     */
+    private static final FloatBuffer vertices = BufferUtils.createFloatBuffer(MAX_QUADS * 4 * VERTEX_SIZE);
+
+    /**
+     * Quad count.
+     * This variable contains the number of quads stored in the buffer.
+     */
+    private static int quads;
+
+    /**
+     * Current texture.
+     * This variable contains the texture id set by the last bind, used by the next textured quads.
+     */
+    private static int current;
+
+    /**
+     * Batch texture.
+     * This variable contains the texture id of the quads stored in the buffer, 0 for untextured quads.
+     */
+    private static int batchTexture;
+
+    /**
+     * Draw calls.
+     * These variables contain the number of draw calls in the current frame and in the last finished frame.
+     */
+    private static int drawCalls, lastDrawCalls;
+
+    /**
+     * Quads drawn.
+     * These variables contain the number of quads drawn in the current frame and in the last finished frame.
+     */
+    private static int quadsDrawn, lastQuadsDrawn;
+
+    /**
+     * Set the texture used by the next textured quads.
+     * The buffer is only flushed when a quad with another texture is added.
+     *
+     * @param textureID The OpenGL texture id.
+     */
+    public static void bind(int textureID) {
+        current = textureID;
+    }
+
+    /**
+     * Add a textured quad using the current texture.
+     *
+     * @param posX Position x of the top-left corner.
+     * @param posY Position y of the top-left corner.
+     * @param sizeX Quad's width.
+     * @param sizeY Quad's height.
+     * @param fromX Texture coordinate x of the top-left corner.
+     * @param fromY Texture coordinate y of the top-left corner.
+     * @param toX Texture coordinate x of the bottom-right corner.
+     * @param toY Texture coordinate y of the bottom-right corner.
+     * @param r Red component.
+     * @param g Green component.
+     * @param b Blue component.
+     * @param a Alpha component.
+     */
+    public static void quad(float posX, float posY, float sizeX, float sizeY,
+                            float fromX, float fromY, float toX, float toY,
+                            float r, float g, float b, float a) {
+        add(current, posX, posY, sizeX, sizeY, fromX, fromY, toX, toY, r, g, b, a);
+    }
+
+    /**
+     * Add an untextured quad, the current texture stays the same for the next textured quads.
+     *
+     * @param posX Position x of the top-left corner.
+     * @param posY Position y of the top-left corner.
+     * @param sizeX Quad's width.
+     * @param sizeY Quad's height.
+     * @param r Red component.
+     * @param g Green component.
+     * @param b Blue component.
+     * @param a Alpha component.
+     */
+    public static void rect(float posX, float posY, float sizeX, float sizeY, float r, float g, float b, float a) {
+        add(0, posX, posY, sizeX, sizeY, 0, 0, 0, 0, r, g, b, a);
+    }
+
+    /**
+     * Store a quad in the buffer, flushing it before if the texture change or if it is full.
+     */
+    private static void add(int texture, float posX, float posY, float sizeX, float sizeY,
+                            float fromX, float fromY, float toX, float toY,
+                            float r, float g, float b, float a) {
+        if (texture != batchTexture || quads == MAX_QUADS) {
+            flush();
+            batchTexture = texture;
+        }
+
+        int i = quads * 4 * VERTEX_SIZE;
+        i = vertex(i, posX, posY, fromX, fromY, r, g, b, a);
+        i = vertex(i, posX, posY + sizeY, fromX, toY, r, g, b, a);
+        i = vertex(i, posX + sizeX, posY + sizeY, toX, toY, r, g, b, a);
+        vertex(i, posX + sizeX, posY, toX, fromY, r, g, b, a);
+        quads++;
+    }
+
+    /**
+     * Write one vertex in the buffer.
+     *
+     * @return The index of the next vertex.
+     */
+    private static int vertex(int i, float x, float y, float u, float v, float r, float g, float b, float a) {
+        vertices.put(i, x);
+        vertices.put(i + 1, y);
+        vertices.put(i + 2, u);
+        vertices.put(i + 3, v);
+        vertices.put(i + 4, r);
+        vertices.put(i + 5, g);
+        vertices.put(i + 6, b);
+        vertices.put(i + 7, a);
+        return i + VERTEX_SIZE;
+    }
+
+    /**
+     * Draw the stored quads and empty the buffer.
+     * Must be called before every change of the OpenGL state used by the quads (matrix, clear).
+     */
+    public static void flush() {
+        if (quads == 0) return;
+
+        Render.getBackend().drawQuads(batchTexture, vertices, quads);
+
+        drawCalls++;
+        quadsDrawn += quads;
+        quads = 0;
+    }
+
+    /**
+     * Draw a static mesh built once, like a chunk of the tile map.
+     * The mesh is made of white quads stored with the mesh vertex format.
+     *
+     * @param texture The OpenGL texture id of the mesh.
+     * @param mesh The vertices of the mesh.
+     * @param meshQuads The number of quads in the mesh.
+     */
+    public static void mesh(int texture, FloatBuffer mesh, int meshQuads) {
+        flush();
+
+        Render.getBackend().drawMesh(texture, mesh, meshQuads);
+
+        drawCalls++;
+        quadsDrawn += meshQuads;
+    }
+
+    /**
+     * Begin a new frame.
+     */
+    public static void begin() {
+        Render.getBackend().beginFrame();
+        drawCalls = 0;
+        quadsDrawn = 0;
+    }
+
+    /**
+     * Finish the current frame, draw the remaining quads and save the frame's counters.
+     */
+    public static void end() {
+        flush();
+        lastDrawCalls = drawCalls;
+        lastQuadsDrawn = quadsDrawn;
+        Render.getBackend().endFrame();
+    }
+
+    /**
+     * Get the number of draw calls of the last finished frame.
+     *
+     * @return draw calls
+     */
+    public static int getDrawCalls() {
+        return lastDrawCalls;
+    }
+
+    /**
+     * Get the number of quads drawn during the last finished frame.
+     *
+     * @return quads
+     */
+    public static int getQuadsDrawn() {
+        return lastQuadsDrawn;
+    }
+}
@@ -4,7 +4,8 @@ import growth.util.math.Color4;
 import growth.util.math.Vec2;
 import growth.render.text.FontFace;
 import growth.render.text.FontRenderer;
-import growth.render.texture.Texture;
+import growth.render.texture.TextureAtlas;
+import growth.render.texture.TextureRegion;
 import growth.render.texture.TextureRenderer;
 import growth.screen.GameManager;
 
@@ -21,9 +22,9 @@ import static org.lwjgl.glfw.GLFW.GLFW_MOUSE_BUTTON_LEFT;
 public class GUICheckBox extends GUIComponent {
 
     /**
-     * The texture use by the check button.
+     * The regions of the atlas use by the check button.
      */
-    private Texture uncheck, uncheck_hover, check, check_hover;
+    private TextureRegion uncheck, uncheck_hover, check, check_hover;
 
     /**
      * The colors of text of the check box.
@@ -49,10 +50,10 @@ public class GUICheckBox extends GUIComponent {
     public GUICheckBox(Vec2 pos, Vec2 size, int number, FontFace font, Color4 textColor, Color4 hoverTextColor){
         super(new Vec2(pos.getX() - (size.getX() / 2), pos.getY() - (size.getY() / 2)),size);
         // Loading texture
-        uncheck = new Texture("/textures/menu/GUICheckBox-uncheck.png");
-        uncheck_hover = new Texture("/textures/menu/GUICheckBox-uncheckHover.png");
-        check = new Texture("/textures/menu/GUICheckBox-check.png");
-        check_hover = new Texture("/textures/menu/GUICheckBox-checkHover.png");
+        uncheck = TextureAtlas.acquire("/textures/menu/GUICheckBox-uncheck.png");
+        uncheck_hover = TextureAtlas.acquire("/textures/menu/GUICheckBox-uncheckHover.png");
+        check = TextureAtlas.acquire("/textures/menu/GUICheckBox-check.png");
+        check_hover = TextureAtlas.acquire("/textures/menu/GUICheckBox-checkHover.png");
 
         this.textColor = textColor;
         this.hoverTextColor = hoverTextColor;
@@ -83,20 +84,14 @@ public class GUICheckBox extends GUIComponent {
      * Display the button.
      */
     public void display() {
+        TextureRegion region;
         if(GUIState == 1){
-            if (mouseOver) {
-                check_hover.bind();
-            } else {
-                check.bind();
-            }
+            region = (mouseOver) ? check_hover : check;
         } else{
-            if (mouseOver) {
-                uncheck_hover.bind();
-            } else {
-                uncheck.bind();
-            }
+            region = (mouseOver) ? uncheck_hover : uncheck;
         }
-        TextureRenderer.imageC(pos,size,1f);
+        region.bind();
+        TextureRenderer.imageC(pos, size, region.getFrom(), region.getTo(), 1f);
         fontRenderer.render();
     }
 
@@ -104,10 +99,10 @@ public class GUICheckBox extends GUIComponent {
      * Free the memory.
      */
     public void unload(){
-        uncheck.unload();
-        uncheck_hover.unload();
-        check.unload();
-        check_hover.unload();
+        TextureAtlas.release(uncheck);
+        TextureAtlas.release(uncheck_hover);
+        TextureAtlas.release(check);
+        TextureAtlas.release(check_hover);
         fontRenderer.unload();
     }
 }
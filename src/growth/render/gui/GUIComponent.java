@@ -1,6 +1,6 @@
 package growth.render.gui;
 
-import growth.inputs.MouseManager;
+import growth.screen.GameManager;
 import growth.util.math.Vec2;
 
 /**
@@ -65,10 +65,12 @@ public abstract class GUIComponent {
      * Test if the mouse is over the GUIComponent.
      */
     protected boolean mouseOver() {
-        return  (MouseManager.mouseX() > pos.getX() &&
-                MouseManager.mouseX() < pos.getX() + size.getX()) &&
-                (MouseManager.mouseY() > pos.getY() &&
-                        MouseManager.mouseY() < pos.getY() + size.getY());
+        float mouseX = GameManager.mouseManager.mouseX();
+        float mouseY = GameManager.mouseManager.mouseY();
+        return  (mouseX > pos.getX() &&
+                mouseX < pos.getX() + size.getX()) &&
+                (mouseY > pos.getY() &&
+                        mouseY < pos.getY() + size.getY());
     }
 
     /**
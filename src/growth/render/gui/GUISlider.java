@@ -1,10 +1,11 @@
 package growth.render.gui;
 
-import growth.inputs.MouseManager;
 import growth.render.text.FontFace;
 import growth.render.text.FontRenderer;
-import growth.render.texture.Texture;
+import growth.render.texture.TextureAtlas;
+import growth.render.texture.TextureRegion;
 import growth.render.texture.TextureRenderer;
+import growth.screen.GameManager;
 import growth.util.math.Color4;
 import growth.util.math.Math;
 import growth.util.math.Vec2;
@@ -12,9 +13,9 @@ import growth.util.math.Vec2;
 public class GUISlider extends GUIComponent{
 
     /**
-     * The texture use by the check button.
+     * The regions of the atlas use by the slider.
      */
-    private Texture slider, sliderHover, sliderButton, sliderButtonHover;
+    private TextureRegion slider, sliderHover, sliderButton, sliderButtonHover;
 
     /**
      * The colors of text of the check box.
@@ -37,7 +38,12 @@ public class GUISlider extends GUIComponent{
 
     private float minValue, maxValue;
 
-    private int oldSizeText;
+    /**
+     * Text displayed.
+     * These variables contain the text without the value, the full text set to the font renderer and the value shown.
+     */
+    private String label, displayedText;
+    private int displayedValue;
 
 
     /**
@@ -53,18 +59,20 @@ public class GUISlider extends GUIComponent{
     public GUISlider(Vec2 pos, Vec2 size, int number, FontFace font, Color4 textColor, Color4 hoverTextColor, float minValue, float maxValue, int value){
         super(new Vec2(pos.getX() - (size.getX() / 2), pos.getY() - (size.getY() / 2)),size);
         // Loading texture
-        slider = new Texture("/textures/menu/GUISlider.png");
-        sliderHover = new Texture("/textures/menu/GUISlider-hover.png");
-        sliderButton = new Texture("/textures/menu/GUISliderButton.png");
-        sliderButtonHover = new Texture("/textures/menu/GUISliderButton-hover.png");
+        slider = TextureAtlas.acquire("/textures/menu/GUISlider.png");
+        sliderHover = TextureAtlas.acquire("/textures/menu/GUISlider-hover.png");
+        sliderButton = TextureAtlas.acquire("/textures/menu/GUISliderButton.png");
+        sliderButtonHover = TextureAtlas.acquire("/textures/menu/GUISliderButton-hover.png");
 
         this.textColor = textColor;
         this.hoverTextColor = hoverTextColor;
 
         fontRenderer = new FontRenderer(number, font, size.getY()*0.4f, pos, textColor);
         fontRenderer.setPos(new Vec2(this.pos.getX() + size.getX()/2, this.pos.getY()+size.getX()*0.1f));
-        fontRenderer.setText(fontRenderer.getText()+value);
-        oldSizeText = fontRenderer.getText().length();
+        label = fontRenderer.getText();
+        displayedValue = value;
+        displayedText = label + value;
+        fontRenderer.setText(displayedText);
 
         this.minValue = minValue;
         this.maxValue = maxValue;
@@ -81,23 +89,30 @@ public class GUISlider extends GUIComponent{
      * Update the button.
      */
     public void update() {
-        if(oldSizeText == fontRenderer.getText().length()){
-            fontRenderer.setText(fontRenderer.getText().substring(0,fontRenderer.getText().length() - String.valueOf((int)value).length()));
-            value = Math.map(cursorPos.getX(),
-                    this.pos.getX()+this.size.getX()*0.1f - cursorSize.getX()/2,
-                    this.pos.getX()+ this.size.getX()*0.9f - cursorSize.getX()/2,minValue,maxValue);
+        // A language change set the text without the value
+        boolean textChanged = !fontRenderer.getText().equals(displayedText);
+        if(textChanged) label = fontRenderer.getText();
+
+        value = Math.map(cursorPos.getX(),
+                this.pos.getX()+this.size.getX()*0.1f - cursorSize.getX()/2,
+                this.pos.getX()+ this.size.getX()*0.9f - cursorSize.getX()/2,minValue,maxValue);
+
+        // Only rebuild the text when it changes
+        if(textChanged || displayedValue != (int)value){
+            displayedValue = (int)value;
+            displayedText = label + displayedValue;
+            fontRenderer.setText(displayedText);
         }
-        fontRenderer.setText(fontRenderer.getText() + (int)value);
 
-        oldSizeText = fontRenderer.getText().length();
         if (lock) return;
 
         mouseOver = mouseOver();
-        if (mouseOver && MouseManager.button(0)) {
-            cursorPos.setX(MouseManager.mouseX() - cursorSize.getX()/2);
-            if(MouseManager.mouseX() < pos.getX() + size.getX()*0.1f){
+        if (mouseOver && GameManager.mouseManager.button(0)) {
+            float mouseX = GameManager.mouseManager.mouseX();
+            cursorPos.setX(mouseX - cursorSize.getX()/2);
+            if(mouseX < pos.getX() + size.getX()*0.1f){
                 cursorPos.setX(pos.getX() + size.getX()*0.1f - cursorSize.getX()/2);
-            }else if(MouseManager.mouseX() > pos.getX() + size.getX()*0.9f){
+            }else if(mouseX > pos.getX() + size.getX()*0.9f){
                 cursorPos.setX(pos.getX() + size.getX()*0.9f - cursorSize.getX()/2);
             }
             action();
@@ -109,16 +124,12 @@ public class GUISlider extends GUIComponent{
      */
     public void display() {
         //TextureRenderer.imageC(pos,size,1f);
-        if (!mouseOver) {
-            slider.bind();
-            TextureRenderer.imageC(pos,size);
-            sliderButton.bind();
-        } else {
-            sliderHover.bind();
-            TextureRenderer.imageC(pos,size);
-            sliderButtonHover.bind();
-        }
-        TextureRenderer.imageC(cursorPos, cursorSize);
+        TextureRegion bar = (mouseOver) ? sliderHover : slider;
+        TextureRegion button = (mouseOver) ? sliderButtonHover : sliderButton;
+        bar.bind();
+        TextureRenderer.imageC(pos, size, bar.getFrom(), bar.getTo());
+        button.bind();
+        TextureRenderer.imageC(cursorPos, cursorSize, button.getFrom(), button.getTo());
         fontRenderer.render();
     }
 
@@ -126,10 +137,10 @@ public class GUISlider extends GUIComponent{
      * Free the memory.
      */
     public void unload(){
-        slider.unload();
-        sliderHover.unload();
-        sliderButton.unload();
-        sliderButtonHover.unload();
+        TextureAtlas.release(slider);
+        TextureAtlas.release(sliderHover);
+        TextureAtlas.release(sliderButton);
+        TextureAtlas.release(sliderButtonHover);
         fontRenderer.unload();
     }
 }
@@ -1,17 +1,16 @@
 package growth.render.shape;
 
+import growth.render.SpriteBatch;
 import growth.util.math.Color4;
 import growth.util.math.Vec2;
 import growth.screen.GameManager;
 
-import static org.lwjgl.opengl.GL11.*;
-
 /**
  * Shape rendering abstract class.
- * This class is only call by the Render class to display different shape
+ * This class is only call by the Render class to display different shape, the quads are stored in the sprite batch.
  *
  * @author MightyCode
- * @version 1.1
+ * @version 1.2
  */
 public class ShapeRenderer {
 
@@ -22,17 +21,14 @@ public class ShapeRenderer {
      * @param color The color of the rectangle.
      */
     public static void rect(Vec2 pos, Vec2 size, Color4 color) {
-        glDisable(GL_TEXTURE_2D);
-        glDisable(GL_TEXTURE);
-        glColor4f(color.getR(), color.getG(), color.getB(), color.getA());
-        glBegin(GL_QUADS);
-        glVertex2d(pos.getX(), pos.getY());
-        glVertex2d(pos.getX() + size.getX(), pos.getY());
-        glVertex2d(pos.getX() + size.getX(), pos.getY() + size.getY());
-        glVertex2d(pos.getX(), pos.getY() + size.getY());
-        glEnd();
-        glEnable(GL_TEXTURE_2D);
-        glEnable(GL_TEXTURE);
+        rect(pos.getX(), pos.getY(), size.getX(), size.getY(), color);
+    }
+
+    /**
+     * Surcharge method using the position and size values.
+     */
+    public static void rect(float posX, float posY, float sizeX, float sizeY, Color4 color) {
+        SpriteBatch.rect(posX, posY, sizeX, sizeY, color.getR(), color.getG(), color.getB(), color.getA());
     }
 
     /**
@@ -42,6 +38,13 @@ public class ShapeRenderer {
      * @param color The color of the rectangle.
      */
     public static void rectC(Vec2 pos, Vec2 size, Color4 color) {
-        rect(new Vec2(pos.getX() - GameManager.CAMERA.getPosX(), pos.getY() - GameManager.CAMERA.getPosY()), size, color);
+        rectC(pos.getX(), pos.getY(), size.getX(), size.getY(), color);
+    }
+
+    /**
+     * Surcharge method using the position and size values.
+     */
+    public static void rectC(float posX, float posY, float sizeX, float sizeY, Color4 color) {
+        rect(posX - GameManager.CAMERA.getPosX(), posY - GameManager.CAMERA.getPosY(), sizeX, sizeY, color);
     }
 }
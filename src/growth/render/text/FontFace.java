@@ -1,6 +1,7 @@
 package growth.render.text;
 
 import growth.render.texture.Texture;
+import growth.render.texture.TextureRegistry;
 
 public class FontFace {
 
@@ -15,7 +16,7 @@ public class FontFace {
     private FontFile fontFile;
 
     public FontFace(String name) {
-        fontAtlas = new Texture("/fonts/" + name + ".png");
+        fontAtlas = TextureRegistry.acquire("/fonts/" + name + ".png");
 
         fontFile = new FontFile("/fonts/" + name + ".fnt");
     }
@@ -39,6 +40,6 @@ public class FontFace {
     }
 
     public void unload() {
-        fontAtlas.unload();
+        TextureRegistry.release(fontAtlas);
     }
 }
@@ -1,5 +1,7 @@
 package growth.render.text;
 
+import growth.render.SpriteBatch;
+import growth.util.Profiler;
 import growth.util.math.Color4;
 import growth.util.math.Vec2;
 import growth.screen.GameManager;
@@ -7,8 +9,6 @@ import growth.screen.GameManager;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.lwjgl.opengl.GL11.*;
-
 @SuppressWarnings("JavaDoc")
 public class FontRenderer {
 
@@ -151,14 +151,59 @@ public class FontRenderer {
      * Render the text.
      */
     public void render() {
+        long start = Profiler.begin(Profiler.FONTS);
+        font.getTexture().bind();
+        float offsetX = pos.getX() - GameManager.CAMERA.getPosX();
+        float offsetY = pos.getY() - GameManager.CAMERA.getPosY();
+        // Each character is stored as 4 vertices: top-left, top-right, bottom-right, bottom-left
+        for (int i = 0; i < mesh.size(); i += 4) {
+            Vec2 from = mesh.get(i);
+            Vec2 to = mesh.get(i + 2);
+            SpriteBatch.quad(from.getX() * size + offsetX, from.getY() * size + offsetY,
+                    (to.getX() - from.getX()) * size, (to.getY() - from.getY()) * size,
+                    texture.get(i).getX(), texture.get(i).getY(), texture.get(i + 2).getX(), texture.get(i + 2).getY(),
+                    color.getR(), color.getG(), color.getB(), color.getA());
+        }
+        Profiler.end(Profiler.FONTS, start);
+    }
+
+    /**
+     * Render a text changing each frame, without building its mesh nor allocating.
+     *
+     * @param text Text to render.
+     * @param font Font of the text.
+     * @param size Size of the text.
+     * @param posX Position x of the top left corner on the screen.
+     * @param posY Position y of the top left corner on the screen.
+     * @param color Color of the text.
+     */
+    public static void render(CharSequence text, FontFace font, float size, float posX, float posY, Color4 color) {
+        long start = Profiler.begin(Profiler.FONTS);
         font.getTexture().bind();
-        glColor4f(color.getR(), color.getG(), color.getB(), color.getA());
-        glBegin(GL_QUADS);
-            for (int i = 0; i < mesh.size(); i++) {
-                glTexCoord2f(texture.get(i).getX(), texture.get(i).getY());
-                glVertex2f(mesh.get(i).getX() * size + pos.getX() - GameManager.CAMERA.getPosX(), mesh.get(i).getY() * size + pos.getY() - GameManager.CAMERA.getPosY());
+        FontFile file = font.getFontFile();
+        float offsetX = posX - GameManager.CAMERA.getPosX();
+        float offsetY = posY - GameManager.CAMERA.getPosY();
+        float currentX = 0;
+        float lineY = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                currentX = 0;
+                lineY += file.getLineHeight();
+                continue;
             }
-        glEnd();
+
+            FontChar fontChar = file.getCharacter((int) c);
+            if (fontChar == null) continue;
+            SpriteBatch.quad((currentX + fontChar.getxOffset()) * size + offsetX, (lineY + fontChar.getyOffset()) * size + offsetY,
+                    fontChar.getWidth() * size, fontChar.getHeight() * size,
+                    fontChar.getxAtlas(), fontChar.getyAtlas(),
+                    fontChar.getxAtlas() + fontChar.getWidthAtlas(), fontChar.getyAtlas() + fontChar.getHeightAtlas(),
+                    color.getR(), color.getG(), color.getB(), color.getA());
+            currentX += fontChar.getxAdvance();
+        }
+        Profiler.end(Profiler.FONTS, start);
     }
 
     /**
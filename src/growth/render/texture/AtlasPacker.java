@@ -0,0 +1,344 @@
+package growth.render.texture;
+
+import growth.util.XmlReader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Atlas packer class.
+ * This class packs many small images in a few big pages with a shelf algorithm :
+ * the images are sorted from the tallest to the smallest and placed from left to right on shelves.
+ * The packer can be run offline to write the pages and their index, loaded by the texture atlas at the launch.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class AtlasPacker {
+
+    /**
+     * Page min size.
+     * This variable contains the size of the smallest page tried.
+     */
+    public static final int MIN_SIZE = 256;
+
+    /**
+     * Page max size.
+     * This variable contains the size of the biggest page, used when the images need many pages.
+     */
+    public static final int MAX_SIZE = 2048;
+
+    /**
+     * Padding.
+     * This variable contains the number of pixels around each image, filled with its border to avoid bleeding.
+     */
+    public static final int PADDING = 2;
+
+    /**
+     * Paths.
+     * This variable contains the path of each image.
+     */
+    private final String[] paths;
+
+    /**
+     * Images.
+     * This variable contains the images to pack, null for an image which can't be read.
+     */
+    private final BufferedImage[] images;
+
+    /**
+     * Placement.
+     * These variables contain the page and the position of the slot of each image, the page is -1 for an image not packed.
+     */
+    private final int[] page, slotX, slotY;
+
+    /**
+     * Page size.
+     * This variable contains the size of the side of the pages.
+     */
+    private int size;
+
+    /**
+     * Page number.
+     * This variable contains the number of pages used.
+     */
+    private int pageNumber;
+
+    /**
+     * Atlas packer class constructor.
+     * Place the images on the smallest page able to contain all of them, or on many pages of the max size.
+     *
+     * @param paths The path of each image.
+     * @param images The images to pack.
+     */
+    public AtlasPacker(String[] paths, BufferedImage[] images) {
+        this.paths = paths;
+        this.images = images;
+        page = new int[images.length];
+        slotX = new int[images.length];
+        slotY = new int[images.length];
+
+        // Sort the images from the tallest to the smallest
+        Integer[] order = new Integer[images.length];
+        long area = 0;
+        int maxSide = 0;
+        for (int i = 0; i < images.length; i++) {
+            order[i] = i;
+            if (images[i] == null) continue;
+            area += (long) slotWidth(i) * slotHeight(i);
+            maxSide = Math.max(maxSide, Math.max(slotWidth(i), slotHeight(i)));
+        }
+        Arrays.sort(order, (a, b) -> (slotHeight(b) != slotHeight(a)) ? slotHeight(b) - slotHeight(a) : slotWidth(b) - slotWidth(a));
+
+        size = MIN_SIZE;
+        while (size < MAX_SIZE && ((long) size * size < area || size < maxSide || place(order, false) < 0)) {
+            size *= 2;
+        }
+        pageNumber = place(order, size == MAX_SIZE);
+    }
+
+    /**
+     * Place the images on shelves.
+     *
+     * @param order The index of the images from the tallest to the smallest.
+     * @param multiplePages If a full page can be followed by a new page.
+     *
+     * @return The number of pages used, -1 if the images don't fit on one page.
+     */
+    private int place(Integer[] order, boolean multiplePages) {
+        int current = 0, x = 0, y = 0, shelfHeight = 0;
+
+        for (int index : order) {
+            int width = slotWidth(index);
+            int height = slotHeight(index);
+
+            if (images[index] == null || width > size || height > size) {
+                page[index] = -1;
+                continue;
+            }
+
+            // New shelf
+            if (x + width > size) {
+                y += shelfHeight;
+                x = 0;
+                shelfHeight = 0;
+            }
+
+            // New page
+            if (y + height > size) {
+                if (!multiplePages) return -1;
+                current++;
+                x = 0;
+                y = 0;
+                shelfHeight = 0;
+            }
+
+            page[index] = current;
+            slotX[index] = x;
+            slotY[index] = y;
+            x += width;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+        return current + 1;
+    }
+
+    /**
+     * Draw the pages.
+     *
+     * @return The images of the pages.
+     */
+    public BufferedImage[] createPages() {
+        BufferedImage[] pages = new BufferedImage[pageNumber];
+        for (int i = 0; i < pageNumber; i++) {
+            pages[i] = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        for (int i = 0; i < images.length; i++) {
+            if (page[i] != -1) draw(pages[page[i]], images[i], slotX[i], slotY[i]);
+        }
+        return pages;
+    }
+
+    /**
+     * Draw an image in its slot and extend its border on the padding.
+     */
+    private static void draw(BufferedImage page, BufferedImage image, int x, int y) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        int[] row = new int[width + PADDING * 2];
+
+        for (int j = 0; j < height + PADDING * 2; j++) {
+            int line = Math.min(Math.max(j - PADDING, 0), height - 1) * width;
+            for (int i = 0; i < row.length; i++) {
+                row[i] = pixels[line + Math.min(Math.max(i - PADDING, 0), width - 1)];
+            }
+            page.setRGB(x, y + j, row.length, 1, row, 0, row.length);
+        }
+    }
+
+    /**
+     * Write the index of the atlas.
+     * Each page is written with its size and its path, followed by each packed image with its page and its rectangle.
+     *
+     * @param writer The writer of the index's file.
+     * @param pagePaths The path of each page.
+     */
+    public void writeIndex(PrintWriter writer, String[] pagePaths) {
+        writer.println("# Generated by AtlasPacker from " + TextureAtlas.MANIFEST_PATH);
+        for (String pagePath : pagePaths) {
+            writer.println("page " + size + " " + pagePath);
+        }
+        for (int i = 0; i < images.length; i++) {
+            if (page[i] == -1) continue;
+            writer.println("sprite " + page[i] + " " + getX(i) + " " + getY(i) + " "
+                    + getWidth(i) + " " + getHeight(i) + " " + paths[i]);
+        }
+    }
+
+    /**
+     * Get the width of the slot of an image.
+     */
+    private int slotWidth(int index) {
+        return (images[index] == null) ? 0 : images[index].getWidth() + PADDING * 2;
+    }
+
+    /**
+     * Get the height of the slot of an image.
+     */
+    private int slotHeight(int index) {
+        return (images[index] == null) ? 0 : images[index].getHeight() + PADDING * 2;
+    }
+
+    /**
+     * Read the images to pack.
+     *
+     * @param paths The path of each image.
+     *
+     * @return The images, null for an image which can't be read.
+     */
+    public static BufferedImage[] readImages(String[] paths) {
+        BufferedImage[] images = new BufferedImage[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            try (InputStream stream = AtlasPacker.class.getResourceAsStream(paths[i])) {
+                images[i] = (stream == null) ? null : ImageIO.read(stream);
+            } catch (IOException e) {
+                images[i] = null;
+            }
+            if (images[i] == null) System.err.println("[Error] AtlasPacker : can't read the image " + paths[i]);
+        }
+        return images;
+    }
+
+    /**
+     * Get the page of an image.
+     *
+     * @param index The index of the image.
+     *
+     * @return page, -1 if the image isn't packed
+     */
+    public int getPage(int index) {
+        return page[index];
+    }
+
+    /**
+     * Get the position x of an image on its page.
+     *
+     * @param index The index of the image.
+     *
+     * @return x
+     */
+    public int getX(int index) {
+        return slotX[index] + PADDING;
+    }
+
+    /**
+     * Get the position y of an image on its page.
+     *
+     * @param index The index of the image.
+     *
+     * @return y
+     */
+    public int getY(int index) {
+        return slotY[index] + PADDING;
+    }
+
+    /**
+     * Get the width of an image.
+     *
+     * @param index The index of the image.
+     *
+     * @return width
+     */
+    public int getWidth(int index) {
+        return images[index].getWidth();
+    }
+
+    /**
+     * Get the height of an image.
+     *
+     * @param index The index of the image.
+     *
+     * @return height
+     */
+    public int getHeight(int index) {
+        return images[index].getHeight();
+    }
+
+    /**
+     * Get the number of pages used.
+     *
+     * @return page number
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    /**
+     * Get the size of the side of the pages.
+     *
+     * @return size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Pack the atlas offline and write its pages and its index in the resources.
+     * The texture atlas then loads them at the launch instead of packing the images.
+     *
+     * @param args The folder where the atlas is written, "resources/textures/atlas" by default.
+     */
+    public static void main(String[] args) throws IOException {
+        File folder = new File((args.length > 0) ? args[0] : "resources" + TextureAtlas.FOLDER);
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Can't create the folder " + folder);
+        }
+
+        String[] paths = XmlReader.loadAtlasManifest(TextureAtlas.MANIFEST_PATH);
+        if (paths == null) throw new IOException("Can't read the manifest " + TextureAtlas.MANIFEST_PATH);
+
+        long start = System.nanoTime();
+        AtlasPacker packer = new AtlasPacker(paths, readImages(paths));
+        BufferedImage[] pages = packer.createPages();
+
+        String[] pagePaths = new String[pages.length];
+        for (int i = 0; i < pages.length; i++) {
+            String name = TextureAtlas.NAME + "-" + i + ".png";
+            pagePaths[i] = TextureAtlas.FOLDER + "/" + name;
+            ImageIO.write(pages[i], "png", new File(folder, name));
+        }
+
+        try (PrintWriter writer = new PrintWriter(new File(folder, TextureAtlas.NAME + ".atlas"), "UTF-8")) {
+            packer.writeIndex(writer, pagePaths);
+        }
+
+        System.out.println("Atlas packed : " + paths.length + " images in " + pages.length + " pages of "
+                + packer.getSize() + "x" + packer.getSize() + " in " + (System.nanoTime() - start) / 1000000 + " ms, written in " + folder);
+    }
+}
@@ -20,18 +20,19 @@
 
 package growth.render.texture;
 
+import growth.render.Render;
+import growth.render.SpriteBatch;
 import org.lwjgl.BufferUtils;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.nio.ByteBuffer;
-
-import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL13.GL_CLAMP_TO_BORDER;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
 /**
  * Basic texture class.
- * This class is the most basic texture class possible. It holds a OpenGL texture.
+ * This class is the most basic texture class possible. It holds a texture of the render backend.
  *
  * Warning : Don't forget to use the clean() function when you do not use that texture anymore.
  *
@@ -41,7 +42,7 @@ import static org.lwjgl.opengl.GL13.GL_CLAMP_TO_BORDER;
 public class Texture {
     /**
      * Texture ID.
-     * This variable contains the OpenGL texture ID, generated in the class constructor.
+     * This variable contains the texture ID of the render backend, generated in the class constructor.
      */
     private int id;
 
@@ -63,6 +64,12 @@ public class Texture {
      */
     private boolean loaded;
 
+    /**
+     * Is texture pending ?
+     * This variable is true while the image of the texture is decoded by the texture loader and not uploaded yet.
+     */
+    private boolean pending;
+
     /**
      * Path.
      * This variables contains the path of texture charged.
@@ -96,11 +103,12 @@ public class Texture {
     }
 
     /**
-     * Bind the loaded texture.
+     * Bind the loaded texture for the next quads of the sprite batch.
      */
     public void bind() {
+        ready();
         if (isTextureLoaded()) {
-            glBindTexture(GL_TEXTURE_2D, id);
+            SpriteBatch.bind(id);
         } else {
             System.err.println("[Error] texture::bind() Binding a unloaded texture.");
         }
@@ -129,39 +137,17 @@ public class Texture {
      * @param image BufferedImage to load.
      */
     private void createImage(BufferedImage image) {
-        id = glGenTextures();
-        loaded = true;
-
         try {
-            int[] pixels = new int[image.getHeight() * image.getWidth()];
-
-            image.getRGB(0, 0, image.getWidth(), image.getHeight(), pixels, 0, image.getWidth());
+            int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
 
-            System.out.println("Texture num : " + id + " , loaded with path : " + path);
-
-            ByteBuffer buffer = BufferUtils.createByteBuffer(image.getHeight() * image.getWidth() * 4);
-
-            for (int i = 0; i < image.getHeight(); i++) {
-                for (int j = 0; j < image.getWidth(); j++) {
-                    int pixel = pixels[i * image.getWidth() + j];
-                    buffer.put((byte) ((pixel >> 16) & 0xFF)); // RED
-                    buffer.put((byte) ((pixel >> 8) & 0xFF)); // GREEN
-                    buffer.put((byte) (pixel & 0xFF)); // BLUE
-                    buffer.put((byte) ((pixel >> 24) & 0xFF)); // ALPHA
-                }
+            // Swap the red and blue channels of each ARGB pixel to write it as RGBA bytes in little endian
+            ByteBuffer buffer = BufferUtils.createByteBuffer(pixels.length * 4);
+            IntBuffer rgba = buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            for (int pixel : pixels) {
+                rgba.put((pixel & 0xFF00FF00) | ((pixel >> 16) & 0xFF) | ((pixel & 0xFF) << 16));
             }
 
-            buffer.flip();
-
-            this.width = image.getWidth();
-            this.height = image.getHeight();
-
-            setParam(GL_TEXTURE_WRAP_S, GL_CLAMP_TO_BORDER);
-            setParam(GL_TEXTURE_WRAP_T, GL_CLAMP_TO_BORDER);
-            setParam(GL_TEXTURE_MIN_FILTER, GL_LINEAR);
-            setParam(GL_TEXTURE_MAG_FILTER, GL_LINEAR);
-
-            upload(buffer);
+            upload(buffer, image.getWidth(), image.getHeight());
         } catch (Exception e) {
             e.printStackTrace();
             unload();
@@ -169,32 +155,55 @@ public class Texture {
     }
 
     /**
-     * Upload the image to OpenGL.
+     * Mark the texture as pending, its image is decoded by the texture loader.
      *
-     * @param image Image to upload.
+     * @param path Path to file's image.
      */
-    private void upload(ByteBuffer image) {
-        bind();
-        glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, image);
+    void setPending(String path) {
+        this.path = path;
+        pending = true;
     }
 
     /**
-     * Set OpenGL Texture parameter.
+     * Create the OpenGL texture and upload the image.
      *
-     * @param param Parameter name.
-     * @param value Parameter value.
+     * @param image Pixels to upload in RGBA.
+     * @param width Width of the image.
+     * @param height Height of the image.
      */
-    private void setParam(int param, int value) {
-        bind();
-        glTexParameteri(GL_TEXTURE_2D, param, value);
+    void upload(ByteBuffer image, int width, int height) {
+        id = Render.getBackend().createTexture(image, width, height);
+        loaded = true;
+        pending = false;
+        this.width = width;
+        this.height = height;
+
+        System.out.println("Texture num : " + id + " , loaded with path : " + path);
+    }
+
+    /**
+     * Mark the pending texture as failed, it stays unloaded.
+     */
+    void fail() {
+        pending = false;
+    }
+
+    /**
+     * Finish the loading if the texture is still pending.
+     */
+    private void ready() {
+        if (pending) TextureLoader.finish();
     }
 
     /**
      * Delete the texture.
      */
     public void unload() {
+        ready();
         if (isTextureLoaded()) {
-            glDeleteTextures(id);
+            // Draw the quads which may still use this texture
+            SpriteBatch.flush();
+            Render.getBackend().deleteTexture(id);
             loaded = false;
             System.out.println("Texture num : " + id + " , unloaded.");
         } else {
@@ -217,15 +226,26 @@ public class Texture {
      * @return id
      */
     public int getID() {
+        ready();
         return id;
     }
 
+    /**
+     * Return the path of the loaded file.
+     *
+     * @return path, null if the texture doesn't come from a file
+     */
+    public String getPath() {
+        return path;
+    }
+
     /**
      * Return texture width.
      *
      * @return width
      */
     public int getWidth() {
+        ready();
         return width;
     }
 
@@ -235,6 +255,7 @@ public class Texture {
      * @return height
      */
     public int getHeight() {
+        ready();
         return height;
     }
 }
@@ -0,0 +1,172 @@
+package growth.render.texture;
+
+import growth.util.XmlReader;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Texture atlas class.
+ * This class holds the sprites listed in the atlas manifest (animations frames, hud and menu sprites) packed in a few pages,
+ * so that the sprites share their texture and are drawn by the sprite batch without flush.
+ * The atlas loads the pages written offline by the atlas packer, or packs the images at the launch if they are missing.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class TextureAtlas {
+
+    /**
+     * Manifest path.
+     * This variable contains the path of the xml's file listing the sprites of the atlas.
+     */
+    public static final String MANIFEST_PATH = "/textures/atlas.xml";
+
+    /**
+     * Atlas folder.
+     * This variable contains the folder of the pages and of the index written offline.
+     */
+    public static final String FOLDER = "/textures/atlas";
+
+    /**
+     * Atlas name.
+     * This variable contains the name of the index and the prefix of the pages.
+     */
+    public static final String NAME = "sprites";
+
+    /**
+     * Pages.
+     * This variable contains the textures of the atlas, null if the atlas isn't loaded.
+     */
+    private static Texture[] pages;
+
+    /**
+     * Regions.
+     * This variable contains the region of each packed sprite by path.
+     */
+    private static HashMap<String, TextureRegion> regions;
+
+    /**
+     * Get the region of a sprite, the atlas is loaded at the first call.
+     * A sprite missing in the atlas gets a region covering its own texture, shared by the texture registry.
+     *
+     * @param path Path to file's image of the sprite.
+     *
+     * @return The region of the sprite.
+     */
+    public static TextureRegion acquire(String path) {
+        if (regions == null) load();
+
+        TextureRegion region = regions.get(path);
+        return (region != null) ? region : new TextureRegion(TextureRegistry.acquire(path));
+    }
+
+    /**
+     * Release a region got with acquire.
+     * The packed regions stay in memory with the atlas.
+     *
+     * @param region The region to release.
+     */
+    public static void release(TextureRegion region) {
+        if (!region.isPacked()) TextureRegistry.release(region.getTexture());
+    }
+
+    /**
+     * Load the atlas, from the precomputed index if it exists or by packing the images.
+     */
+    public static void load() {
+        if (regions != null) return;
+        long start = System.nanoTime();
+        regions = new HashMap<>();
+
+        boolean precomputed = false;
+        try (InputStream index = TextureAtlas.class.getResourceAsStream(FOLDER + "/" + NAME + ".atlas")) {
+            if (index != null) {
+                loadIndex(index);
+                precomputed = true;
+            }
+        } catch (Exception e) {
+            System.err.println("[Error] TextureAtlas::load() Invalid index, the atlas is packed.");
+            e.printStackTrace();
+            unload();
+            regions = new HashMap<>();
+        }
+
+        if (!precomputed) pack();
+
+        System.out.println("Atlas " + NAME + " : " + regions.size() + " sprites in " + pages.length + " pages, "
+                + ((precomputed) ? "loaded" : "packed") + " in " + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    /**
+     * Load the pages and the regions written by the atlas packer.
+     *
+     * @param index The stream of the index's file.
+     */
+    private static void loadIndex(InputStream index) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8));
+        ArrayList<Texture> pageList = new ArrayList<>();
+        ArrayList<Integer> pageSizes = new ArrayList<>();
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("page ")) {
+                    String[] values = line.split(" ", 3);
+                    pageSizes.add(Integer.parseInt(values[1]));
+                    pageList.add(TextureLoader.load(values[2]));
+                } else if (line.startsWith("sprite ")) {
+                    String[] values = line.split(" ", 7);
+                    int page = Integer.parseInt(values[1]);
+                    regions.put(values[6], new TextureRegion(pageList.get(page),
+                            Integer.parseInt(values[2]), Integer.parseInt(values[3]),
+                            Integer.parseInt(values[4]), Integer.parseInt(values[5]), pageSizes.get(page)));
+                }
+            }
+        } finally {
+            // The pages already loaded are unloaded with the atlas if the index is invalid
+            pages = pageList.toArray(new Texture[0]);
+        }
+    }
+
+    /**
+     * Pack the images of the manifest and create the pages.
+     */
+    private static void pack() {
+        String[] paths = XmlReader.loadAtlasManifest(MANIFEST_PATH);
+        if (paths == null) paths = new String[0];
+
+        AtlasPacker packer = new AtlasPacker(paths, AtlasPacker.readImages(paths));
+        BufferedImage[] images = packer.createPages();
+
+        pages = new Texture[images.length];
+        for (int i = 0; i < images.length; i++) {
+            pages[i] = new Texture(images[i]);
+        }
+
+        for (int i = 0; i < paths.length; i++) {
+            if (packer.getPage(i) == -1) continue;
+            regions.put(paths[i], new TextureRegion(pages[packer.getPage(i)],
+                    packer.getX(i), packer.getY(i), packer.getWidth(i), packer.getHeight(i), packer.getSize()));
+        }
+    }
+
+    /**
+     * Unload the pages of the atlas.
+     */
+    public static void unload() {
+        if (pages != null) {
+            for (Texture page : pages) {
+                page.unload();
+            }
+        }
+        pages = null;
+        regions = null;
+    }
+}
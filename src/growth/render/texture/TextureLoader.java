@@ -0,0 +1,305 @@
+package growth.render.texture;
+
+import growth.util.Profiler;
+import growth.util.RemoteProfiler;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.system.MemoryStack;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Texture loader class.
+ * This class decodes the images of the textures on a pool of worker threads with stb_image,
+ * straight into native memory. The decoded images wait in a queue until the OpenGL thread uploads them.
+ *
+ * A texture is pending until its upload, and using a pending texture finishes the loading.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class TextureLoader {
+
+    /**
+     * Workers number.
+     * This variable contains the number of threads decoding the images, a core is kept for the OpenGL thread.
+     */
+    public static final int WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /**
+     * Workers.
+     * This variable contains the pool of threads decoding the images, created at the first load.
+     */
+    private static ExecutorService workers;
+
+    /**
+     * Upload queue.
+     * This variable contains the decoded images waiting for the OpenGL thread.
+     */
+    private static final LinkedBlockingQueue<Decoded> uploads = new LinkedBlockingQueue<>();
+
+    /**
+     * Pending textures.
+     * This variable contains the number of textures loaded and not uploaded yet.
+     */
+    private static int pending;
+
+    /**
+     * Decode time.
+     * This variable contains the time in nanoseconds spent by all of the workers to decode the images of the batch.
+     */
+    private static final AtomicLong decodeTime = new AtomicLong();
+
+    /**
+     * Batch statistics.
+     * These variables contain the beginning of the current batch, its upload time in nanoseconds and its number of textures.
+     */
+    private static long batchStart, uploadTime;
+    private static int batchTextures;
+
+    /**
+     * Total statistics.
+     * These variables contain the textures loaded since the launch, their decode and upload time in nanoseconds.
+     */
+    private static long totalDecodeTime, totalUploadTime;
+    private static int totalTextures;
+
+    /**
+     * Load a texture, its image is decoded by a worker and uploaded later by the OpenGL thread.
+     * Must be called from the OpenGL thread.
+     *
+     * @param path Path to file's image to load.
+     *
+     * @return The pending texture.
+     */
+    public static Texture load(String path) {
+        if (pending == 0) {
+            batchStart = System.nanoTime();
+            decodeTime.set(0);
+            uploadTime = 0;
+            batchTextures = 0;
+        }
+
+        Texture texture = new Texture();
+        texture.setPending(path);
+        pending++;
+        batchTextures++;
+
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+                Thread thread = new Thread(() -> {
+                    RemoteProfiler.setThreadName("Texture decoder");
+                    runnable.run();
+                }, "Texture decoder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        workers.execute(() -> uploads.add(decode(texture, path)));
+        return texture;
+    }
+
+    /**
+     * Upload the textures already decoded, without waiting for the others.
+     * Called at each frame by the OpenGL thread.
+     */
+    public static void process() {
+        Decoded decoded;
+        while ((decoded = uploads.poll()) != null) {
+            upload(decoded);
+        }
+    }
+
+    /**
+     * Wait for every pending texture and upload it.
+     * Must be called from the OpenGL thread.
+     */
+    public static void finish() {
+        while (pending > 0) {
+            try {
+                upload(uploads.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Decode an image in native memory.
+     *
+     * @param texture The texture waiting for the image.
+     * @param path Path to file's image.
+     *
+     * @return The decoded image, with a null pixels buffer if the decoding failed.
+     */
+    private static Decoded decode(Texture texture, String path) {
+        long profile = Profiler.begin(Profiler.DECODE);
+        long start = System.nanoTime();
+        Decoded decoded = new Decoded(texture, path);
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            ByteBuffer file = readFile(path);
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer components = stack.mallocInt(1);
+
+            decoded.pixels = STBImage.stbi_load_from_memory(file, width, height, components, 4);
+            if (decoded.pixels == null) {
+                decoded.error = STBImage.stbi_failure_reason();
+            } else {
+                decoded.width = width.get(0);
+                decoded.height = height.get(0);
+            }
+        } catch (Exception e) {
+            decoded.error = e.toString();
+        }
+
+        decodeTime.addAndGet(System.nanoTime() - start);
+        Profiler.end(Profiler.DECODE, profile);
+        return decoded;
+    }
+
+    /**
+     * Read a file of the resources in a direct buffer.
+     *
+     * @param path Path to the file.
+     *
+     * @return The buffer containing the file.
+     */
+    private static ByteBuffer readFile(String path) throws IOException {
+        try (InputStream stream = TextureLoader.class.getResourceAsStream(path)) {
+            if (stream == null) throw new IOException("File not found");
+
+            ByteBuffer buffer = BufferUtils.createByteBuffer(Math.max(stream.available(), 8192));
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = stream.read(chunk)) != -1) {
+                if (buffer.remaining() < read) {
+                    ByteBuffer bigger = BufferUtils.createByteBuffer(buffer.capacity() * 2 + read);
+                    buffer.flip();
+                    bigger.put(buffer);
+                    buffer = bigger;
+                }
+                buffer.put(chunk, 0, read);
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Upload a decoded image in its texture and free the native memory.
+     *
+     * @param decoded The decoded image.
+     */
+    private static void upload(Decoded decoded) {
+        long start = System.nanoTime();
+
+        if (decoded.pixels != null) {
+            decoded.texture.upload(decoded.pixels, decoded.width, decoded.height);
+            STBImage.stbi_image_free(decoded.pixels);
+        } else {
+            decoded.texture.fail();
+            System.err.println("[Error] TextureLoader : can't decode " + decoded.path + " (" + decoded.error + ")");
+        }
+
+        uploadTime += System.nanoTime() - start;
+        pending--;
+        if (pending == 0) report();
+    }
+
+    /**
+     * Print the timing of the finished batch.
+     */
+    private static void report() {
+        long decode = decodeTime.get();
+        totalTextures += batchTextures;
+        totalDecodeTime += decode;
+        totalUploadTime += uploadTime;
+
+        System.out.println("TextureLoader : " + batchTextures + " textures in " + (System.nanoTime() - batchStart) / 1000000 + " ms"
+                + ", decode : " + decode / 1000000 + " ms on " + WORKERS + " workers"
+                + ", upload : " + uploadTime / 1000000 + " ms");
+    }
+
+    /**
+     * Get the loading statistics since the launch.
+     *
+     * @return The statistics as text.
+     */
+    public static String getStats() {
+        return "Textures loaded : " + totalTextures + ", decode : " + totalDecodeTime / 1000000 + " ms"
+                + ", upload : " + totalUploadTime / 1000000 + " ms, pending : " + pending;
+    }
+
+    /**
+     * Return the number of textures not uploaded yet.
+     *
+     * @return pending
+     */
+    public static int getPending() {
+        return pending;
+    }
+
+    /**
+     * Stop the workers and wait for their end.
+     */
+    public static void unload() {
+        finish();
+        if (workers != null) {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers = null;
+    }
+
+    /**
+     * Decoded class.
+     * This class stores an image decoded by a worker.
+     */
+    private static class Decoded {
+
+        /**
+         * The texture waiting for the image.
+         */
+        private final Texture texture;
+
+        /**
+         * The path of the image.
+         */
+        private final String path;
+
+        /**
+         * The pixels in RGBA, allocated by stb_image.
+         */
+        private ByteBuffer pixels;
+
+        /**
+         * The size of the image.
+         */
+        private int width, height;
+
+        /**
+         * The reason of the failure.
+         */
+        private String error;
+
+        private Decoded(Texture texture, String path) {
+            this.texture = texture;
+            this.path = path;
+        }
+    }
+}
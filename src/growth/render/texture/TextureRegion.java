@@ -0,0 +1,111 @@
+package growth.render.texture;
+
+import growth.util.math.Vec2;
+
+/**
+ * Texture region class.
+ * This class is use to store a rectangle of a texture, like a sprite packed in an atlas.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class TextureRegion {
+
+    /**
+     * Texture.
+     * This variable contains the texture holding the region.
+     */
+    private final Texture texture;
+
+    /**
+     * Begin Vector position.
+     * This variable contains the vector of the position of the beginning of the region on the texture.
+     */
+    private final Vec2 from;
+
+    /**
+     * End Vector position.
+     * This variable contains the vector of the end position of the region on the texture.
+     */
+    private final Vec2 to;
+
+    /**
+     * Packed state.
+     * This variable is true if the region is a part of an atlas page, false if it covers its own texture.
+     */
+    private final boolean packed;
+
+    /**
+     * Texture region class constructor.
+     * Instance a region covering the whole texture.
+     *
+     * @param texture The texture.
+     */
+    public TextureRegion(Texture texture) {
+        this.texture = texture;
+        from = new Vec2(0, 0);
+        to = new Vec2(1, 1);
+        packed = false;
+    }
+
+    /**
+     * Texture region class constructor.
+     * Instance a region for a rectangle in pixels of an atlas page.
+     *
+     * @param texture The atlas page.
+     * @param x Position x of the rectangle.
+     * @param y Position y of the rectangle.
+     * @param width Width of the rectangle.
+     * @param height Height of the rectangle.
+     * @param pageSize Size of the side of the atlas page, known before the end of the page's loading.
+     */
+    public TextureRegion(Texture texture, int x, int y, int width, int height, int pageSize) {
+        this.texture = texture;
+        from = new Vec2((float) x / pageSize, (float) y / pageSize);
+        to = new Vec2((float) (x + width) / pageSize, (float) (y + height) / pageSize);
+        packed = true;
+    }
+
+    /**
+     * Bind the texture holding the region.
+     */
+    public void bind() {
+        texture.bind();
+    }
+
+    /**
+     * Get the texture holding the region.
+     *
+     * @return texture
+     */
+    public Texture getTexture() {
+        return texture;
+    }
+
+    /**
+     * Get the begging position of the region on the texture.
+     *
+     * @return Vec2 from
+     */
+    public Vec2 getFrom() {
+        return from;
+    }
+
+    /**
+     * Get the end position of the region on the texture.
+     *
+     * @return Vec2 to
+     */
+    public Vec2 getTo() {
+        return to;
+    }
+
+    /**
+     * Return if the region is a part of an atlas page.
+     *
+     * @return packed
+     */
+    public boolean isPacked() {
+        return packed;
+    }
+}
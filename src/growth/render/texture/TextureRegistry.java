@@ -0,0 +1,218 @@
+package growth.render.texture;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Texture registry class.
+ * This class shares the textures loaded from a path between all of their users.
+ * The textures are loaded in the background by the texture loader.
+ * A texture is counted each time it is acquired and released, and when nobody uses it anymore
+ * it stays in memory in a pool until the pool exceeds its byte budget.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class TextureRegistry {
+
+    /**
+     * Default budget.
+     * This variable contains the default number of bytes of the released textures kept in memory.
+     */
+    public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * Entries.
+     * This variable contains every texture in memory by path, used or pooled.
+     */
+    private static final HashMap<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Pool.
+     * This variable contains the released textures by path, from the least to the most recently released.
+     */
+    private static final LinkedHashMap<String, Entry> pool = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Budget.
+     * This variable contains the maximal number of bytes of the pooled textures.
+     */
+    private static long budget = DEFAULT_BUDGET;
+
+    /**
+     * Pooled bytes.
+     * This variable contains the number of bytes of the pooled textures.
+     */
+    private static long pooledBytes;
+
+    /**
+     * Statistics.
+     * These variables count the acquired textures already in memory, loaded from the file and unloaded by the pool.
+     */
+    private static int hits, misses, evictions;
+
+    /**
+     * Get a texture and count a new user, the texture is loaded if it isn't in memory.
+     *
+     * @param path Path to file's image to load.
+     *
+     * @return The shared texture.
+     */
+    public static Texture acquire(String path) {
+        Entry entry = entries.get(path);
+
+        if (entry == null) {
+            misses++;
+            entry = new Entry(TextureLoader.load(path));
+            entries.put(path, entry);
+        } else {
+            hits++;
+            if (entry.references == 0) {
+                pool.remove(path);
+                pooledBytes -= entry.bytes();
+            }
+        }
+
+        entry.references++;
+        return entry.texture;
+    }
+
+    /**
+     * Remove a user of the texture, the texture moves to the pool when nobody uses it.
+     * A texture which doesn't come from the registry is unloaded.
+     *
+     * @param texture The texture to release.
+     */
+    public static void release(Texture texture) {
+        Entry entry = (texture.getPath() == null) ? null : entries.get(texture.getPath());
+
+        if (entry == null || entry.texture != texture) {
+            texture.unload();
+            return;
+        }
+
+        if (entry.references == 0) {
+            System.err.println("[Error] TextureRegistry::release() Releasing an unused texture : " + texture.getPath());
+            return;
+        }
+
+        entry.references--;
+        if (entry.references == 0) {
+            pool.put(texture.getPath(), entry);
+            pooledBytes += entry.bytes();
+            trim();
+        }
+    }
+
+    /**
+     * Unload the least recently released textures while the pool exceeds its budget.
+     */
+    private static void trim() {
+        Iterator<Entry> iterator = pool.values().iterator();
+        while (pooledBytes > budget && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            entries.remove(entry.texture.getPath());
+            pooledBytes -= entry.bytes();
+            entry.texture.unload();
+            evictions++;
+        }
+    }
+
+    /**
+     * Set the maximal number of bytes of the released textures kept in memory.
+     *
+     * @param newBudget The new budget in bytes.
+     */
+    public static void setBudget(long newBudget) {
+        budget = Math.max(0, newBudget);
+        trim();
+    }
+
+    /**
+     * Unload every texture, used or pooled.
+     */
+    public static void clear() {
+        for (Entry entry : entries.values()) {
+            entry.texture.unload();
+        }
+        entries.clear();
+        pool.clear();
+        pooledBytes = 0;
+    }
+
+    /**
+     * Get the number of acquired textures which were already in memory.
+     *
+     * @return hits
+     */
+    public static int getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of acquired textures which were loaded from the file.
+     *
+     * @return misses
+     */
+    public static int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the number of textures unloaded to respect the budget.
+     *
+     * @return evictions
+     */
+    public static int getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Get the number of bytes of the released textures kept in memory.
+     *
+     * @return pooled bytes
+     */
+    public static long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    /**
+     * Get the statistics of the registry.
+     *
+     * @return The statistics as text.
+     */
+    public static String getStats() {
+        return "Textures : " + entries.size() + " in memory (" + pool.size() + " pooled, " + pooledBytes / 1024 + " KiB)"
+                + ", hits : " + hits + ", misses : " + misses + ", evictions : " + evictions;
+    }
+
+    /**
+     * Entry class.
+     * This class stores a texture with its number of users.
+     */
+    private static class Entry {
+
+        /**
+         * The shared texture.
+         */
+        private final Texture texture;
+
+        /**
+         * The number of users of the texture.
+         */
+        private int references;
+
+        private Entry(Texture texture) {
+            this.texture = texture;
+        }
+
+        /**
+         * Get the size of the texture in video memory, the texture may still be loading at the creation of the entry.
+         */
+        private long bytes() {
+            return (long) texture.getWidth() * texture.getHeight() * 4;
+        }
+    }
+}
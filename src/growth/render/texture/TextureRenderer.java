@@ -1,16 +1,15 @@
 package growth.render.texture;
 
+import growth.render.SpriteBatch;
 import growth.util.math.Vec2;
 import growth.screen.GameManager;
 
-import static org.lwjgl.opengl.GL11.*;
-
 /**
  * Texture rendering abstract class.
- * This class is only call by the Render class to display texture with gl11 technicals.
+ * This class is only call by the Render class to display texture, the quads are stored in the sprite batch.
  *
  * @author MightyCode
- * @version 1.2
+ * @version 1.3
  */
 public class TextureRenderer {
 
@@ -23,21 +22,7 @@ public class TextureRenderer {
      * @param sizeY Image's height.
      */
     public static void image(float posX, float posY, float sizeX, float sizeY, float alpha) {
-        glColor4f(1.f, 1.f, 1.f, alpha);
-
-        glBegin(GL_QUADS);
-        glTexCoord2f(0.f, 0.f);
-        glVertex2f(posX, posY);
-
-        glTexCoord2f(0.f, 1.f);
-        glVertex2f(posX, posY + sizeY);
-
-        glTexCoord2f(1.f, 1.f);
-        glVertex2f(posX + sizeX, posY + sizeY);
-
-        glTexCoord2f(1.f, 0.f);
-        glVertex2f(posX + sizeX, posY);
-        glEnd();
+        SpriteBatch.quad(posX, posY, sizeX, sizeY, 0.f, 0.f, 1.f, 1.f, 1.f, 1.f, 1.f, alpha);
     }
 
     /**
@@ -84,22 +69,7 @@ public class TextureRenderer {
      * @param sizeY Image's height.
      */
     public static void image(float posX, float posY, float sizeX, float sizeY, float fromX, float fromY, float toX, float toY, float alpha) {
-        //glActiveTexture(GL_TEXTURE0);
-        glColor4f(1f, 1f, 1f, alpha);
-
-        glBegin(GL_QUADS);
-        glTexCoord2f(fromX, fromY);
-        glVertex2f(posX, posY);
-
-        glTexCoord2f(fromX, toY);
-        glVertex2f(posX, posY + sizeY);
-
-        glTexCoord2f(toX, toY);
-        glVertex2f(posX + sizeX, posY + sizeY);
-
-        glTexCoord2f(toX, fromY);
-        glVertex2f(posX + sizeX, posY);
-        glEnd();
+        SpriteBatch.quad(posX, posY, sizeX, sizeY, fromX, fromY, toX, toY, 1f, 1f, 1f, alpha);
     }
 
     /**
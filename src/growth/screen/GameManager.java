@@ -1,16 +1,25 @@
 package growth.screen;
 
 import growth.inputs.InputManager;
+import growth.inputs.InputQueue;
+import growth.inputs.InputRecorder;
+import growth.main.Growth;
 import growth.render.Camera;
 import growth.render.text.StaticFonts;
+import growth.render.texture.TextureAtlas;
+import growth.render.texture.TextureLoader;
+import growth.render.texture.TextureRegistry;
 import growth.screen.screens.GameScreen;
 import growth.screen.screens.MenuScreen;
 import growth.screen.screens.Screen;
 import growth.inputs.KeyboardManager;
 import growth.inputs.MouseManager;
 import growth.sound.SoundManager;
+import growth.util.Profiler;
 import growth.util.TextManager;
 
+import static org.lwjgl.glfw.GLFW.GLFW_KEY_F6;
+
 /**
  * ScreenManager class.
  * This class is the screenManager class used to run the game screens.
@@ -58,11 +67,39 @@ public class GameManager {
      */
     public static MouseManager mouseManager;
 
+    /**
+     * Input recorder recording or replaying the actions of the game, null without record.
+     */
+    public static InputRecorder recorder;
+
+    /**
+     * Input queue receiving the keyboard and mouse events between two ticks.
+     */
+    public static final InputQueue INPUT_QUEUE = new InputQueue();
+
     /**
      * The camera of the game.
      */
     public static final Camera CAMERA = new Camera(0,0);
 
+    /**
+     * Simulation lock.
+     * This variable is held during a tick run by the simulation thread, and while the render thread reads the live game.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Simulation thread.
+     * This variable contains the thread running the ticks, null when the ticks run on the render thread.
+     */
+    private SimulationThread simulation;
+
+    /**
+     * Pending screen.
+     * This variable contains the screen asked by the simulation thread and not created yet, -1 without screen.
+     */
+    private int pendingScreen = -1;
+
     /**
      * ScreenManager class constructor.
      * Instance the class and set the current screen.
@@ -75,30 +112,138 @@ public class GameManager {
         keyboardManager = new KeyboardManager();
         mouseManager = new MouseManager();
 
-        // Load the fist screen
-        currentScreen = (new MenuScreen(this));
+        if(Growth.replay != null) recorder = InputRecorder.replay(Growth.replay);
+        else if(Growth.record != null) recorder = InputRecorder.record(Growth.record);
+
+        // Load the fist screen, a replay begins directly in the game
+        currentScreen = (recorder != null && recorder.isReplay()) ? new GameScreen(this) : new MenuScreen(this);
+        TextureLoader.finish();
     }
 
     /**
      * Update the current screen.
      */
     public void update() {
-        currentScreen.update();
+        long profile = Profiler.begin(Profiler.TICK);
+        // Every query of the tick sees the events received until now
+        INPUT_QUEUE.drain(keyboardManager, mouseManager);
+        inputsManager.update();
+
+        if(Growth.admin && keyboardManager.keyPressed(GLFW_KEY_F6)) Profiler.setEnabled(!Profiler.isEnabled());
+
+        if(recorder == null){
+            currentScreen.update();
+        } else {
+            long start = System.nanoTime();
+            currentScreen.update();
+            recorder.measure(System.nanoTime() - start);
+        }
+        Profiler.end(Profiler.TICK, profile);
     }
 
     /**
      * Display the current screen.
+     * With the simulation thread, a screen without render snapshot is displayed holding the simulation lock.
      */
     public void display() {
-        currentScreen.display();
+        long start = Profiler.begin(Profiler.DISPLAY);
+        if(simulation == null){
+            currentScreen.display();
+        } else {
+            applyPendingScreen();
+            if(currentScreen.hasSnapshot()){
+                currentScreen.display();
+            } else {
+                synchronized (lock) {
+                    currentScreen.display();
+                }
+            }
+        }
+        Profiler.end(Profiler.DISPLAY, start);
+    }
+
+    /**
+     * Start to run the ticks on the simulation thread, update() mustn't be called anymore.
+     *
+     * @param tickRate The number of ticks by second.
+     */
+    public void startSimulation(int tickRate) {
+        simulation = new SimulationThread(this, tickRate);
+        simulation.start();
+    }
+
+    /**
+     * Stop the simulation thread, after the end of its current tick.
+     */
+    public void stopSimulation() {
+        if(simulation == null) return;
+        simulation.stop();
+        simulation = null;
+    }
+
+    /**
+     * Get the simulation thread.
+     *
+     * @return The simulation thread, or null when the ticks run on the render thread.
+     */
+    public SimulationThread getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Return if the ticks run on the simulation thread.
+     *
+     * @return True with the simulation thread.
+     */
+    public boolean isThreaded() {
+        return simulation != null;
+    }
+
+    /**
+     * Get the simulation lock.
+     *
+     * @return lock
+     */
+    public Object getLock() {
+        return lock;
+    }
+
+    /**
+     * Return if a screen asked by the simulation thread waits for the render thread, called holding the lock.
+     *
+     * @return True if a screen is pending.
+     */
+    boolean hasPendingScreen() {
+        return pendingScreen != -1;
+    }
+
+    /**
+     * Create the screen asked by the simulation thread, called by the render thread.
+     */
+    private void applyPendingScreen() {
+        synchronized (lock) {
+            if(pendingScreen == -1) return;
+            int screen = pendingScreen;
+            pendingScreen = -1;
+            setScreen(screen);
+            lock.notifyAll();
+        }
     }
 
     /**
      * Change the current screen.
+     * On the simulation thread, the screen is created later by the render thread and the ticks stop until then.
      *
      * @param screen Set the new current screen.
      */
     public void setScreen(int screen) {
+        if(simulation != null && simulation.isCurrent()){
+            pendingScreen = screen;
+            return;
+        }
+
+        long start = Profiler.begin(Profiler.SCREEN);
+
         currentScreenUnload();
         currentScreen = null;
         System.runFinalization();
@@ -110,6 +255,13 @@ public class GameManager {
                 currentScreen = (new GameScreen(this));
                 break;
         }
+        // Wait for the textures decoded during the construction of the screen
+        TextureLoader.finish();
+        if(Growth.admin){
+            System.out.println(TextureRegistry.getStats());
+            System.out.println(TextureLoader.getStats());
+        }
+        Profiler.end(Profiler.SCREEN, start);
     }
 
     /**
@@ -122,7 +274,11 @@ public class GameManager {
     /**
      * Method call when the focus of the game change.
      */
-    public void focus(boolean b){ currentScreen.focus(b);}
+    public void focus(boolean b){
+        synchronized (lock) {
+            currentScreen.focus(b);
+        }
+    }
 
     /**
      * Unload the game before leaving.
@@ -131,5 +287,8 @@ public class GameManager {
         currentScreen.unload();
         currentScreen = null;
         StaticFonts.unload();
+        TextureAtlas.unload();
+        TextureRegistry.clear();
+        TextureLoader.unload();
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package growth.screen;
+
+import growth.util.FrameLimiter;
+import growth.util.RemoteProfiler;
+import growth.util.TickJitter;
+
+/**
+ * Simulation thread class.
+ * This class runs the ticks of the game on its own thread at a steady rate, so a long frame doesn't delay them.
+ * Each tick is run holding the simulation lock of the game manager. The game screen publishes a render snapshot
+ * at the end of each tick, the render thread draws the last one.
+ *
+ * The ticks stop while a change of screen waits for the render thread, which creates the textures of the new screen.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class SimulationThread implements Runnable {
+
+    /**
+     * Game manager.
+     * This variable contains the game manager updated by the thread.
+     */
+    private final GameManager gameManager;
+
+    /**
+     * Tick rate.
+     * This variable contains the number of ticks by second.
+     */
+    private final int tickRate;
+
+    /**
+     * Thread.
+     * This variable contains the thread running the ticks.
+     */
+    private final Thread thread;
+
+    /**
+     * Running state.
+     * This variable is false when the simulation is stopped.
+     */
+    private volatile boolean running;
+
+    /**
+     * Ticks.
+     * This variable counts the ticks run by the thread.
+     */
+    private volatile int ticks;
+
+    /**
+     * Tick jitter.
+     * This variable contains the measure of the regularity of the ticks.
+     */
+    private final TickJitter jitter;
+
+    /**
+     * Simulation thread class constructor.
+     * Instance the class, the thread is started by start().
+     *
+     * @param gameManager The game manager updated by the thread.
+     * @param tickRate The number of ticks by second.
+     */
+    public SimulationThread(GameManager gameManager, int tickRate) {
+        this.gameManager = gameManager;
+        this.tickRate = tickRate;
+        jitter = new TickJitter(1000000000L / tickRate);
+        thread = new Thread(this, "Simulation");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Start the thread.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Run the ticks until the simulation is stopped.
+     */
+    public void run() {
+        RemoteProfiler.setThreadName("Simulation");
+        FrameLimiter limiter = new FrameLimiter(tickRate);
+        Object lock = gameManager.getLock();
+
+        while (running) {
+            synchronized (lock) {
+                if (gameManager.hasPendingScreen()) {
+                    // Wait for the new screen, the time waited isn't late ticks to catch up
+                    try {
+                        while (running && gameManager.hasPendingScreen()) lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    jitter.skip();
+                    limiter.setFrameCap(tickRate);
+                    if (!running) return;
+                }
+
+                jitter.tick(System.nanoTime());
+                gameManager.update();
+                ticks++;
+            }
+            limiter.sync();
+        }
+    }
+
+    /**
+     * Stop the thread and wait for the end of the current tick.
+     */
+    public void stop() {
+        running = false;
+        Object lock = gameManager.getLock();
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Return if the calling thread is the simulation thread.
+     *
+     * @return True on the simulation thread.
+     */
+    public boolean isCurrent() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Get the number of ticks run by the thread.
+     *
+     * @return ticks
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Get the measure of the regularity of the ticks.
+     *
+     * @return jitter
+     */
+    public TickJitter getJitter() {
+        return jitter;
+    }
+}
@@ -12,6 +12,7 @@ import growth.render.Render;
 import growth.render.gui.GUICheckBox;
 import growth.render.text.StaticFonts;
 import growth.render.texture.Texture;
+import growth.render.texture.TextureRegistry;
 import growth.render.texture.TextureRenderer;
 import growth.screen.GameManager;
 import growth.screen.screens.Screen;
@@ -65,8 +66,8 @@ public class OptionOverlay extends Overlay {
     protected OptionOverlay(Screen screen){
         super(screen);
 
-        background = new Texture("/textures/menu/bg.png");
-        option = new Texture("/textures/menu/Option_title2.png");
+        background = TextureRegistry.acquire("/textures/menu/bg.png");
+        option = TextureRegistry.acquire("/textures/menu/Option_title2.png");
 
         Vec2 size = new Vec2(Window.width / 4f, Window.height / 20f);
         Color4 backgroundColor = new Color4(0.0f, 0.0f, 0.0f, 0.0f);
@@ -241,8 +242,8 @@ public class OptionOverlay extends Overlay {
     public void unload() {
         System.out.println("\n-------------------------- \n");
         // Textures
-        option.unload();
-        background.unload();
+        TextureRegistry.release(option);
+        TextureRegistry.release(background);
 
         // Main part buttons
         general.unload();
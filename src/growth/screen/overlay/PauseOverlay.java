@@ -20,6 +20,13 @@ import growth.screen.GameManager;
  */
 public class PauseOverlay extends Overlay{
 
+    /**
+     * Background colors.
+     * These variables contain the color of the black rectangles behind the overlay.
+     */
+    private static final Color4 SHADOW = new Color4(0.0f, 0.0f, 0.0f, 0.6f);
+    private static final Color4 FRAME = new Color4(0.0f, 0.0f, 0.0f, 0.5f);
+
     /**
      * Pause title texture.
      * This variable contains the texture's "title"  of the overlay.
@@ -117,9 +124,8 @@ public class PauseOverlay extends Overlay{
      */
     public void display(){
         // Black rectangle
-        ShapeRenderer.rectC(new Vec2(), new Vec2(Window.width, Window.height), new Color4(0.0f, 0.0f, 0.0f, 0.6f));
-        ShapeRenderer.rectC(new Vec2(0.1f * Window.width, 0.15f * Window.height),
-                new Vec2(0.8f * Window.width, 0.75f * Window.height), new Color4(0.0f, 0.0f, 0.0f, 0.5f));
+        ShapeRenderer.rectC(0, 0, Window.width, Window.height, SHADOW);
+        ShapeRenderer.rectC(0.1f * Window.width, 0.15f * Window.height, 0.8f * Window.width, 0.75f * Window.height, FRAME);
 
         // Textures and button
         pause.render();
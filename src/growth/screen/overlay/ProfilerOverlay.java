@@ -0,0 +1,191 @@
+package growth.screen.overlay;
+
+import growth.main.Window;
+import growth.render.shape.ShapeRenderer;
+import growth.render.text.FontRenderer;
+import growth.render.text.StaticFonts;
+import growth.util.Profiler;
+import growth.util.math.Color4;
+
+/**
+ * Profiler overlay class.
+ * This class displays over every screen the frames kept by the profiler, in admin mode with F6 :
+ * a graph of the time of each frame, stacked by scope, and the slowest scopes.
+ * The overlay allocates nothing, its text is rebuilt in the same buffer each frame.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class ProfilerOverlay {
+
+    /**
+     * Graph scale.
+     * This variable contains the time in nanoseconds shown by the height of the graph, two frames at 60 FPS.
+     */
+    private static final long GRAPH_TIME = 33333333L;
+
+    /**
+     * Budget.
+     * This variable contains the time in nanoseconds of a frame at 60 FPS, shown by a line on the graph.
+     */
+    private static final long BUDGET = 16666667L;
+
+    /**
+     * Lines.
+     * This variable contains the number of slowest scopes displayed.
+     */
+    private static final int LINES = 6;
+
+    /**
+     * Colors.
+     * These variables contain the color of each scope stacked in the graph, of the time outside of them and of the panel.
+     */
+    private final Color4[] scopeColors = {
+            new Color4(0.30f, 0.55f, 1.0f, 0.9f),
+            new Color4(1.0f, 0.85f, 0.25f, 0.9f),
+            new Color4(0.35f, 0.85f, 0.35f, 0.9f),
+            new Color4(0.80f, 0.40f, 0.90f, 0.9f)
+    };
+    private final Color4 otherColor = new Color4(0.6f, 0.6f, 0.6f, 0.5f);
+    private final Color4 budgetColor = new Color4(1.0f, 0.2f, 0.2f, 0.9f);
+    private final Color4 backgroundColor = new Color4(0.0f, 0.0f, 0.0f, 0.6f);
+
+    /**
+     * Graph.
+     * These variables contain the position and the size of the graph on the screen.
+     */
+    private final float graphX, graphY, graphWidth, graphHeight;
+
+    /**
+     * Text size.
+     * This variable contains the size of the text.
+     */
+    private final float textSize;
+
+    /**
+     * Text.
+     * This variable contains the text of the overlay, rebuilt each frame.
+     */
+    private final StringBuilder text = new StringBuilder(512);
+
+    /**
+     * Statistics.
+     * These arrays contain the average and the maximal time by frame of each scope, and the scopes from the slowest.
+     */
+    private final long[] average = new long[Profiler.SCOPES];
+    private final long[] max = new long[Profiler.SCOPES];
+    private final int[] order = new int[Profiler.SCOPES];
+
+    /**
+     * Profiler overlay class constructor.
+     */
+    public ProfilerOverlay() {
+        graphX = Window.width * 0.01f;
+        graphY = Window.height * 0.01f;
+        graphWidth = Window.width * 0.375f;
+        graphHeight = Window.height * 0.2f;
+        textSize = Window.height * 0.025f;
+    }
+
+    /**
+     * Display the overlay.
+     */
+    public void display() {
+        int frames = Profiler.getFrames();
+        if (frames == 0) return;
+
+        float textY = graphY + graphHeight + textSize * 0.5f;
+        ShapeRenderer.rectC(graphX, graphY, graphWidth, graphHeight + textSize * (LINES + 2.5f), backgroundColor);
+
+        // One bar by frame, the newest on the right
+        float barWidth = graphWidth / Profiler.FRAMES;
+        float scale = graphHeight / GRAPH_TIME;
+        float bottom = graphY + graphHeight;
+        long frameSum = 0, frameMax = 0;
+        int measured = 0;
+
+        for (int frame = 0; frame < frames; frame++) {
+            float x = graphX + graphWidth - (frames - frame) * barWidth;
+            float top = bottom;
+            long stacked = 0;
+            for (int scope = 0; scope < Profiler.STACKED; scope++) {
+                long time = Profiler.getTime(frame, scope);
+                stacked += time;
+                top = bar(x, top, barWidth, time * scale, bottom, scopeColors[scope]);
+            }
+            long duration = Profiler.getDuration(frame);
+            if (duration > stacked) bar(x, top, barWidth, (duration - stacked) * scale, bottom, otherColor);
+            if (duration > 0) measured++;
+            frameSum += duration;
+            frameMax = Math.max(frameMax, duration);
+        }
+        ShapeRenderer.rectC(graphX, bottom - BUDGET * scale, graphWidth, 1, budgetColor);
+
+        sortScopes(frames);
+
+        text.setLength(0);
+        text.append("Frame ");
+        appendMillis(frameSum / Math.max(1, measured));
+        text.append(" ms, max ");
+        appendMillis(frameMax);
+        text.append(" ms\n");
+        for (int i = 0; i < LINES && i < Profiler.SCOPES; i++) {
+            int scope = order[i];
+            text.append(Profiler.getName(scope)).append(" ");
+            appendMillis(average[scope]);
+            text.append(" ms, max ");
+            appendMillis(max[scope]);
+            text.append(" ms\n");
+        }
+        FontRenderer.render(text, StaticFonts.monofonto, textSize, graphX + textSize * 0.5f, textY, Color4.WHITE);
+    }
+
+    /**
+     * Draw a part of a bar, cut at the top of the graph.
+     *
+     * @return The top of the part.
+     */
+    private float bar(float x, float top, float width, float height, float bottom, Color4 color) {
+        float newTop = Math.max(bottom - graphHeight, top - height);
+        if (top > newTop) ShapeRenderer.rectC(x, newTop, width, top - newTop, color);
+        return newTop;
+    }
+
+    /**
+     * Compute the average and the maximal time of each scope, then sort the scopes from the slowest in average.
+     *
+     * @param frames The number of kept frames.
+     */
+    private void sortScopes(int frames) {
+        for (int scope = 0; scope < Profiler.SCOPES; scope++) {
+            long sum = 0, highest = 0;
+            for (int frame = 0; frame < frames; frame++) {
+                long time = Profiler.getTime(frame, scope);
+                sum += time;
+                highest = Math.max(highest, time);
+            }
+            average[scope] = sum / frames;
+            max[scope] = highest;
+
+            // Insertion sort, the array is small
+            int i = scope;
+            while (i > 0 && average[order[i - 1]] < average[scope]) {
+                order[i] = order[i - 1];
+                i--;
+            }
+            order[i] = scope;
+        }
+    }
+
+    /**
+     * Append a time in milliseconds with two decimals to the text.
+     *
+     * @param nanos The time in nanoseconds.
+     */
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10000;
+        text.append(hundredths / 100).append('.');
+        if (hundredths % 100 < 10) text.append('0');
+        text.append(hundredths % 100);
+    }
+}
@@ -1,8 +1,11 @@
 package growth.screen.screens;
 
 import growth.game.Hud;
+import growth.game.RenderSnapshot;
+import growth.inputs.InputRecorder;
 import growth.game.entity.EntityManager;
 import growth.main.Config;
+import growth.main.Growth;
 import growth.main.Window;
 import growth.render.Render;
 import growth.screen.GameManager;
@@ -12,6 +15,8 @@ import growth.screen.overlay.PauseOverlay;
 import growth.game.tilemap.TileMap;
 import growth.game.entity.type.Player;
 import growth.util.FileMethods;
+import growth.util.Profiler;
+import growth.util.TripleBuffer;
 import growth.util.XmlReader;
 import growth.util.math.Math;
 
@@ -39,6 +44,12 @@ public class GameScreen extends Screen {
      */
     public static int tileSize;
 
+    /**
+     * Player.
+     * This variable contains the handle of the player in the entity manager.
+     */
+    private int player;
+
     /**
      * Game's states.
      * These static final variable counting the different state of game.
@@ -86,6 +97,12 @@ public class GameScreen extends Screen {
      */
     private final OptionOverlay option;
 
+    /**
+     * Render snapshots.
+     * This variable contains the snapshots of the game passed from the simulation to the display.
+     */
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+
     /**
      * Game screen class constructor.
      * Instance the class and set all of the GameScreen's variables.
@@ -135,24 +152,45 @@ public class GameScreen extends Screen {
         tileMap = new TileMap( Config.TILESET_PATH);
         GameManager.CAMERA.setTween(0.3f, 1f);
 
-        entityManager.addEntity(new Player(this, tileMap, tileSize, tileSize));
-        tileMap.setEntity((Player)entityManager.getEntity(0));
+        // The workers are stopped when the screen is unloaded
+        entityManager.setParallel(Growth.parallel);
+        player = entityManager.addEntity(new Player(this, tileMap, tileSize, tileSize));
+        tileMap.setEntity((Player)entityManager.getEntity(player));
 
         // Player begin in the ground on Panel 1
-        tileMap.changeMap(Integer.parseInt(XmlReader.getValue(Config.getPartyPath(),"map","location")),
-                Integer.parseInt(XmlReader.getValue(Config.getPartyPath(),"point","location")));
+        int map = Integer.parseInt(XmlReader.getValue(Config.getPartyPath(),"map","location"));
+        int point = Integer.parseInt(XmlReader.getValue(Config.getPartyPath(),"point","location"));
+        InputRecorder recorder = GameManager.recorder;
+        if(recorder != null){
+            // A replay starts where its record started
+            if(recorder.isReplay()){
+                map = recorder.getStartMap();
+                point = recorder.getStartPoint();
+            }
+            recorder.start(Window.width, map, point);
+        }
+        tileMap.changeMap(map, point);
 
         // Add player for the camera
-        entityManager.setCamera(0);
+        entityManager.setCamera(player);
 
         // Set the position of map before beginning of the game
         GameManager.CAMERA.setPosition(false);
+
+        // The first frame can be drawn before the first tick
+        publish();
     }
 
     /**
      * Update the screen in terms of the game's state.
      */
     public void update() {
+        if(GameManager.recorder != null) GameManager.recorder.tick(GameManager.inputsManager, getChecksum());
+
+        // The frames are drawn between the state before and after this tick
+        entityManager.beginTick();
+        GameManager.CAMERA.beginTick();
+
         switch (screenState) {
             case STATE_NORMAL:
                 updateGame();
@@ -175,6 +213,9 @@ public class GameScreen extends Screen {
                 updateGame();
                 break;
         }
+
+        // The render thread draws the last snapshot while the next tick runs
+        if(screenManager.isThreaded()) publish();
     }
 
     /**
@@ -186,6 +227,7 @@ public class GameScreen extends Screen {
         }
         // Update player
         entityManager.update();
+        tileMap.update();
         GameManager.CAMERA.setPosition(true);
         hud.update();
         entityManager.dispose();
@@ -196,8 +238,12 @@ public class GameScreen extends Screen {
      */
     private void updateTransition() {
         if (transitionCounter == transitionTime / 2) {
-            tileMap.doTransition();
-            entityManager.setSpeed(0,0,0);
+            // The screen stays dark until the new map is loaded
+            long start = Profiler.begin(Profiler.TRANSITION);
+            boolean loaded = tileMap.doTransition();
+            Profiler.end(Profiler.TRANSITION, start);
+            if(!loaded) return;
+            entityManager.setSpeed(0,0,player);
         } else if (transitionCounter > transitionTime) {
             screenState = STATE_NORMAL;
             transitionCounter = 0;
@@ -206,35 +252,60 @@ public class GameScreen extends Screen {
     }
 
     /**
-     * Display the screen in terms of the game'state
+     * Take a render snapshot of the game and publish it to the display.
+     */
+    private void publish() {
+        RenderSnapshot snapshot = snapshots.getWriteBuffer();
+        snapshot.begin(screenState, transitionCounter);
+        GameManager.CAMERA.snapshot(snapshot);
+        tileMap.snapshot(snapshot);
+        entityManager.snapshot(snapshot);
+        hud.snapshot(snapshot);
+        snapshots.publish();
+    }
+
+    /**
+     * Display the screen in terms of the game'state.
+     * The game is drawn from the last render snapshot, the overlays are read holding the simulation lock.
      */
     public void display() {
+        // On one thread, the snapshot is taken just before being drawn
+        if(!screenManager.isThreaded()) publish();
+        RenderSnapshot snapshot = snapshots.acquire();
+        if(screenManager.isThreaded()) Render.setInterpolation(snapshot.getInterpolation(System.nanoTime(), Window.TICK_TIME));
 
         // clear the framebuffer
         Render.clear();
+        GameManager.CAMERA.apply(snapshot);
 
-        switch (screenState) {
+        switch (snapshot.getScreenState()) {
             case STATE_NORMAL:
-                displayGame();
-                hud.display();
+                displayGame(snapshot);
+                hud.display(snapshot);
                 break;
             case STATE_TRANSITION:
-                displayGame();
-                hud.display();
-                displayTransition();
+                displayGame(snapshot);
+                hud.display(snapshot);
+                displayTransition(snapshot);
                 break;
             case STATE_PAUSE:
-                displayGame();
-                pause.display();
+                displayGame(snapshot);
+                synchronized (screenManager.getLock()) {
+                    pause.display();
+                }
                 break;
             case STATE_INVENTORY:
                 break;
             case STATE_OPTION:
-                option.display();
+                synchronized (screenManager.getLock()) {
+                    option.display();
+                }
                 break;
             case STATE_DEATH:
-                displayGame();
-                death.display();
+                displayGame(snapshot);
+                synchronized (screenManager.getLock()) {
+                    death.display();
+                }
                 break;
         }
     }
@@ -242,27 +313,37 @@ public class GameScreen extends Screen {
     /**
      * Display the map and the player
      */
-    private void displayGame() {
+    private void displayGame(RenderSnapshot snapshot) {
         // Draw map behind the player
-        tileMap.display(true);
+        tileMap.display(true, snapshot);
         // Draw player
-        entityManager.display();
+        entityManager.display(snapshot);
         // Draw map in front of the play
-        tileMap.display(false);
+        tileMap.display(false, snapshot);
     }
 
 
     /**
      * Display the transition between two map
      */
-    private void displayTransition() {
-        if (transitionCounter <= transitionTime / 2) {
-            GameManager.CAMERA.transition( 0, Math.map(transitionCounter, 0, transitionTime / 2, 0, 1.5f));
+    private void displayTransition(RenderSnapshot snapshot) {
+        int counter = snapshot.getTransitionCounter();
+        if (counter <= transitionTime / 2) {
+            GameManager.CAMERA.transition( 0, Math.map(counter, 0, transitionTime / 2, 0, 1.5f));
         } else {
-            GameManager.CAMERA.transition(0, Math.map(transitionCounter, transitionTime / 2, transitionTime, 1.5f, 0));
+            GameManager.CAMERA.transition(0, Math.map(counter, transitionTime / 2, transitionTime, 1.5f, 0));
         }
     }
 
+    /**
+     * The game screen is displayed from its render snapshots.
+     *
+     * @return true
+     */
+    public boolean hasSnapshot() {
+        return true;
+    }
+
     /**
      * Unload the texture to free memory.
      */
@@ -273,6 +354,25 @@ public class GameScreen extends Screen {
         tileMap.unload();
         option.unload();
         entityManager.removeAll();
+        entityManager.setParallel(false);
+        if(GameManager.recorder != null) GameManager.recorder.finish();
+    }
+
+    /**
+     * Get a checksum of the state of the game : the map, the exact player position, speed and health, and the screen state.
+     *
+     * @return The checksum.
+     */
+    public int getChecksum() {
+        Player entity = (Player)entityManager.getEntity(player);
+        int checksum = tileMap.getCurrentMap();
+        checksum = 31 * checksum + screenState;
+        checksum = 31 * checksum + Float.floatToIntBits(entity.getExactX());
+        checksum = 31 * checksum + Float.floatToIntBits(entity.getExactY());
+        checksum = 31 * checksum + Float.floatToIntBits(entity.getSpeedX());
+        checksum = 31 * checksum + Float.floatToIntBits(entity.getSpeedY());
+        checksum = 31 * checksum + entity.getHealthPoint();
+        return checksum;
     }
 
     /**
@@ -280,6 +380,8 @@ public class GameScreen extends Screen {
      * @param b The focus.
      */
     public void focus(boolean b) {
+        // The focus isn't recorded, it must not change a record
+        if (GameManager.recorder != null && GameManager.recorder.isActive()) return;
         if (!b && screenState == STATE_NORMAL) screenState = STATE_PAUSE;
     }
 }
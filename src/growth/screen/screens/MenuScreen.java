@@ -7,6 +7,7 @@ import growth.render.Render;
 import growth.render.text.FontRenderer;
 import growth.render.text.StaticFonts;
 import growth.render.texture.Texture;
+import growth.render.texture.TextureRegistry;
 import growth.render.texture.TextureRenderer;
 import growth.screen.GameManager;
 import growth.render.gui.GUIButton;
@@ -50,8 +51,7 @@ public class MenuScreen extends Screen {
         // Load the screen
         Render.setClearColor(1f, 1f);
 
-        background = new Texture();
-        background.load("/textures/menu/bg.png");
+        background = TextureRegistry.acquire("/textures/menu/bg.png");
 
         title = new FontRenderer(0, StaticFonts.monofonto, Window.width*0.06f,
                 new Vec2(Window.width * 0.5f, Window.height * 0.13f), Color4.BLACK);
@@ -202,7 +202,7 @@ public class MenuScreen extends Screen {
      */
     public void unload() {
         // Unload the background
-        background.unload();
+        TextureRegistry.release(background);
 
         // Unload buttons
         goToGame.unload();
@@ -42,6 +42,15 @@ public abstract class Screen {
      */
     public abstract void update();
 
+    /**
+     * Return if the screen is displayed from a render snapshot, without reading the live game.
+     *
+     * @return True if the screen can be displayed during a tick.
+     */
+    public boolean hasSnapshot(){
+        return false;
+    }
+
     /**
      * Base architecture of setting screen method
      */
@@ -0,0 +1,92 @@
+package growth.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation meter class.
+ * This class measures the number of bytes allocated on the heap by the current thread between two points.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class AllocationMeter {
+
+    /**
+     * Thread bean.
+     * This variable contains the bean giving the allocated bytes of each thread, null if the JVM doesn't support it.
+     */
+    private static final com.sun.management.ThreadMXBean BEAN = createBean();
+
+    /**
+     * Thread id.
+     * This variable contains the id of the measured thread.
+     */
+    private final long threadId;
+
+    /**
+     * Overhead.
+     * This variable contains the bytes allocated by the measure itself, removed from each result.
+     */
+    private final long overhead;
+
+    /**
+     * Start value.
+     * This variable contains the allocated bytes of the thread at the beginning of the measure.
+     */
+    private long start;
+
+    /**
+     * Allocation meter class constructor.
+     * Instance the class for the current thread.
+     */
+    public AllocationMeter() {
+        threadId = Thread.currentThread().getId();
+
+        // Calibrate with an empty measure
+        begin();
+        overhead = (BEAN == null) ? 0 : BEAN.getThreadAllocatedBytes(threadId) - start;
+    }
+
+    /**
+     * Create the thread bean if the JVM supports the measure.
+     *
+     * @return The bean or null.
+     */
+    private static com.sun.management.ThreadMXBean createBean() {
+        try {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (!bean.isThreadAllocatedMemorySupported()) return null;
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        } catch (Exception e) {
+            System.err.println("[Error] AllocationMeter : allocated memory measure not supported.");
+            return null;
+        }
+    }
+
+    /**
+     * Return if the measure is supported by the JVM.
+     *
+     * @return supported
+     */
+    public static boolean isSupported() {
+        return BEAN != null;
+    }
+
+    /**
+     * Begin a measure.
+     */
+    public void begin() {
+        if (BEAN != null) start = BEAN.getThreadAllocatedBytes(threadId);
+    }
+
+    /**
+     * End the measure.
+     *
+     * @return The number of bytes allocated since the beginning of the measure, -1 if not supported.
+     */
+    public long end() {
+        if (BEAN == null) return -1;
+        return Math.max(0, BEAN.getThreadAllocatedBytes(threadId) - start - overhead);
+    }
+}
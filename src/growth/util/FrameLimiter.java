@@ -0,0 +1,151 @@
+package growth.util;
+
+/**
+ * Frame limiter class.
+ * This class waits until the time of the next frame. It sleeps while the frame is far, then spins
+ * the last moment, because a sleep can last longer than asked. The spinning time adapts to the
+ * longest oversleep measured recently.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class FrameLimiter {
+
+    /**
+     * Minimal margin.
+     * This variable contains the minimal time in nanoseconds spent spinning before a frame.
+     */
+    private static final long MIN_MARGIN = 200000L;
+
+    /**
+     * Maximal margin.
+     * This variable contains the maximal time in nanoseconds spent spinning before a frame.
+     */
+    private static final long MAX_MARGIN = 4000000L;
+
+    /**
+     * Frame time.
+     * This variable contains the time in nanoseconds between two frames, 0 without limit.
+     */
+    private long frameTime;
+
+    /**
+     * Next frame.
+     * This variable contains the time in nanoseconds of the next frame.
+     */
+    private long nextFrame;
+
+    /**
+     * Margin.
+     * This variable contains the time in nanoseconds before the frame when the sleeping stops.
+     */
+    private long margin = 2000000L;
+
+    /**
+     * Statistics.
+     * These variables contain the time spent sleeping and spinning since the last reset.
+     */
+    private long sleepTime, spinTime;
+
+    /**
+     * Frame limiter class constructor.
+     *
+     * @param frameCap The maximal number of frames by second, 0 without limit.
+     */
+    public FrameLimiter(int frameCap) {
+        setFrameCap(frameCap);
+    }
+
+    /**
+     * Set the maximal number of frames by second.
+     *
+     * @param frameCap The number of frames, 0 without limit.
+     */
+    public void setFrameCap(int frameCap) {
+        frameTime = (frameCap <= 0) ? 0 : 1000000000L / frameCap;
+        nextFrame = System.nanoTime();
+    }
+
+    /**
+     * Wait until the time of the next frame.
+     */
+    public void sync() {
+        if (frameTime == 0) return;
+
+        nextFrame += frameTime;
+        long now = System.nanoTime();
+
+        // Too late, the next frames start from now instead of running to catch up
+        if (now - nextFrame > frameTime) {
+            nextFrame = now;
+            return;
+        }
+
+        long start = now;
+        while (nextFrame - now > margin) {
+            long before = now;
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            now = System.nanoTime();
+            adapt(now - before - 1000000L);
+        }
+        sleepTime += now - start;
+
+        start = now;
+        while (nextFrame - now > 0) {
+            Thread.yield();
+            now = System.nanoTime();
+        }
+        spinTime += now - start;
+    }
+
+    /**
+     * Adapt the margin to a measured oversleep.
+     *
+     * @param oversleep The time slept beyond the asked time.
+     */
+    private void adapt(long oversleep) {
+        // Grow at once, shrink slowly
+        if (oversleep > margin) margin = oversleep;
+        else margin -= (margin - oversleep) / 64;
+        margin = Math.max(MIN_MARGIN, Math.min(MAX_MARGIN, margin));
+    }
+
+    /**
+     * Get the time slept since the last reset.
+     *
+     * @return sleepTime
+     */
+    public long getSleepTime() {
+        return sleepTime;
+    }
+
+    /**
+     * Get the time spent spinning since the last reset.
+     *
+     * @return spinTime
+     */
+    public long getSpinTime() {
+        return spinTime;
+    }
+
+    /**
+     * Reset the statistics.
+     */
+    public void reset() {
+        sleepTime = spinTime = 0;
+    }
+
+    /**
+     * Get the margin before a frame when the sleeping stops.
+     *
+     * @return margin
+     */
+    public long getMargin() {
+        return margin;
+    }
+}
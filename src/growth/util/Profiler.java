@@ -0,0 +1,237 @@
+package growth.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Profiler class.
+ * This class measures the time spent in the scopes of the game, frame after frame, and keeps the last frames.
+ * A scope is measured between begin() and end(), the time is added to the scope for the current frame :
+ *
+ *     long start = Profiler.begin(Profiler.HUD);
+ *     ...
+ *     Profiler.end(Profiler.HUD, start);
+ *
+ * The scopes are fixed and their slots allocated once, a scope can be measured by several threads at the same time.
+ * Disabled, begin() only reads two flags and end() does nothing. Nothing is allocated while it is enabled.
+ * When the remote profiler runs, each scope is also sent as a sample to its viewer.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class Profiler {
+
+    /**
+     * Scopes.
+     * These static final variables contain the index of each scope. The first scopes don't contain each other,
+     * they are stacked in the frame graph, the others are measured inside them.
+     */
+    public static final int TICK = 0;
+    public static final int UPLOAD = 1;
+    public static final int DISPLAY = 2;
+    public static final int SWAP = 3;
+    public static final int ENTITIES = 4;
+    public static final int MODULES = 5;
+    public static final int TILEMAP = 6;
+    public static final int HUD = 7;
+    public static final int FONTS = 8;
+    public static final int SCREEN = 9;
+    public static final int TRANSITION = 10;
+    public static final int DECODE = 11;
+    public static final int MAP_LOAD = 12;
+
+    /**
+     * Scopes number.
+     * These variables contain the number of scopes and the number of scopes stacked in the frame graph.
+     */
+    public static final int SCOPES = 13;
+    public static final int STACKED = 4;
+
+    /**
+     * Scopes names.
+     * This array contains the name of each scope.
+     */
+    private static final String[] NAMES = {
+            "Tick", "Upload", "Display", "Swap", "Entities", "Modules", "Tile map", "Hud", "Fonts", "Screen",
+            "Transition", "Decode", "Map load"
+    };
+
+    /**
+     * Frames number.
+     * This variable contains the number of frames kept.
+     */
+    public static final int FRAMES = 240;
+
+    /**
+     * Enabled state.
+     * This variable is true while the scopes are measured.
+     */
+    private static volatile boolean enabled;
+
+    /**
+     * Current times.
+     * This variable contains the time in nanoseconds spent in each scope since the beginning of the frame.
+     */
+    private static final AtomicLongArray times = new AtomicLongArray(SCOPES);
+
+    /**
+     * Current calls.
+     * This variable contains the number of times each scope has been measured since the beginning of the frame.
+     */
+    private static final AtomicLongArray calls = new AtomicLongArray(SCOPES);
+
+    /**
+     * Frames.
+     * These arrays contain the time and the number of calls of each scope for the kept frames, one row by frame.
+     */
+    private static final long[] frameTimes = new long[FRAMES * SCOPES];
+    private static final int[] frameCalls = new int[FRAMES * SCOPES];
+
+    /**
+     * Frame durations.
+     * This array contains the time in nanoseconds between the end of each kept frame and the end of the previous one.
+     */
+    private static final long[] durations = new long[FRAMES];
+
+    /**
+     * Frame count.
+     * This variable contains the number of frames ended since the profiler has been enabled.
+     */
+    private static int frameCount;
+
+    /**
+     * Last frame.
+     * This variable contains the time in nanoseconds of the end of the last frame.
+     */
+    private static long lastFrame;
+
+    /**
+     * Begin to measure a scope.
+     *
+     * @param scope The scope.
+     *
+     * @return The time of the beginning, 0 if the profiler is disabled.
+     */
+    public static long begin(int scope) {
+        if (RemoteProfiler.running) RemoteProfiler.begin(scope);
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * End to measure a scope.
+     *
+     * @param scope The scope.
+     * @param start The time returned by begin().
+     */
+    public static void end(int scope, long start) {
+        if (RemoteProfiler.running) RemoteProfiler.end(scope);
+        if (start == 0) return;
+        times.addAndGet(scope, System.nanoTime() - start);
+        calls.incrementAndGet(scope);
+    }
+
+    /**
+     * End the current frame, the times measured since the last frame are kept as one frame.
+     * Called by the render thread.
+     */
+    public static void endFrame() {
+        if (!enabled) return;
+
+        long now = System.nanoTime();
+        int row = frameCount % FRAMES;
+        for (int scope = 0; scope < SCOPES; scope++) {
+            frameTimes[row * SCOPES + scope] = times.getAndSet(scope, 0);
+            frameCalls[row * SCOPES + scope] = (int) calls.getAndSet(scope, 0);
+        }
+        durations[row] = (lastFrame == 0) ? 0 : now - lastFrame;
+        lastFrame = now;
+        frameCount++;
+    }
+
+    /**
+     * Enable or disable the profiler, the kept frames are removed when it is enabled.
+     *
+     * @param state The new state.
+     */
+    public static synchronized void setEnabled(boolean state) {
+        if (state && !enabled) {
+            for (int scope = 0; scope < SCOPES; scope++) {
+                times.set(scope, 0);
+                calls.set(scope, 0);
+            }
+            frameCount = 0;
+            lastFrame = 0;
+        }
+        enabled = state;
+    }
+
+    /**
+     * Return if the profiler is enabled.
+     *
+     * @return enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the number of kept frames.
+     *
+     * @return The number of frames, at most FRAMES.
+     */
+    public static int getFrames() {
+        return Math.min(frameCount, FRAMES);
+    }
+
+    /**
+     * Get the time spent in a scope during a kept frame.
+     *
+     * @param frame The frame, 0 for the oldest kept frame.
+     * @param scope The scope.
+     *
+     * @return The time in nanoseconds.
+     */
+    public static long getTime(int frame, int scope) {
+        return frameTimes[row(frame) * SCOPES + scope];
+    }
+
+    /**
+     * Get the number of times a scope has been measured during a kept frame.
+     *
+     * @param frame The frame, 0 for the oldest kept frame.
+     * @param scope The scope.
+     *
+     * @return The number of calls.
+     */
+    public static int getCalls(int frame, int scope) {
+        return frameCalls[row(frame) * SCOPES + scope];
+    }
+
+    /**
+     * Get the time between the end of a kept frame and the end of the previous one.
+     *
+     * @param frame The frame, 0 for the oldest kept frame.
+     *
+     * @return The time in nanoseconds, 0 for the first frame.
+     */
+    public static long getDuration(int frame) {
+        return durations[row(frame)];
+    }
+
+    /**
+     * Get the name of a scope.
+     *
+     * @param scope The scope.
+     *
+     * @return The name.
+     */
+    public static String getName(int scope) {
+        return NAMES[scope];
+    }
+
+    /**
+     * Get the row of a kept frame in the arrays.
+     */
+    private static int row(int frame) {
+        return (frameCount - getFrames() + frame) % FRAMES;
+    }
+}
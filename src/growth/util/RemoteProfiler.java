@@ -0,0 +1,187 @@
+package growth.util;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.util.remotery.RMTSettings;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import static org.lwjgl.system.MemoryStack.stackPush;
+import static org.lwjgl.system.MemoryUtil.*;
+import static org.lwjgl.util.remotery.Remotery.*;
+import static org.lwjgl.util.remotery.RemoteryGL.*;
+
+/**
+ * Remote profiler class.
+ * This class sends the scopes of the profiler as samples to Remotery, the web viewer of Remotery
+ * (vis/index.html in its sources) connects to the running game on localhost and shows the samples of each thread live.
+ * The main loop is sent as a frame sample containing the others, the upload and the display are also sent
+ * as OpenGL samples when the render thread is bound.
+ *
+ * The remote profiler is started by the configuration. Stopped, the profiler only reads the running flag.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class RemoteProfiler {
+
+    /**
+     * Running state.
+     * This variable is true while the samples are sent, read by the profiler at each scope.
+     */
+    static volatile boolean running;
+
+    /**
+     * OpenGL state.
+     * This variable is true while the OpenGL samples are sent.
+     */
+    private static boolean openGL;
+
+    /**
+     * Instance.
+     * This variable contains the pointer of the Remotery instance.
+     */
+    private static long instance;
+
+    /**
+     * Names.
+     * This array contains the name of each scope encoded once in native memory, the last one for the frame.
+     */
+    private static ByteBuffer[] names;
+
+    /**
+     * Hash caches.
+     * This array contains the cache of the hash of each name, filled by Remotery at the first sample.
+     */
+    private static IntBuffer[] hashes, openGLHashes;
+
+    /**
+     * Start the remote profiler, the viewer can connect to the given port.
+     *
+     * @param port The port of the server.
+     *
+     * @return True if the remote profiler is started.
+     */
+    public static boolean start(int port) {
+        if (running) return true;
+
+        try (MemoryStack stack = stackPush()) {
+            PointerBuffer pointer = stack.mallocPointer(1);
+            RMTSettings settings = rmt_Settings();
+            if (settings != null) {
+                settings.port((short) port);
+                settings.limit_connections_to_localhost(1);
+            }
+
+            int error = rmt_CreateGlobalInstance(pointer);
+            if (error != RMT_ERROR_NONE) {
+                System.err.println("[Error] RemoteProfiler::start() Remotery error " + error);
+                return false;
+            }
+            instance = pointer.get(0);
+        } catch (UnsatisfiedLinkError | NoClassDefFoundError e) {
+            System.err.println("[Error] RemoteProfiler::start() Remotery unavailable : " + e);
+            return false;
+        }
+
+        names = new ByteBuffer[Profiler.SCOPES + 1];
+        hashes = new IntBuffer[Profiler.SCOPES + 1];
+        openGLHashes = new IntBuffer[Profiler.SCOPES];
+        for (int scope = 0; scope < Profiler.SCOPES; scope++) {
+            names[scope] = memUTF8(Profiler.getName(scope));
+            hashes[scope] = memCallocInt(1);
+            openGLHashes[scope] = memCallocInt(1);
+        }
+        names[Profiler.SCOPES] = memUTF8("Frame");
+        hashes[Profiler.SCOPES] = memCallocInt(1);
+
+        System.out.println("Remote profiler : Remotery listening on port " + port);
+        running = true;
+        return true;
+    }
+
+    /**
+     * Send the OpenGL samples, called by the render thread once its context is current.
+     */
+    public static void bindOpenGL() {
+        if (!running || openGL) return;
+        rmt_BindOpenGL();
+        openGL = true;
+    }
+
+    /**
+     * Stop the remote profiler, called by the render thread before its context is destroyed.
+     * The threads sending samples must be stopped before, the names are freed.
+     */
+    public static void stop() {
+        if (!running) return;
+        running = false;
+
+        if (openGL) {
+            rmt_UnbindOpenGL();
+            openGL = false;
+        }
+        rmt_DestroyGlobalInstance(instance);
+        instance = NULL;
+
+        for (int i = 0; i < names.length; i++) {
+            memFree(names[i]);
+            memFree(hashes[i]);
+            if (i < Profiler.SCOPES) memFree(openGLHashes[i]);
+        }
+        names = null;
+        hashes = openGLHashes = null;
+    }
+
+    /**
+     * Give a name to the calling thread in the viewer.
+     *
+     * @param name The name of the thread.
+     */
+    public static void setThreadName(CharSequence name) {
+        if (running) rmt_SetCurrentThreadName(name);
+    }
+
+    /**
+     * Begin the frame sample of the main loop.
+     */
+    public static void beginFrame() {
+        if (running) rmt_BeginCPUSample(names[Profiler.SCOPES], RMTSF_None, hashes[Profiler.SCOPES]);
+    }
+
+    /**
+     * End the frame sample of the main loop.
+     */
+    public static void endFrame() {
+        if (running) rmt_EndCPUSample();
+    }
+
+    /**
+     * Begin the sample of a scope.
+     *
+     * @param scope The scope.
+     */
+    static void begin(int scope) {
+        // The scopes called several times by tick, like the modules of each entity, are merged
+        rmt_BeginCPUSample(names[scope], RMTSF_Aggregate, hashes[scope]);
+        if (openGL && isOpenGL(scope)) rmt_BeginOpenGLSample(names[scope], openGLHashes[scope]);
+    }
+
+    /**
+     * End the sample of a scope.
+     *
+     * @param scope The scope.
+     */
+    static void end(int scope) {
+        if (openGL && isOpenGL(scope)) rmt_EndOpenGLSample();
+        rmt_EndCPUSample();
+    }
+
+    /**
+     * Return if a scope is also sent as an OpenGL sample, only the scopes always run by the render thread.
+     */
+    private static boolean isOpenGL(int scope) {
+        return scope == Profiler.UPLOAD || scope == Profiler.DISPLAY;
+    }
+}
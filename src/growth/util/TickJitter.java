@@ -0,0 +1,125 @@
+package growth.util;
+
+/**
+ * Tick jitter class.
+ * This class measures how regular the ticks are : the gap between the time between two ticks and the time of a tick.
+ * A game running its ticks at a steady rate has a jitter close to 0, a game running several ticks
+ * at once after a long frame has a jitter close to the time of a tick.
+ *
+ * The ticks are counted by one thread, the statistics can be read by another thread.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class TickJitter {
+
+    /**
+     * Tick time.
+     * This variable contains the expected time in nanoseconds between two ticks.
+     */
+    private final long tickTime;
+
+    /**
+     * Last tick.
+     * This variable contains the time in nanoseconds of the last tick, 0 if the next interval isn't measured.
+     */
+    private long lastTick;
+
+    /**
+     * Intervals.
+     * This variable contains the number of intervals measured since the last reset.
+     */
+    private int intervals;
+
+    /**
+     * Deviations.
+     * These variables contain the sum and the sum of the squares of the gaps in nanoseconds.
+     */
+    private double sum, sumSquares;
+
+    /**
+     * Maximal deviation.
+     * This variable contains the largest gap in nanoseconds since the last reset.
+     */
+    private long maxDeviation;
+
+    /**
+     * Tick jitter class constructor.
+     *
+     * @param tickTime The expected time in nanoseconds between two ticks.
+     */
+    public TickJitter(long tickTime) {
+        this.tickTime = tickTime;
+    }
+
+    /**
+     * Count a tick.
+     *
+     * @param now The time of the tick in nanoseconds.
+     */
+    public synchronized void tick(long now) {
+        if (lastTick != 0) {
+            long deviation = now - lastTick - tickTime;
+            intervals++;
+            sum += deviation;
+            sumSquares += (double) deviation * deviation;
+            maxDeviation = Math.max(maxDeviation, Math.abs(deviation));
+        }
+        lastTick = now;
+    }
+
+    /**
+     * Don't measure the interval before the next tick, after a wanted pause of the ticks.
+     */
+    public synchronized void skip() {
+        lastTick = 0;
+    }
+
+    /**
+     * Reset the statistics.
+     */
+    public synchronized void reset() {
+        intervals = 0;
+        sum = sumSquares = 0;
+        maxDeviation = 0;
+    }
+
+    /**
+     * Get the standard deviation of the time between two ticks.
+     *
+     * @return The deviation in nanoseconds.
+     */
+    public synchronized double getDeviation() {
+        if (intervals == 0) return 0;
+        double mean = sum / intervals;
+        return Math.sqrt(Math.max(0, sumSquares / intervals - mean * mean));
+    }
+
+    /**
+     * Get the largest gap between the time between two ticks and the time of a tick.
+     *
+     * @return maxDeviation
+     */
+    public synchronized long getMaxDeviation() {
+        return maxDeviation;
+    }
+
+    /**
+     * Get the number of intervals measured.
+     *
+     * @return intervals
+     */
+    public synchronized int getIntervals() {
+        return intervals;
+    }
+
+    /**
+     * Get the statistics of the ticks.
+     *
+     * @return The statistics as text.
+     */
+    public synchronized String getStats() {
+        return "Tick jitter : " + (long) getDeviation() / 1000 + " us deviation, " + maxDeviation / 1000 + " us max over "
+                + intervals + " ticks";
+    }
+}
@@ -0,0 +1,124 @@
+package growth.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Triple buffer class.
+ * This class passes the last state written by one thread to another thread without lock nor copy.
+ * The writer fills its back buffer and publishes it, the reader takes the last published buffer.
+ * The writer never waits for the reader, a buffer published twice before being read only keeps the newest.
+ *
+ * One thread must write and one thread must read, the buffers are reused and must not be kept after the next call.
+ *
+ * @author MightyCode
+ * @version 1.0
+ */
+public class TripleBuffer<T> {
+
+    /**
+     * Index mask.
+     * This variable contains the bits of the index of the middle buffer.
+     */
+    private static final int INDEX = 3;
+
+    /**
+     * New flag.
+     * This variable contains the bit set when the middle buffer hasn't been read yet.
+     */
+    private static final int NEW = 4;
+
+    /**
+     * Buffers.
+     * This variable contains the three buffers.
+     */
+    private final Object[] buffers;
+
+    /**
+     * Middle buffer.
+     * This variable contains the index of the buffer between the writer and the reader, and the new flag.
+     */
+    private final AtomicInteger middle;
+
+    /**
+     * Back buffer.
+     * This variable contains the index of the buffer written, only used by the writer.
+     */
+    private int back;
+
+    /**
+     * Front buffer.
+     * This variable contains the index of the buffer read, only used by the reader.
+     */
+    private int front;
+
+    /**
+     * Statistics.
+     * These variables count the published buffers, by the writer, and the published buffers read, by the reader.
+     */
+    private volatile int published, read;
+
+    /**
+     * Triple buffer class constructor.
+     *
+     * @param factory The function creating the three buffers.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        buffers = new Object[]{factory.get(), factory.get(), factory.get()};
+        back = 0;
+        middle = new AtomicInteger(1);
+        front = 2;
+    }
+
+    /**
+     * Get the buffer to write, called by the writer.
+     *
+     * @return The back buffer.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Publish the written buffer, called by the writer.
+     * The writer gets a new back buffer.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | NEW) & INDEX;
+        published++;
+    }
+
+    /**
+     * Get the last published buffer, called by the reader.
+     * The buffer stays the same until a new buffer is published.
+     *
+     * @return The front buffer.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & NEW) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+            read++;
+        }
+        return (T) buffers[front];
+    }
+
+    /**
+     * Get the number of published buffers.
+     *
+     * @return published
+     */
+    public int getPublished() {
+        return published;
+    }
+
+    /**
+     * Get the number of published buffers read, the others have been replaced before being read.
+     *
+     * @return read
+     */
+    public int getRead() {
+        return read;
+    }
+}
@@ -12,6 +12,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.util.ArrayList;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 
@@ -79,42 +80,7 @@ public abstract class XmlReader {
 			for(int a = 0; a < layers.getLength(); a++){
 				subRoot = (Element) layers.item(a);
 
-				int[][] mapId = new int[height][width];
-
-				String sMap = subRoot.getTextContent();
-
-				// Map converting from String to int[][]
-				int counter1 = 0;
-				int numberOfCharacterRead = 1;
-
-				// For all cols
-				while (counter1 < height) {
-					int x = 1;
-					int counter2 = 0;
-
-					// For all rows
-					while (counter2 < width) {
-
-						while (notInteger(sMap.substring(numberOfCharacterRead, numberOfCharacterRead + 1))) {
-							x = 1;
-							numberOfCharacterRead++;
-						}
-
-						mapId[counter1][counter2] =
-								mapId[counter1][counter2] * x + Integer.parseInt(sMap.substring(numberOfCharacterRead, numberOfCharacterRead + 1));
-						numberOfCharacterRead++;
-						x *= 10;
-
-						if(notInteger(sMap.substring(numberOfCharacterRead, numberOfCharacterRead + 1))) {
-							x = 1;
-							numberOfCharacterRead++;
-							counter2++;
-						}
-					}
-
-					counter1++;
-					numberOfCharacterRead++;
-				}
+				int[][] mapId = parseLayer(subRoot.getTextContent(), width, height);
 
 				map.setLayer(Integer.parseInt(subRoot.getAttribute("position"))-1,mapId);
 			}
@@ -190,6 +156,109 @@ public abstract class XmlReader {
 		}
 	}
 
+	/**
+	 * Read the layers of a map saved by the Tiled editor, in csv encoding.
+	 *
+	 * @param tiled_path Path to find the Xml's file
+	 *
+	 * @return The tiles of each layer in the file's order
+	 */
+	public static int[][][] loadTiledLayers(String tiled_path) {
+		try {
+			Element root = getRootInJar(tiled_path);
+
+			assert root != null;
+			NodeList layers = root.getElementsByTagName("layer");
+			int[][][] tiles = new int[layers.getLength()][][];
+
+			for(int a = 0; a < layers.getLength(); a++){
+				Element layer = (Element) layers.item(a);
+				Element data = (Element) layer.getElementsByTagName("data").item(0);
+				tiles[a] = parseLayer(data.getTextContent(),
+						Integer.parseInt(layer.getAttribute("width")),
+						Integer.parseInt(layer.getAttribute("height")));
+			}
+			return tiles;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Convert the text of a layer to the tiles, the numbers are separated by any other character.
+	 *
+	 * @param text The text of the layer
+	 * @param width The number of column
+	 * @param height The number of row
+	 *
+	 * @return The tiles by row and column
+	 */
+	private static int[][] parseLayer(String text, int width, int height) {
+		int[][] tiles = new int[height][width];
+		int count = 0;
+		int value = 0;
+		boolean inNumber = false;
+
+		for (int i = 0; i < text.length() && count < width * height; i++) {
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				value = value * 10 + (c - '0');
+				inNumber = true;
+			} else if (inNumber) {
+				tiles[count / width][count % width] = value;
+				count++;
+				value = 0;
+				inNumber = false;
+			}
+		}
+		if (inNumber && count < width * height) {
+			tiles[count / width][count % width] = value;
+			count++;
+		}
+
+		if (count != width * height) {
+			throw new IllegalArgumentException("Layer with " + count + " tiles instead of " + width * height);
+		}
+		return tiles;
+	}
+
+	/**
+	 * Read the sprites to pack in an atlas from the manifest's file.
+	 * An animation tag gives the folder of numbered frames, like the Animation class.
+	 *
+	 * @param manifest_path Path to find the Xml's file
+	 *
+	 * @return The path of each sprite
+	 */
+	public static String[] loadAtlasManifest(String manifest_path) {
+		try {
+			Element root = getRootInJar(manifest_path);
+
+			assert root != null;
+			ArrayList<String> sprites = new ArrayList<>();
+			NodeList rootNode = root.getChildNodes();
+
+			for (int i = 0; i < rootNode.getLength(); i++) {
+				if (rootNode.item(i).getNodeType() != Node.ELEMENT_NODE) continue;
+				Element tag = (Element) rootNode.item(i);
+
+				if (tag.getNodeName().equals("animation")) {
+					int number = Integer.parseInt(tag.getAttribute("number"));
+					for (int a = 0; a < number; a++) {
+						sprites.add(tag.getAttribute("path") + a + ".png");
+					}
+				} else if (tag.getNodeName().equals("sprite")) {
+					sprites.add(tag.getAttribute("path"));
+				}
+			}
+			return sprites.toArray(new String[0]);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
 	/**
 	 * Load the configurations at the launch of the game.
 	 */
@@ -231,6 +300,16 @@ public abstract class XmlReader {
 			Config.setMusicVolume(Integer.parseInt(tag.getAttribute("music")));
 			Config.setNoiseVolume(Integer.parseInt(tag.getAttribute("noise")));
 
+			// Game loop, absent from the old configurations
+			tag = find("loop", root);
+			Config.setFrameCap(getInt(tag, "frameCap", Config.getFrameCap()));
+			Config.setMaxTicksPerFrame(getInt(tag, "maxTicks", Config.getMaxTicksPerFrame()));
+
+			// Remote profiler, absent from the old configurations
+			tag = find("profiler", root);
+			Config.setRemotery(getInt(tag, "remotery", 0));
+			Config.setRemoteryPort(getInt(tag, "port", Config.getRemoteryPort()));
+
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
@@ -271,6 +350,22 @@ public abstract class XmlReader {
 
 			tag.setAttribute("number", Config.getPartyNumber());
 
+			tag = find("loop", root);
+			if(tag == null){
+				tag = doc.createElement("loop");
+				root.appendChild(tag);
+			}
+			setAttribute(tag,"frameCap",Config.getFrameCap());
+			setAttribute(tag,"maxTicks",Config.getMaxTicksPerFrame());
+
+			tag = find("profiler", root);
+			if(tag == null){
+				tag = doc.createElement("profiler");
+				root.appendChild(tag);
+			}
+			setAttribute(tag,"remotery",Config.getRemotery());
+			setAttribute(tag,"port",Config.getRemoteryPort());
+
 			TransformerFactory transformerFactory = TransformerFactory.newInstance();
 			Transformer transformer = transformerFactory.newTransformer();
 			DOMSource source = new DOMSource(doc);
@@ -403,6 +498,34 @@ public abstract class XmlReader {
 		return (Element) rootNode.item(i);
 	}
 
+	/**
+	 * Search a tag which may be absent.
+	 * @param name The name of the tag.
+	 * @param root The parent tag.
+	 * @return The first tag with this name, or null.
+	 */
+	private static Element find(String name, Element root){
+		NodeList tags = root.getElementsByTagName(name);
+		return (tags.getLength() == 0) ? null : (Element) tags.item(0);
+	}
+
+	/**
+	 * Get an integer attribute which may be absent or invalid.
+	 * @param tag The tag, may be null.
+	 * @param name The name of the attribute.
+	 * @param defaultValue The value returned without valid attribute.
+	 * @return The value of the attribute.
+	 */
+	private static int getInt(Element tag, String name, int defaultValue){
+		if(tag == null || !tag.hasAttribute(name)) return defaultValue;
+		try {
+			return Integer.parseInt(tag.getAttribute(name).trim());
+		} catch (NumberFormatException e) {
+			System.err.println("[Error] XmlReader::getInt() Invalid value for " + name + " : " + tag.getAttribute(name));
+			return defaultValue;
+		}
+	}
+
 	/**
 	 * Surcharge methode to search the tag with many intermediary tags.
 	 * @param nodesName The nodes name.
@@ -444,20 +567,4 @@ public abstract class XmlReader {
             return null;
         }
     }
-
-	/**
-	 * Test if a string is a number
-	 *
-	 * @param string String to test
-	 *
-	 * @return boolean's result
-	 */
-	private static boolean notInteger(String string) {
-		try {
-			Integer.parseInt(string);
-			return false;
-		} catch (NumberFormatException e) {
-			return true;
-		}
-	}
 }